@@ -1,5 +1,7 @@
 package com.github.andreatp.quarkus.kiota.deployment;
 
+import com.github.andreatp.quarkus.kiota.runtime.KiotaRequestAdapterProducer;
+import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 
@@ -10,4 +12,9 @@ class KiotaProcessor {
     FeatureBuildItem feature() {
         return new FeatureBuildItem(FEATURE);
     }
+
+    @BuildStep
+    AdditionalBeanBuildItem requestAdapterProducer() {
+        return AdditionalBeanBuildItem.unremovableOf(KiotaRequestAdapterProducer.class);
+    }
 }
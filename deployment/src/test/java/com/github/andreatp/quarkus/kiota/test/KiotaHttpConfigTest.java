@@ -0,0 +1,95 @@
+package com.github.andreatp.quarkus.kiota.test;
+
+import com.github.andreatp.quarkus.kiota.runtime.KiotaHttpConfig;
+import com.github.andreatp.quarkus.kiota.runtime.KiotaRequestAdapters;
+import com.github.andreatp.quarkus.kiota.runtime.KiotaRuntimeConfig;
+import com.microsoft.kiota.http.middleware.BulkheadHandler;
+import com.microsoft.kiota.http.middleware.CircuitBreakerHandler;
+import com.microsoft.kiota.http.middleware.CoalescingHandler;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.ResponseCacheHandler;
+import io.quarkus.test.QuarkusUnitTest;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.client.WebClientOptions;
+import jakarta.inject.Inject;
+import java.util.List;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class KiotaHttpConfigTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest =
+            new QuarkusUnitTest()
+                    .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class))
+                    .overrideConfigKey("quarkus.kiota.http.max-pool-size", "20")
+                    .overrideConfigKey("quarkus.kiota.http.idle-timeout", "PT30S")
+                    .overrideConfigKey("quarkus.kiota.http.bulkhead.enabled", "true")
+                    .overrideConfigKey("quarkus.kiota.\"example.yaml\".http.max-pool-size", "100")
+                    .overrideConfigKey("quarkus.kiota.\"example.yaml\".http.http2", "false")
+                    .overrideConfigKey(
+                            "quarkus.kiota.\"example.yaml\".http.bulkhead.enabled", "false")
+                    .overrideConfigKey("quarkus.kiota.\"example.yaml\".http.cache.enabled", "true")
+                    .overrideConfigKey("quarkus.kiota.http.coalescing.enabled", "true")
+                    .overrideConfigKey("quarkus.kiota.http.coalescing.headers", "Authorization");
+
+    @Inject KiotaRuntimeConfig config;
+
+    @Inject KiotaRequestAdapters requestAdapters;
+
+    @Test
+    public void usesHttp2AndTheSharedConfigByDefault() {
+        final WebClientOptions options = KiotaHttpConfig.getWebClientOptions(config, null);
+        Assertions.assertEquals(HttpVersion.HTTP_2, options.getProtocolVersion());
+        Assertions.assertTrue(options.isUseAlpn());
+        Assertions.assertEquals(20, options.getMaxPoolSize());
+        Assertions.assertEquals(30_000, options.getIdleTimeout());
+        Assertions.assertTrue(options.isTryUseCompression());
+    }
+
+    @Test
+    public void overridesTheSharedConfigPerClient() {
+        final WebClientOptions options =
+                KiotaHttpConfig.getWebClientOptions(config, "example.yaml");
+        Assertions.assertEquals(HttpVersion.HTTP_1_1, options.getProtocolVersion());
+        Assertions.assertEquals(100, options.getMaxPoolSize());
+        Assertions.assertEquals(30_000, options.getIdleTimeout());
+    }
+
+    @Test
+    public void sharesTheHttpClientOfAClient() {
+        Assertions.assertSame(
+                requestAdapters.getHttpClient("example.yaml"),
+                requestAdapters.getHttpClient("example.yaml"));
+        Assertions.assertNotSame(
+                requestAdapters.getHttpClient("example.yaml"),
+                requestAdapters.getHttpClient("other.yaml"));
+        Assertions.assertNotSame(
+                requestAdapters.getRequestAdapter("example.yaml"),
+                requestAdapters.getRequestAdapter("example.yaml"));
+    }
+
+    @Test
+    public void configuresTheMiddlewaresPerClient() {
+        final List<Middleware> middlewares =
+                KiotaHttpConfig.getMiddlewares(config, "example.yaml");
+        // disabled by default
+        Assertions.assertTrue(
+                middlewares.stream().noneMatch(CircuitBreakerHandler.class::isInstance));
+        Assertions.assertTrue(
+                middlewares.stream().noneMatch(BulkheadHandler.class::isInstance));
+        Assertions.assertTrue(
+                middlewares.stream()
+                        .filter(ResponseCacheHandler.class::isInstance)
+                        .map(ResponseCacheHandler.class::cast)
+                        .anyMatch(handler -> handler.getCache() != null));
+        Assertions.assertTrue(
+                middlewares.stream().anyMatch(CoalescingHandler.class::isInstance));
+        Assertions.assertTrue(
+                KiotaHttpConfig.getMiddlewares(config, null).stream()
+                        .anyMatch(BulkheadHandler.class::isInstance));
+    }
+}
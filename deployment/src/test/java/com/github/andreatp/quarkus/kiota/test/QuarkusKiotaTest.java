@@ -1,6 +1,14 @@
 package com.github.andreatp.quarkus.kiota.test;
 
+import com.github.andreatp.quarkus.kiota.runtime.KiotaRequestAdapters;
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.http.VertXRequestAdapter;
 import io.quarkus.test.QuarkusUnitTest;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.jupiter.api.Assertions;
@@ -12,7 +20,42 @@ public class QuarkusKiotaTest {
     // Start unit test with your extension loaded
     @RegisterExtension
     static final QuarkusUnitTest unitTest =
-            new QuarkusUnitTest().setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+            new QuarkusUnitTest()
+                    .setArchiveProducer(
+                            () ->
+                                    ShrinkWrap.create(JavaArchive.class)
+                                            .addClass(ApplicationHttpClient.class));
+
+    @Inject RequestAdapter requestAdapter;
+
+    @Inject RequestAdapter otherRequestAdapter;
+
+    @Inject HttpClient applicationHttpClient;
+
+    @Inject KiotaRequestAdapters requestAdapters;
+
+    /** An HttpClient produced by the application for its own use */
+    @Singleton
+    public static class ApplicationHttpClient {
+        @Produces
+        @Singleton
+        HttpClient httpClient(final Vertx vertx) {
+            return vertx.createHttpClient();
+        }
+    }
+
+    @Test
+    public void producesIndependentRequestAdapters() {
+        Assertions.assertInstanceOf(VertXRequestAdapter.class, requestAdapter);
+        Assertions.assertNotSame(requestAdapter, otherRequestAdapter);
+    }
+
+    @Test
+    public void keepsItsHttpClientApartFromTheApplicationOnes() {
+        Assertions.assertNotSame(applicationHttpClient, requestAdapters.getHttpClient(null));
+        Assertions.assertSame(
+                requestAdapters.getHttpClient(null), requestAdapters.getHttpClient(null));
+    }
 
     @Test
     public void writeYourOwnUnitTest() {
@@ -0,0 +1,76 @@
+package com.microsoft.kiota.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The payload written by a {@link BufferSerializationWriter}, read from the Netty buffer it was serialized into.
+ * The buffer is released once the content is closed, reading the content afterwards fails.
+ */
+public final class BufferContent extends ByteBufInputStream {
+    private final ByteBuf content;
+    private final ByteBuf readable;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    BufferContent(@Nonnull final ByteBuf content) {
+        this(content, content.duplicate());
+    }
+
+    private BufferContent(@Nonnull final ByteBuf content, @Nonnull final ByteBuf readable) {
+        super(readable);
+        this.content = content;
+        this.readable = readable;
+    }
+
+    /**
+     * Gets a Vert.x buffer sharing the bytes which were not read yet, without copying them.
+     * @return the buffer over the remaining bytes.
+     * @throws IllegalStateException when the content was closed.
+     */
+    @Nonnull public Buffer toBuffer() {
+        ensureOpen();
+        return Buffer.buffer(readable.slice());
+    }
+
+    private void ensureOpen() {
+        if (released.get()) {
+            throw new IllegalStateException(
+                    "the serialized content was closed and its buffer released, it cannot be read again");
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        return super.read();
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+        return super.read(b, off, len);
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        ensureOpen();
+        return super.skip(n);
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return super.available();
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            content.release();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.microsoft.kiota.http;
+
+import com.github.andreatp.kiota.serialization.JsonSerializationWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+
+/** Json serialization writer writing the payload straight into a pooled Netty buffer, the request adapter sends it as is. */
+public class BufferSerializationWriter extends JsonSerializationWriter {
+    private final ByteBuf buffer;
+    private boolean contentTaken;
+
+    BufferSerializationWriter(@Nonnull final ByteBuf buffer) {
+        super(new ByteBufOutputStream(buffer));
+        this.buffer = buffer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public InputStream getSerializedContent() {
+        this.flush();
+        this.contentTaken = true;
+        return new BufferContent(this.buffer);
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        // once handed over, the buffer is released by the content
+        if (!this.contentTaken) {
+            this.buffer.release();
+        }
+    }
+}
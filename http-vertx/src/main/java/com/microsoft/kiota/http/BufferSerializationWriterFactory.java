@@ -0,0 +1,36 @@
+package com.microsoft.kiota.http;
+
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.SerializationWriterFactory;
+import io.netty.buffer.PooledByteBufAllocator;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * Creates new Json serialization writers serializing the request bodies into pooled direct Netty buffers.
+ * The request adapter releases the buffer once the exchange is over, a request with such a body can only be sent once.
+ * The buffer is put on the socket as is by the adapters built on an HttpClient, the ones built on a bare WebClient copy it.
+ */
+public class BufferSerializationWriterFactory implements SerializationWriterFactory {
+    /** Creates a new factory */
+    public BufferSerializationWriterFactory() {}
+
+    /** {@inheritDoc} */
+    @Nonnull public String getValidContentType() {
+        return validContentType;
+    }
+
+    private static final String validContentType = "application/json";
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public SerializationWriter getSerializationWriter(@Nonnull final String contentType) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        if (contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(validContentType)) {
+            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        }
+        return new BufferSerializationWriter(PooledByteBufAllocator.DEFAULT.directBuffer());
+    }
+}
@@ -0,0 +1,107 @@
+package com.microsoft.kiota.http;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.microsoft.kiota.http.middleware.options.ContentEncoding;
+import jakarta.annotation.Nonnull;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses a request body while it is read, one chunk of the source at a time, so the compressed body is never
+ * held in memory as a whole.
+ * The source is not closed so that markable request bodies can be replayed.
+ */
+class EncodedContentStream extends InputStream {
+    @Nonnull private final InputStream source;
+    @Nonnull private final ContentEncoding encoding;
+    @Nonnull private final EncodedChunk encoded = new EncodedChunk();
+    @Nonnull private final byte[] chunk = new byte[InputStreamReadStream.DEFAULT_CHUNK_SIZE];
+    private OutputStream encoder;
+    private int position;
+    private boolean finished;
+
+    EncodedContentStream(@Nonnull final InputStream source, @Nonnull final ContentEncoding encoding) {
+        this.source = Objects.requireNonNull(source, "parameter source cannot be null");
+        this.encoding = Objects.requireNonNull(encoding, "parameter encoding cannot be null");
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        final int read = read(single, 0, 1);
+        return read < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        // the encoders buffer their input, a few chunks of the source may be needed before any output
+        while (position == encoded.size()) {
+            if (finished) {
+                return -1;
+            }
+            encoded.reset();
+            position = 0;
+            encodeNextChunk();
+        }
+        final int read = Math.min(len, encoded.size() - position);
+        System.arraycopy(encoded.bytes(), position, b, off, read);
+        position += read;
+        return read;
+    }
+
+    private void encodeNextChunk() throws IOException {
+        if (encoder == null) {
+            encoder = createEncoder(encoding, encoded);
+        }
+        final int read = source.read(chunk);
+        if (read < 0) {
+            finished = true;
+            encoder.close();
+        } else {
+            encoder.write(chunk, 0, read);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (encoder != null && !finished) {
+            finished = true;
+            encoder.close();
+        }
+    }
+
+    @Nonnull private static OutputStream createEncoder(
+            @Nonnull final ContentEncoding encoding, @Nonnull final OutputStream output)
+            throws IOException {
+        switch (encoding) {
+            case GZIP:
+                return new GZIPOutputStream(output, InputStreamReadStream.DEFAULT_CHUNK_SIZE);
+            case ZSTD:
+                return ZstdEncoder.create(output);
+            default:
+                throw new IllegalArgumentException("unsupported encoding " + encoding);
+        }
+    }
+
+    /** Only loaded when zstd is used, zstd-jni is an optional dependency. */
+    private static final class ZstdEncoder {
+        @Nonnull static OutputStream create(@Nonnull final OutputStream output) throws IOException {
+            return new ZstdOutputStream(output);
+        }
+    }
+
+    /** Exposes the bytes written by the encoder without copying them. */
+    private static final class EncodedChunk extends ByteArrayOutputStream {
+        @Nonnull byte[] bytes() {
+            return buf;
+        }
+    }
+}
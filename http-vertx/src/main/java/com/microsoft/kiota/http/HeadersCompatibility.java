@@ -8,7 +8,7 @@ import java.util.HashSet;
 import java.util.Objects;
 
 /**
- * Compatibility class to bridge OkHttp Headers and Kiota Headers
+ * Compatibility class to bridge Vert.x MultiMap headers and Kiota Headers
  */
 public class HeadersCompatibility {
     private HeadersCompatibility() {}
@@ -0,0 +1,223 @@
+package com.microsoft.kiota.http;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Exposes an InputStream as a Vert.x ReadStream, reading one chunk at a time and only when there is demand.
+ * The reads are blocking, they are executed on the worker pool of the context the stream is consumed from.
+ * The InputStream is not closed so that markable request bodies can be replayed.
+ */
+class InputStreamReadStream implements ReadStream<Buffer> {
+    static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    @Nonnull private final InputStream inputStream;
+    private final int chunkSize;
+    private Context context;
+    private Handler<Buffer> dataHandler;
+    private Handler<Void> endHandler;
+    private Handler<Throwable> exceptionHandler;
+    private long demand = Long.MAX_VALUE;
+    private boolean reading;
+    private boolean ended;
+    private boolean complete;
+    private boolean stopped;
+    private Promise<Boolean> drained;
+
+    InputStreamReadStream(@Nonnull final InputStream inputStream) {
+        this(inputStream, DEFAULT_CHUNK_SIZE);
+    }
+
+    InputStreamReadStream(@Nonnull final InputStream inputStream, final int chunkSize) {
+        this.inputStream = Objects.requireNonNull(inputStream, "parameter inputStream cannot be null");
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public synchronized InputStreamReadStream exceptionHandler(@Nullable final Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public InputStreamReadStream handler(@Nullable final Handler<Buffer> handler) {
+        synchronized (this) {
+            this.dataHandler = handler;
+            if (handler != null && context == null) {
+                context = Vertx.currentContext();
+            }
+        }
+        readNextChunk();
+        return this;
+    }
+
+    @Override
+    public synchronized InputStreamReadStream pause() {
+        demand = 0L;
+        return this;
+    }
+
+    @Override
+    public InputStreamReadStream resume() {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public InputStreamReadStream fetch(final long amount) {
+        if (amount > 0L) {
+            synchronized (this) {
+                demand += amount;
+                if (demand < 0L) {
+                    demand = Long.MAX_VALUE;
+                }
+            }
+            readNextChunk();
+        }
+        return this;
+    }
+
+    @Override
+    public synchronized InputStreamReadStream endHandler(@Nullable final Handler<Void> handler) {
+        this.endHandler = handler;
+        return this;
+    }
+
+    private void readNextChunk() {
+        while (true) {
+            synchronized (this) {
+                if (reading || ended || stopped || demand == 0L || dataHandler == null) {
+                    return;
+                }
+                reading = true;
+                if (context != null) {
+                    context.<ByteBuf>executeBlocking(promise -> {
+                                try {
+                                    promise.complete(readChunk());
+                                } catch (IOException ex) {
+                                    promise.fail(ex);
+                                }
+                            }, true)
+                            .onComplete(ar -> {
+                                onChunk(ar.result(), ar.cause());
+                                readNextChunk();
+                            });
+                    return;
+                }
+            }
+            // not consumed from a Vert.x thread, reading inline cannot block an event loop
+            ByteBuf chunk = null;
+            Throwable failure = null;
+            try {
+                chunk = readChunk();
+            } catch (IOException ex) {
+                failure = ex;
+            }
+            onChunk(chunk, failure);
+        }
+    }
+
+    /**
+     * Stops reading, so the InputStream can be rewound once the chunk being read, if any, was read.
+     * The request fails when its body was not read to the end, it cannot be reused with a truncated body.
+     * @return a future completed when the stream is no longer read, with whether it was read to its end.
+     */
+    @Nonnull Future<Boolean> stop() {
+        final Handler<Throwable> error;
+        synchronized (this) {
+            stopped = true;
+            if (reading) {
+                if (drained == null) {
+                    drained = Promise.promise();
+                }
+                return drained.future();
+            }
+            if (ended) {
+                return Future.succeededFuture(complete);
+            }
+            ended = true;
+            error = exceptionHandler;
+        }
+        if (error != null) {
+            error.handle(abandoned());
+        }
+        return Future.succeededFuture(false);
+    }
+
+    @Nonnull private static IOException abandoned() {
+        return new IOException("the request body was abandoned before it was sent to the end");
+    }
+
+    @Nullable private ByteBuf readChunk() throws IOException {
+        final ByteBuf chunk = Unpooled.buffer(chunkSize, chunkSize);
+        final int read = chunk.writeBytes(inputStream, chunkSize);
+        if (read < 0) {
+            chunk.release();
+            return null;
+        }
+        return chunk;
+    }
+
+    private void onChunk(@Nullable final ByteBuf chunk, @Nullable final Throwable failure) {
+        final Handler<Buffer> data;
+        final Handler<Void> end;
+        final Handler<Throwable> error;
+        Throwable cause = failure;
+        synchronized (this) {
+            data = stopped ? null : dataHandler;
+            end = endHandler;
+            error = exceptionHandler;
+            if (failure != null || chunk == null) {
+                ended = true;
+                complete = failure == null;
+            } else if (stopped) {
+                // the exchange is over, the chunk is dropped and the InputStream can be rewound
+                chunk.release();
+                ended = true;
+                cause = abandoned();
+            } else if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+        }
+        try {
+            if (cause != null) {
+                if (error != null) {
+                    error.handle(cause);
+                }
+            } else if (chunk == null) {
+                if (end != null) {
+                    end.handle(null);
+                }
+            } else if (chunk.isReadable() && data != null) {
+                data.handle(Buffer.buffer(chunk));
+            }
+        } finally {
+            onChunkRead();
+        }
+    }
+
+    private void onChunkRead() {
+        final Promise<Boolean> stopping;
+        final boolean result;
+        synchronized (this) {
+            reading = false;
+            stopping = drained;
+            result = complete;
+            drained = null;
+        }
+        if (stopping != null) {
+            stopping.complete(result);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.microsoft.kiota.http;
+
+import com.microsoft.kiota.RequestAdapter;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import com.microsoft.kiota.serialization.ValuedEnumParser;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Future;
+import io.vertx.ext.web.client.WebClient;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Mutiny flavour of the Vert.x request adapter, the returned Uni and Multi are lazy and send the request on subscription.
+ * Each subscription sends it again, so retrying one only works with a body which can be read again: the pooled
+ * serialized payloads are released after their first exchange.
+ */
+public class MutinyVertXRequestAdapter {
+    @Nonnull private final VertXRequestAdapter delegate;
+
+    /**
+     * Instantiates a new Mutiny request adapter with the provided authentication provider.
+     * @param authenticationProvider the authentication provider to use for authenticating requests.
+     */
+    public MutinyVertXRequestAdapter(@Nonnull final AuthenticationProvider authenticationProvider) {
+        this(new VertXRequestAdapter(authenticationProvider));
+    }
+
+    /**
+     * Instantiates a new Mutiny request adapter with the provided authentication provider and http client.
+     * @param authenticationProvider the authentication provider to use for authenticating requests.
+     * @param client the http client to use for sending requests.
+     */
+    public MutinyVertXRequestAdapter(
+            @Nonnull final AuthenticationProvider authenticationProvider,
+            @Nullable final WebClient client) {
+        this(new VertXRequestAdapter(authenticationProvider, client));
+    }
+
+    /**
+     * Instantiates a new Mutiny request adapter sharing the configuration of an existing Vert.x request adapter.
+     * @param delegate the request adapter used to send the requests.
+     */
+    public MutinyVertXRequestAdapter(@Nonnull final VertXRequestAdapter delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "parameter delegate cannot be null");
+    }
+
+    /**
+     * Gets the blocking request adapter backing this instance, to be handed to the generated clients.
+     * @return the underlying request adapter.
+     */
+    @Nonnull public RequestAdapter getRequestAdapter() {
+        return delegate;
+    }
+
+    public void setBaseUrl(@Nonnull final String baseUrl) {
+        delegate.setBaseUrl(baseUrl);
+    }
+
+    @Nonnull public String getBaseUrl() {
+        return delegate.getBaseUrl();
+    }
+
+    @Nonnull public <ModelType extends Parsable> Uni<ModelType> send(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        return toUni(
+                cancellation ->
+                        delegate.sendAsync(requestInfo, errorMappings, factory, cancellation));
+    }
+
+    @Nonnull public <ModelType extends Parsable> Uni<List<ModelType>> sendCollection(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        return toUni(
+                cancellation ->
+                        delegate.sendCollectionAsync(
+                                requestInfo, errorMappings, factory, cancellation));
+    }
+
+    /**
+     * Sends the request and emits the elements of the returned collection one by one, as they are deserialized.
+     * The response body is read on the default worker pool, the elements already emitted are not retained.
+     * The request is aborted when the subscription is cancelled, even before the response is received.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param factory the factory of the collection elements.
+     * @return a Multi emitting the deserialized elements, empty when the response has no content.
+     */
+    @Nonnull public <ModelType extends Parsable> Multi<ModelType> sendCollectionMulti(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        return Multi.createFrom()
+                .deferred(
+                        () -> {
+                            final RequestCancellation cancellation = new RequestCancellation();
+                            final Future<Stream<ModelType>> elements =
+                                    delegate.sendCollectionStreamAsync(
+                                            requestInfo, errorMappings, factory, cancellation);
+                            return Uni.createFrom()
+                                    .completionStage(elements.toCompletionStage())
+                                    .onItem()
+                                    .transformToMulti(MutinyVertXRequestAdapter::emit)
+                                    // a stream received after the subscription was cancelled is
+                                    // closed as well, closing it twice is harmless
+                                    .onTermination()
+                                    .invoke(
+                                            (failure, cancelled) -> {
+                                                if (cancelled) {
+                                                    cancellation.cancel(getCancellationCause());
+                                                }
+                                                elements.onSuccess(
+                                                        MutinyVertXRequestAdapter::close);
+                                            });
+                        });
+    }
+
+    /** Emits the elements from the worker pool, the stream is closed once done or cancelled. */
+    @Nonnull private static <ModelType> Multi<ModelType> emit(
+            @Nullable final Stream<ModelType> stream) {
+        if (stream == null) {
+            return Multi.createFrom().empty();
+        }
+        return Multi.createFrom()
+                .resource(() -> stream, items -> Multi.createFrom().items(() -> items))
+                .withFinalizer(MutinyVertXRequestAdapter::close)
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    private static void close(@Nullable final Stream<?> stream) {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Nonnull public <ModelType> Uni<ModelType> sendPrimitive(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass) {
+        return toUni(
+                cancellation ->
+                        delegate.sendPrimitiveAsync(
+                                requestInfo, errorMappings, targetClass, cancellation));
+    }
+
+    @Nonnull public <ModelType> Uni<List<ModelType>> sendPrimitiveCollection(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass) {
+        return toUni(
+                cancellation ->
+                        delegate.sendPrimitiveCollectionAsync(
+                                requestInfo, errorMappings, targetClass, cancellation));
+    }
+
+    @Nonnull public <ModelType extends Enum<ModelType>> Uni<ModelType> sendEnum(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        return toUni(
+                cancellation ->
+                        delegate.sendEnumAsync(
+                                requestInfo, errorMappings, enumParser, cancellation));
+    }
+
+    @Nonnull public <ModelType extends Enum<ModelType>> Uni<List<ModelType>> sendEnumCollection(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        return toUni(
+                cancellation ->
+                        delegate.sendEnumCollectionAsync(
+                                requestInfo, errorMappings, enumParser, cancellation));
+    }
+
+    /** Sends the request on subscription, cancelling the subscription cancels the request being sent. */
+    private static <ResultType> Uni<ResultType> toUni(
+            @Nonnull final Function<RequestCancellation, Future<ResultType>> send) {
+        return Uni.createFrom()
+                .deferred(
+                        () -> {
+                            final RequestCancellation cancellation = new RequestCancellation();
+                            return Uni.createFrom()
+                                    .completionStage(send.apply(cancellation).toCompletionStage())
+                                    .onCancellation()
+                                    .invoke(() -> cancellation.cancel(getCancellationCause()));
+                        });
+    }
+
+    @Nonnull private static Throwable getCancellationCause() {
+        return new CancellationException("the subscription was cancelled");
+    }
+}
@@ -0,0 +1,165 @@
+package com.microsoft.kiota.http;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Exposes a Vert.x ReadStream as a blocking InputStream.
+ * At most a fixed number of chunks are requested ahead of the reader, so the memory used does not grow with the payload size.
+ */
+class ReadStreamInputStream extends InputStream {
+    static final int DEFAULT_MAX_BUFFERED_CHUNKS = 16;
+
+    private static final Object END = new Object();
+
+    @Nonnull private final ReadStream<Buffer> stream;
+    @Nullable private final Runnable cancel;
+    @Nullable private final Context context;
+    // Buffers, the END marker or a Throwable, as they are emitted by the stream
+    private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private Buffer current;
+    private int position;
+    private boolean ended;
+    private boolean closed;
+    // set on the context of the stream once it emitted its end or a failure
+    private volatile boolean received;
+
+    ReadStreamInputStream(@Nonnull final ReadStream<Buffer> stream, @Nullable final Runnable cancel) {
+        this(stream, cancel, DEFAULT_MAX_BUFFERED_CHUNKS);
+    }
+
+    ReadStreamInputStream(
+            @Nonnull final ReadStream<Buffer> stream,
+            @Nullable final Runnable cancel,
+            final int maxBufferedChunks) {
+        this.stream = Objects.requireNonNull(stream, "parameter stream cannot be null");
+        this.cancel = cancel;
+        this.context = Vertx.currentContext();
+        stream.pause();
+        stream.handler(queue::add);
+        stream.exceptionHandler(
+                failure -> {
+                    received = true;
+                    queue.add(failure);
+                });
+        stream.endHandler(
+                v -> {
+                    received = true;
+                    queue.add(END);
+                });
+        stream.fetch(maxBufferedChunks);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextChunk()) {
+            return -1;
+        }
+        return current.getByte(position++) & 0xFF;
+    }
+
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextChunk()) {
+            return -1;
+        }
+        final int count = Math.min(len, current.length() - position);
+        current.getBytes(position, position + count, b, off);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length() - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        current = null;
+        queue.clear();
+        if (!ended && cancel != null) {
+            // a body received to the end is not cancelled, its connection may already serve another request
+            onContext(
+                    () -> {
+                        if (!received) {
+                            cancel.run();
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Makes sure there are bytes left in the current chunk, waiting for the next one if needed.
+     * @return false when the stream has ended.
+     */
+    private boolean nextChunk() throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+        while (current == null || position >= current.length()) {
+            if (ended) {
+                return false;
+            }
+            if (current != null) {
+                current = null;
+                // the previous chunk has been consumed, ask for another one
+                onContext(() -> stream.fetch(1));
+            }
+            final Object next = take();
+            if (next == END) {
+                ended = true;
+                return false;
+            } else if (next instanceof Throwable) {
+                ended = true;
+                throw new IOException((Throwable) next);
+            }
+            current = (Buffer) next;
+            position = 0;
+        }
+        return true;
+    }
+
+    private Object take() throws IOException {
+        final Object next = queue.poll();
+        if (next != null) {
+            return next;
+        }
+        if (Context.isOnEventLoopThread()) {
+            throw new IllegalStateException(
+                    "the response body is not available yet and reading it would block the Vert.x"
+                            + " event loop thread");
+        }
+        try {
+            return queue.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for the response body");
+        }
+    }
+
+    private void onContext(@Nonnull final Runnable action) {
+        if (context == null) {
+            action.run();
+        } else {
+            context.runOnContext(v -> action.run());
+        }
+    }
+}
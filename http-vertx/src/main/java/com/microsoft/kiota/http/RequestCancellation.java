@@ -0,0 +1,54 @@
+package com.microsoft.kiota.http;
+
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lets the caller of the adapter abort a send it is no longer interested in, such as a cancelled subscription.
+ * The requests of all the attempts of the send are cancelled, the ones created afterwards are cancelled right away.
+ */
+final class RequestCancellation {
+    private final List<MiddlewareRequest> requests = new ArrayList<>();
+    private Throwable cause;
+
+    /**
+     * Links a request sent for the call, cancelled right away when the call was already cancelled
+     * @param request the request to cancel along with the call.
+     */
+    void add(@Nonnull final MiddlewareRequest request) {
+        Objects.requireNonNull(request, "parameter request cannot be null");
+        final Throwable cancelled;
+        synchronized (this) {
+            cancelled = cause;
+            if (cancelled == null) {
+                requests.add(request);
+            }
+        }
+        if (cancelled != null) {
+            request.cancel(cancelled);
+        }
+    }
+
+    /**
+     * Cancels the requests of the call, only the first cause is kept
+     * @param cause the reason of the cancellation.
+     */
+    void cancel(@Nonnull final Throwable cause) {
+        Objects.requireNonNull(cause, "parameter cause cannot be null");
+        final List<MiddlewareRequest> toCancel;
+        synchronized (this) {
+            if (this.cause != null) {
+                return;
+            }
+            this.cause = cause;
+            toCancel = new ArrayList<>(requests);
+            requests.clear();
+        }
+        for (final MiddlewareRequest request : toCancel) {
+            request.cancel(cause);
+        }
+    }
+}
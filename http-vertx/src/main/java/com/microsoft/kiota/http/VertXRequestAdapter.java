@@ -1,7 +1,15 @@
 package com.microsoft.kiota.http;
 
+import com.github.andreatp.kiota.serialization.JsonStreamingParseNode;
+import com.github.andreatp.kiota.serialization.PipedContent;
+import com.github.andreatp.kiota.serialization.SerializedContent;
 import com.microsoft.kiota.*;
 import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.http.middleware.CachedHttpResponse;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewarePipeline;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
 import com.microsoft.kiota.serialization.Parsable;
 import com.microsoft.kiota.serialization.ParsableFactory;
 import com.microsoft.kiota.serialization.ParseNode;
@@ -12,12 +20,23 @@ import com.microsoft.kiota.serialization.SerializationWriterFactoryRegistry;
 import com.microsoft.kiota.serialization.ValuedEnumParser;
 import com.microsoft.kiota.store.BackingStoreFactory;
 import com.microsoft.kiota.store.BackingStoreFactorySingleton;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.RequestOptions;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.impl.HttpResponseImpl;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
@@ -31,29 +50,39 @@ import java.net.URL;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.microsoft.kiota.http.HeadersCompatibility.getMultiMap;
 import static com.microsoft.kiota.http.HttpMethodCompatibility.convert;
 
-/** RequestAdapter implementation for OkHttp */
+/** RequestAdapter implementation for Vert.x, the requests are sent through its WebClient */
 public class VertXRequestAdapter implements RequestAdapter {
     private static final String contentTypeHeaderKey = "Content-Type";
+    private static final String contentLengthHeaderKey = "Content-Length";
     @Nonnull private final WebClient client;
+    // used to stream responses, only available when the adapter owns the underlying client
+    @Nullable private final HttpClient httpClient;
     @Nonnull private final AuthenticationProvider authProvider;
+    @Nonnull private final MiddlewarePipeline pipeline;
     @Nonnull private ParseNodeFactory pNodeFactory;
     @Nonnull private SerializationWriterFactory sWriterFactory;
     @Nonnull private String baseUrl = "";
@@ -67,7 +96,7 @@ public class VertXRequestAdapter implements RequestAdapter {
     }
 
     /**
-     * Instantiates a new OkHttp request adapter with the provided authentication provider.
+     * Instantiates a new Vert.x request adapter with the provided authentication provider.
      * @param authenticationProvider the authentication provider to use for authenticating requests.
      */
     public VertXRequestAdapter(@Nonnull final AuthenticationProvider authenticationProvider) {
@@ -75,7 +104,7 @@ public class VertXRequestAdapter implements RequestAdapter {
     }
 
     /**
-     * Instantiates a new OkHttp request adapter with the provided authentication provider, and the parse node factory.
+     * Instantiates a new Vert.x request adapter with the provided authentication provider, and the parse node factory.
      * @param authenticationProvider the authentication provider to use for authenticating requests.
      * @param client the http client to use for sending requests.
      */
@@ -86,7 +115,7 @@ public class VertXRequestAdapter implements RequestAdapter {
     }
 
     /**
-     * Instantiates a new OkHttp request adapter with the provided authentication provider, parse node factory, and the serialization writer factory.
+     * Instantiates a new Vert.x request adapter with the provided authentication provider, parse node factory, and the serialization writer factory.
      * @param authenticationProvider the authentication provider to use for authenticating requests.
      * @param client the http client to use for sending requests.
      * @param parseNodeFactory the parse node factory to use for parsing responses.
@@ -100,7 +129,7 @@ public class VertXRequestAdapter implements RequestAdapter {
     }
 
     /**
-     * Instantiates a new OkHttp request adapter with the provided authentication provider, parse node factory, serialization writer factory, and the http client.
+     * Instantiates a new Vert.x request adapter with the provided authentication provider, parse node factory, serialization writer factory, and the http client.
      * @param authenticationProvider the authentication provider to use for authenticating requests.
      * @param client the http client to use for sending requests.
      * @param parseNodeFactory the parse node factory to use for parsing responses.
@@ -112,14 +141,78 @@ public class VertXRequestAdapter implements RequestAdapter {
             @Nullable final WebClient client,
             @Nullable final ParseNodeFactory parseNodeFactory,
             @Nullable final SerializationWriterFactory serializationWriterFactory) {
+        this(
+                authenticationProvider,
+                client == null ? DefaultClientHolder.client : client,
+                client == null ? DefaultClientHolder.httpClient : null,
+                parseNodeFactory,
+                serializationWriterFactory,
+                null);
+    }
+
+    /**
+     * Instantiates a new Vert.x request adapter on top of an HttpClient, the requests are sent through a WebClient wrapping it.
+     * Having access to the HttpClient allows InputStream responses to be streamed instead of buffered.
+     * @param httpClient the http client to use for sending requests.
+     * @param authenticationProvider the authentication provider to use for authenticating requests.
+     * @param parseNodeFactory the parse node factory to use for parsing responses.
+     * @param serializationWriterFactory the serialization writer factory to use for serializing requests.
+     */
+    public VertXRequestAdapter(
+            @Nonnull final HttpClient httpClient,
+            @Nonnull final AuthenticationProvider authenticationProvider,
+            @Nullable final ParseNodeFactory parseNodeFactory,
+            @Nullable final SerializationWriterFactory serializationWriterFactory) {
+        this(
+                httpClient,
+                authenticationProvider,
+                parseNodeFactory,
+                serializationWriterFactory,
+                null);
+    }
+
+    /**
+     * Instantiates a new Vert.x request adapter on top of an HttpClient, sending the requests through the given middlewares.
+     * @param httpClient the http client to use for sending requests.
+     * @param authenticationProvider the authentication provider to use for authenticating requests.
+     * @param parseNodeFactory the parse node factory to use for parsing responses.
+     * @param serializationWriterFactory the serialization writer factory to use for serializing requests.
+     * @param middlewares the middlewares handling the requests, in order, the default ones when null.
+     */
+    public VertXRequestAdapter(
+            @Nonnull final HttpClient httpClient,
+            @Nonnull final AuthenticationProvider authenticationProvider,
+            @Nullable final ParseNodeFactory parseNodeFactory,
+            @Nullable final SerializationWriterFactory serializationWriterFactory,
+            @Nullable final List<? extends Middleware> middlewares) {
+        this(
+                authenticationProvider,
+                WebClient.wrap(
+                        Objects.requireNonNull(
+                                httpClient, "parameter httpClient cannot be null")),
+                httpClient,
+                parseNodeFactory,
+                serializationWriterFactory,
+                middlewares);
+    }
+
+    private VertXRequestAdapter(
+            @Nonnull final AuthenticationProvider authenticationProvider,
+            @Nonnull final WebClient client,
+            @Nullable final HttpClient httpClient,
+            @Nullable final ParseNodeFactory parseNodeFactory,
+            @Nullable final SerializationWriterFactory serializationWriterFactory,
+            @Nullable final List<? extends Middleware> middlewares) {
         this.authProvider =
                 Objects.requireNonNull(
                         authenticationProvider, "parameter authenticationProvider cannot be null");
-        if (client == null) {
-            this.client = WebClient.create(Vertx.vertx());
-        } else {
-            this.client = client;
-        }
+        this.client = client;
+        this.httpClient = httpClient;
+        this.pipeline =
+                new MiddlewarePipeline(
+                        middlewares == null
+                                ? MiddlewarePipeline.createDefaultMiddlewares()
+                                : middlewares);
         if (parseNodeFactory == null) {
             pNodeFactory = ParseNodeFactoryRegistry.defaultInstance;
         } else {
@@ -133,6 +226,16 @@ public class VertXRequestAdapter implements RequestAdapter {
         }
     }
 
+    /**
+     * Lazily creates a single Vert.x instance and client shared by the adapters without an explicit client.
+     * The client asks for compressed responses and decompresses them while they are received.
+     */
+    private static final class DefaultClientHolder {
+        private static final HttpClient httpClient =
+                Vertx.vertx().createHttpClient(new HttpClientOptions().setTryUseCompression(true));
+        private static final WebClient client = WebClient.wrap(httpClient);
+    }
+
     @Nonnull public SerializationWriterFactory getSerializationWriterFactory() {
         return sWriterFactory;
     }
@@ -154,36 +257,179 @@ public class VertXRequestAdapter implements RequestAdapter {
     private static final String nullEnumParserParameter = "parameter enumParser cannot be null";
     private static final String nullFactoryParameter = "parameter factory cannot be null";
 
+    /**
+     * Sends the request and deserializes the response as a collection of the given model, without blocking the calling thread.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param factory the factory of the expected model.
+     * @return a future completed with the deserialized collection, read-only when it is kept with a cached response.
+     */
+    @Nonnull public <ModelType extends Parsable> Future<List<ModelType>> sendCollectionAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        return this.sendCollectionAsync(requestInfo, errorMappings, factory, null);
+    }
+
+    /**
+     * Same as {@link #sendCollectionAsync}, the requests are cancelled along with the call.
+     * @param cancellation cancels the requests once the caller is no longer interested in the result, if any.
+     */
+    @Nonnull <ModelType extends Parsable> Future<List<ModelType>> sendCollectionAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory,
+            @Nullable final RequestCancellation cancellation) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(factory, nullFactoryParameter);
+
+        return this.handleResponse(
+                requestInfo,
+                errorMappings,
+                cancellation,
+                response ->
+                        getModel(
+                                response,
+                                Map.entry(factory, List.class),
+                                () -> {
+                                    final ParseNode rootNode = getRootParseNode(response);
+                                    if (rootNode == null) {
+                                        return null;
+                                    }
+                                    final List<ModelType> result =
+                                            rootNode.getCollectionOfObjectValues(factory);
+                                    // a kept collection is shared by the callers served the
+                                    // response, none of them can change it for the others
+                                    return result == null || !keepsModels(response)
+                                            ? result
+                                            : Collections.unmodifiableList(result);
+                                }));
+    }
+
     @Nullable public <ModelType extends Parsable> List<ModelType> sendCollection(
             @Nonnull final RequestInformation requestInfo,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
             @Nonnull final ParsableFactory<ModelType> factory) {
+        return await(sendCollectionAsync(requestInfo, errorMappings, factory));
+    }
+
+    /**
+     * Sends the request and deserializes the elements of the returned collection as the stream is consumed, without blocking the calling thread.
+     * When the response is read through an HttpClient, the body is received as the elements are consumed as well.
+     * The elements are parsed one at a time only when the root parse node is a JsonStreamingParseNode, other parse nodes deserialize the whole collection first.
+     * The stream reads the response body with blocking calls, it must be consumed outside of the event loop and closed once done.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param factory the factory of the collection elements.
+     * @return a future completed with the stream of the elements, or null when there is no content.
+     */
+    @Nonnull public <ModelType extends Parsable>
+            Future<Stream<ModelType>> sendCollectionStreamAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        return this.sendCollectionStreamAsync(requestInfo, errorMappings, factory, null);
+    }
+
+    /**
+     * Same as {@link #sendCollectionStreamAsync}, the requests are cancelled along with the call.
+     * @param cancellation cancels the requests once the caller is no longer interested in the result, if any.
+     */
+    @Nonnull <ModelType extends Parsable>
+            Future<Stream<ModelType>> sendCollectionStreamAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory,
+            @Nullable final RequestCancellation cancellation) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(factory, nullFactoryParameter);
 
-            HttpResponse response = this.getHttpResponseMessage(requestInfo, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, errorMappings);
-                    if (this.shouldReturnNull(response)) {
+        if (httpClient != null && getResponseHandler(requestInfo) == null) {
+            return this.getStreamingResponse(
+                    requestInfo,
+                    errorMappings,
+                    cancellation,
+                    response -> {
+                        final InputStream body = toInputStream(response);
+                        final String contentType = response.getHeader(contentTypeHeaderKey);
+                        if (contentType == null) {
+                            closeQuietly(body);
+                            return null;
+                        }
+                        return streamCollection(contentType, body, factory);
+                    });
+        }
+        return this.handleResponse(
+                requestInfo,
+                errorMappings,
+                cancellation,
+                response -> {
+                    final String contentType = response.getHeader(contentTypeHeaderKey);
+                    if (response.bodyAsBuffer() == null || contentType == null) {
                         return null;
                     }
-                    final ParseNode rootNode = getRootParseNode(response);
-                    if (rootNode == null) {
-                        closeResponse = false;
-                        return null;
+                    return streamCollection(
+                            contentType, toInputStream(response.bodyAsBuffer()), factory);
+                });
+    }
+
+    /**
+     * Sends the request and deserializes the elements of the returned collection as the stream is consumed.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param factory the factory of the collection elements.
+     * @return the stream of the elements, to be closed once done, or null when there is no content.
+     */
+    @Nullable public <ModelType extends Parsable> Stream<ModelType> sendCollectionStream(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        return await(sendCollectionStreamAsync(requestInfo, errorMappings, factory));
+    }
+
+    @Nonnull private <ModelType extends Parsable> Stream<ModelType> streamCollection(
+            @Nonnull final String contentType,
+            @Nonnull final InputStream body,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        final Spliterator<ModelType> elements =
+                new Spliterators.AbstractSpliterator<ModelType>(
+                        Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                    private Iterator<ModelType> iterator;
+
+                    @Override
+                    public boolean tryAdvance(final Consumer<? super ModelType> action) {
+                        if (iterator == null) {
+                            // the parse node is created lazily, it reads the body as soon as it is created
+                            final ParseNode rootNode = pNodeFactory.getParseNode(contentType, body);
+                            if (rootNode instanceof JsonStreamingParseNode) {
+                                iterator =
+                                        ((JsonStreamingParseNode) rootNode)
+                                                .iterateCollectionOfObjectValues(factory);
+                            } else {
+                                final List<ModelType> collection =
+                                        rootNode.getCollectionOfObjectValues(factory);
+                                iterator =
+                                        collection == null
+                                                ? Collections.emptyIterator()
+                                                : collection.iterator();
+                            }
+                        }
+                        if (!iterator.hasNext()) {
+                            return false;
+                        }
+                        action.accept(iterator.next());
+                        return true;
                     }
-                        final List<ModelType> result =
-                                rootNode.getCollectionOfObjectValues(factory);
-                        return result;
-                } finally {
-                    closeResponse(closeResponse, response);
-                }
-            } else {
-                return responseHandler.handleResponse(response, errorMappings);
-            }
+                };
+        return StreamSupport.stream(elements, false).onClose(() -> closeQuietly(body));
+    }
+
+    private static void closeQuietly(@Nonnull final InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ex) {
+            // nothing left to read
+        }
     }
 
     private ResponseHandler getResponseHandler(final RequestInformation requestInfo) {
@@ -197,334 +443,950 @@ public class VertXRequestAdapter implements RequestAdapter {
         return null;
     }
 
-    @Nullable public <ModelType extends Parsable> ModelType send(
+    /**
+     * Sends the request and deserializes the response as the given model, without blocking the calling thread.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param factory the factory of the expected model.
+     * @return a future completed with the deserialized model.
+     */
+    @Nonnull public <ModelType extends Parsable> Future<ModelType> sendAsync(
             @Nonnull final RequestInformation requestInfo,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
             @Nonnull final ParsableFactory<ModelType> factory) {
+        return this.sendAsync(requestInfo, errorMappings, factory, null);
+    }
+
+    /**
+     * Same as {@link #sendAsync}, the requests are cancelled along with the call.
+     * @param cancellation cancels the requests once the caller is no longer interested in the result, if any.
+     */
+    @Nonnull <ModelType extends Parsable> Future<ModelType> sendAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory,
+            @Nullable final RequestCancellation cancellation) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(factory, nullFactoryParameter);
 
-            HttpResponse response = this.getHttpResponseMessage(requestInfo, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, errorMappings);
-                    if (this.shouldReturnNull(response)) {
-                        return null;
-                    }
-                    final ParseNode rootNode = getRootParseNode(response);
-                    if (rootNode == null) {
-                        closeResponse = false;
-                        return null;
-                    }
-                    final ModelType result = rootNode.getObjectValue(factory);
-                    return result;
-                } finally {
-                    closeResponse(closeResponse, response);
-                }
-            } else {
-                return responseHandler.handleResponse(response, errorMappings);
-            }
+        return this.handleResponse(
+                requestInfo,
+                errorMappings,
+                cancellation,
+                response ->
+                        getModel(
+                                response,
+                                Map.entry(factory, Parsable.class),
+                                () -> {
+                                    final ParseNode rootNode = getRootParseNode(response);
+                                    if (rootNode == null) {
+                                        return null;
+                                    }
+                                    return rootNode.getObjectValue(factory);
+                                }));
     }
 
-    private void closeResponse(boolean closeResponse, HttpResponse response) {
-        if (closeResponse && response.statusCode() != 204) {
-            // response.close();
-        }
+    @Nullable public <ModelType extends Parsable> ModelType send(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        return await(sendAsync(requestInfo, errorMappings, factory));
     }
 
-    @Nullable public <ModelType> ModelType sendPrimitive(
+    /**
+     * Sends the request and deserializes the response as the given primitive type, without blocking the calling thread.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param targetClass the class of the expected primitive.
+     * @return a future completed with the deserialized value.
+     */
+    @Nonnull public <ModelType> Future<ModelType> sendPrimitiveAsync(
             @Nonnull final RequestInformation requestInfo,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
             @Nonnull final Class<ModelType> targetClass) {
+        return this.sendPrimitiveAsync(requestInfo, errorMappings, targetClass, null);
+    }
+
+    /**
+     * Same as {@link #sendPrimitiveAsync}, the requests are cancelled along with the call.
+     * @param cancellation cancels the requests once the caller is no longer interested in the result, if any.
+     */
+    @Nonnull <ModelType> Future<ModelType> sendPrimitiveAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass,
+            @Nullable final RequestCancellation cancellation) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(targetClass, "parameter targetClass cannot be null");
-            HttpResponse response = this.getHttpResponseMessage(requestInfo, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, errorMappings);
-                    if (this.shouldReturnNull(response)) {
+
+        if (targetClass == InputStream.class
+                && httpClient != null
+                && getResponseHandler(requestInfo) == null) {
+            return (Future<ModelType>)
+                    (Future<?>)
+                            this.getStreamingResponse(
+                                    requestInfo,
+                                    errorMappings,
+                                    cancellation,
+                                    VertXRequestAdapter::toInputStream);
+        }
+        return this.handleResponse(
+                requestInfo,
+                errorMappings,
+                cancellation,
+                response -> {
+                    if (targetClass == Void.class) {
                         return null;
                     }
-                    if (targetClass == Void.class) {
+                    if (targetClass == InputStream.class) {
+                        // the body has already been buffered by the WebClient
+                        final InputStream rawInputStream = toInputStream(response.bodyAsBuffer());
+                        return (ModelType) rawInputStream;
+                    }
+                    final ParseNode rootNode = getRootParseNode(response);
+                    if (rootNode == null) {
                         return null;
+                    }
+                    Object result;
+                    if (targetClass == Boolean.class) {
+                        result = rootNode.getBooleanValue();
+                    } else if (targetClass == Byte.class) {
+                        result = rootNode.getByteValue();
+                    } else if (targetClass == String.class) {
+                        result = rootNode.getStringValue();
+                    } else if (targetClass == Short.class) {
+                        result = rootNode.getShortValue();
+                    } else if (targetClass == BigDecimal.class) {
+                        result = rootNode.getBigDecimalValue();
+                    } else if (targetClass == Double.class) {
+                        result = rootNode.getDoubleValue();
+                    } else if (targetClass == Integer.class) {
+                        result = rootNode.getIntegerValue();
+                    } else if (targetClass == Float.class) {
+                        result = rootNode.getFloatValue();
+                    } else if (targetClass == Long.class) {
+                        result = rootNode.getLongValue();
+                    } else if (targetClass == UUID.class) {
+                        result = rootNode.getUUIDValue();
+                    } else if (targetClass == OffsetDateTime.class) {
+                        result = rootNode.getOffsetDateTimeValue();
+                    } else if (targetClass == LocalDate.class) {
+                        result = rootNode.getLocalDateValue();
+                    } else if (targetClass == LocalTime.class) {
+                        result = rootNode.getLocalTimeValue();
+                    } else if (targetClass == PeriodAndDuration.class) {
+                        result = rootNode.getPeriodAndDurationValue();
+                    } else if (targetClass == byte[].class) {
+                        result = rootNode.getByteArrayValue();
                     } else {
-                        if (targetClass == InputStream.class) {
-                            closeResponse = false;
-                            // TODO: verify streaming responses
-                            final InputStream rawInputStream = new ByteArrayInputStream(response.bodyAsBuffer().getBytes());
-                            return (ModelType) rawInputStream;
-                        }
-                        final ParseNode rootNode = getRootParseNode(response);
-                        if (rootNode == null) {
-                            closeResponse = false;
-                            return null;
-                        }
-                            Object result;
-                            if (targetClass == Boolean.class) {
-                                result = rootNode.getBooleanValue();
-                            } else if (targetClass == Byte.class) {
-                                result = rootNode.getByteValue();
-                            } else if (targetClass == String.class) {
-                                result = rootNode.getStringValue();
-                            } else if (targetClass == Short.class) {
-                                result = rootNode.getShortValue();
-                            } else if (targetClass == BigDecimal.class) {
-                                result = rootNode.getBigDecimalValue();
-                            } else if (targetClass == Double.class) {
-                                result = rootNode.getDoubleValue();
-                            } else if (targetClass == Integer.class) {
-                                result = rootNode.getIntegerValue();
-                            } else if (targetClass == Float.class) {
-                                result = rootNode.getFloatValue();
-                            } else if (targetClass == Long.class) {
-                                result = rootNode.getLongValue();
-                            } else if (targetClass == UUID.class) {
-                                result = rootNode.getUUIDValue();
-                            } else if (targetClass == OffsetDateTime.class) {
-                                result = rootNode.getOffsetDateTimeValue();
-                            } else if (targetClass == LocalDate.class) {
-                                result = rootNode.getLocalDateValue();
-                            } else if (targetClass == LocalTime.class) {
-                                result = rootNode.getLocalTimeValue();
-                            } else if (targetClass == PeriodAndDuration.class) {
-                                result = rootNode.getPeriodAndDurationValue();
-                            } else if (targetClass == byte[].class) {
-                                result = rootNode.getByteArrayValue();
-                            } else {
-                                throw new RuntimeException(
-                                        "unexpected payload type " + targetClass.getName());
-                            }
-                            return (ModelType) result;
+                        throw new RuntimeException(
+                                "unexpected payload type " + targetClass.getName());
                     }
-                } finally {
-                    closeResponse(closeResponse, response);
-                }
-            } else {
-                return responseHandler.handleResponse(response, errorMappings);
-            }
+                    return (ModelType) result;
+                });
     }
 
-    @Nullable public <ModelType extends Enum<ModelType>> ModelType sendEnum(
+    @Nullable public <ModelType> ModelType sendPrimitive(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass) {
+        return await(sendPrimitiveAsync(requestInfo, errorMappings, targetClass));
+    }
+
+    /**
+     * Sends the request and deserializes the response as the given enum, without blocking the calling thread.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param enumParser the parser of the expected enum.
+     * @return a future completed with the deserialized enum value.
+     */
+    @Nonnull public <ModelType extends Enum<ModelType>> Future<ModelType> sendEnumAsync(
             @Nonnull final RequestInformation requestInfo,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
             @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        return this.sendEnumAsync(requestInfo, errorMappings, enumParser, null);
+    }
+
+    /**
+     * Same as {@link #sendEnumAsync}, the requests are cancelled along with the call.
+     * @param cancellation cancels the requests once the caller is no longer interested in the result, if any.
+     */
+    @Nonnull <ModelType extends Enum<ModelType>> Future<ModelType> sendEnumAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser,
+            @Nullable final RequestCancellation cancellation) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(enumParser, nullEnumParserParameter);
-            HttpResponse response = this.getHttpResponseMessage(requestInfo, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, errorMappings);
-                    if (this.shouldReturnNull(response)) {
-                        return null;
-                    }
+
+        return this.handleResponse(
+                requestInfo,
+                errorMappings,
+                cancellation,
+                response -> {
                     final ParseNode rootNode = getRootParseNode(response);
                     if (rootNode == null) {
-                        closeResponse = false;
                         return null;
                     }
-                        final Object result = rootNode.getEnumValue(enumParser);
-                        return (ModelType) result;
-                } finally {
-                    closeResponse(closeResponse, response);
-                }
-            } else {
-                return responseHandler.handleResponse(response, errorMappings);
-            }
+                    return rootNode.getEnumValue(enumParser);
+                });
     }
 
-    @Nullable public <ModelType extends Enum<ModelType>> List<ModelType> sendEnumCollection(
+    @Nullable public <ModelType extends Enum<ModelType>> ModelType sendEnum(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        return await(sendEnumAsync(requestInfo, errorMappings, enumParser));
+    }
+
+    /**
+     * Sends the request and deserializes the response as a collection of the given enum, without blocking the calling thread.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param enumParser the parser of the expected enum.
+     * @return a future completed with the deserialized enum values.
+     */
+    @Nonnull public <ModelType extends Enum<ModelType>>
+            Future<List<ModelType>> sendEnumCollectionAsync(
             @Nonnull final RequestInformation requestInfo,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
             @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        return this.sendEnumCollectionAsync(requestInfo, errorMappings, enumParser, null);
+    }
+
+    /**
+     * Same as {@link #sendEnumCollectionAsync}, the requests are cancelled along with the call.
+     * @param cancellation cancels the requests once the caller is no longer interested in the result, if any.
+     */
+    @Nonnull <ModelType extends Enum<ModelType>>
+            Future<List<ModelType>> sendEnumCollectionAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser,
+            @Nullable final RequestCancellation cancellation) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(enumParser, nullEnumParserParameter);
-            HttpResponse response = this.getHttpResponseMessage(requestInfo, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                try {
-                    this.throwIfFailedResponse(response, errorMappings);
-                    if (this.shouldReturnNull(response)) {
+
+        return this.handleResponse(
+                requestInfo,
+                errorMappings,
+                cancellation,
+                response -> {
+                    final ParseNode rootNode = getRootParseNode(response);
+                    if (rootNode == null) {
                         return null;
                     }
+                    return rootNode.getCollectionOfEnumValues(enumParser);
+                });
+    }
+
+    @Nullable public <ModelType extends Enum<ModelType>> List<ModelType> sendEnumCollection(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ValuedEnumParser<ModelType> enumParser) {
+        return await(sendEnumCollectionAsync(requestInfo, errorMappings, enumParser));
+    }
+
+    /**
+     * Sends the request and deserializes the response as a collection of the given primitive type, without blocking the calling thread.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param targetClass the class of the expected primitives.
+     * @return a future completed with the deserialized values.
+     */
+    @Nonnull public <ModelType> Future<List<ModelType>> sendPrimitiveCollectionAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass) {
+        return this.sendPrimitiveCollectionAsync(requestInfo, errorMappings, targetClass, null);
+    }
+
+    /**
+     * Same as {@link #sendPrimitiveCollectionAsync}, the requests are cancelled along with the call.
+     * @param cancellation cancels the requests once the caller is no longer interested in the result, if any.
+     */
+    @Nonnull <ModelType> Future<List<ModelType>> sendPrimitiveCollectionAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Class<ModelType> targetClass,
+            @Nullable final RequestCancellation cancellation) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+
+        return this.handleResponse(
+                requestInfo,
+                errorMappings,
+                cancellation,
+                response -> {
                     final ParseNode rootNode = getRootParseNode(response);
                     if (rootNode == null) {
-                        closeResponse = false;
                         return null;
                     }
-                        final Object result = rootNode.getCollectionOfEnumValues(enumParser);
-                        return (List<ModelType>) result;
-                } finally {
-                    closeResponse(closeResponse, response);
-                }
-            } else {
-                return responseHandler.handleResponse(response, errorMappings);
-            }
+                    return rootNode.getCollectionOfPrimitiveValues(targetClass);
+                });
     }
 
     @Nullable public <ModelType> List<ModelType> sendPrimitiveCollection(
             @Nonnull final RequestInformation requestInfo,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
             @Nonnull final Class<ModelType> targetClass) {
-        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        return await(sendPrimitiveCollectionAsync(requestInfo, errorMappings, targetClass));
+    }
 
-            HttpResponse response = getHttpResponseMessage(requestInfo, null);
-            final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-            if (responseHandler == null) {
-                boolean closeResponse = true;
-                this.throwIfFailedResponse(response, errorMappings);
-                if (this.shouldReturnNull(response)) {
-                    return null;
-                }
-                final ParseNode rootNode = getRootParseNode(response);
-                if (rootNode == null) {
-                    closeResponse = false;
-                    return null;
-                }
-                    final List<ModelType> result =
-                            rootNode.getCollectionOfPrimitiveValues(targetClass);
-                    return result;
-            } else {
-                return responseHandler.handleResponse(response, errorMappings);
-            }
+    private <ResultType> Future<ResultType> handleResponse(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nullable final RequestCancellation cancellation,
+            @Nonnull final Function<HttpResponse<Buffer>, ResultType> responseParser) {
+        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+        final Exchange exchange = new Exchange(requestInfo, cancellation);
+        return this.getHttpResponseMessage(requestInfo, null, exchange)
+                .onComplete(ar -> exchange.release())
+                .map(
+                        response -> {
+                            if (responseHandler != null) {
+                                return responseHandler.handleResponse(response, errorMappings);
+                            }
+                            this.throwIfFailedResponse(response, errorMappings);
+                            if (this.shouldReturnNull(response)) {
+                                return null;
+                            }
+                            return responseParser.apply(response);
+                        });
     }
 
-    @Nullable private ParseNode getRootParseNode(final HttpResponse response) {
-            final Buffer body = response.bodyAsBuffer(); // closing the response closes the body and stream
-            if (body == null) {
-                return null;
+    /**
+     * Waits for the outcome of an asynchronous send, this backs the blocking RequestAdapter methods.
+     * @param future the pending result.
+     * @return the result of the future.
+     */
+    private static <ResultType> ResultType await(@Nonnull final Future<ResultType> future) {
+        if (Context.isOnEventLoopThread()) {
+            throw new IllegalStateException(
+                    "the blocking send methods cannot be called from a Vert.x event loop thread,"
+                            + " use the *Async variants instead");
+        }
+        try {
+            return future.toCompletionStage().toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-            final InputStream rawInputStream = new ByteArrayInputStream(body.getBytes());
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
 
-            final String contentType = response.headers().get(contentTypeHeaderKey);
-            if (contentType == null) {
-                return null;
-            }
-            return pNodeFactory.getParseNode(contentType, rawInputStream);
+    /**
+     * Deserializes the body, once per cached response when the cache keeps the parsed models.
+     * @param response the response, served from the cache or not.
+     * @param key the factory and shape of the expected result.
+     * @param parser deserializes the body.
+     * @return the deserialized model.
+     */
+    @Nullable private static <ResultType> ResultType getModel(
+            @Nonnull final HttpResponse<Buffer> response,
+            @Nonnull final Object key,
+            @Nonnull final Supplier<ResultType> parser) {
+        if (response instanceof CachedHttpResponse) {
+            return ((CachedHttpResponse) response).getModel(key, parser);
+        }
+        return parser.get();
+    }
+
+    private static boolean keepsModels(@Nonnull final HttpResponse<Buffer> response) {
+        return response instanceof CachedHttpResponse
+                && ((CachedHttpResponse) response).keepsModels();
+    }
+
+    @Nullable private ParseNode getRootParseNode(final HttpResponse<Buffer> response) {
+        return getRootParseNode(response.headers(), response.bodyAsBuffer());
+    }
+
+    @Nullable private ParseNode getRootParseNode(
+            final MultiMap headers, @Nullable final Buffer body) {
+        if (body == null) {
+            return null;
+        }
+        final InputStream rawInputStream = toInputStream(body);
+
+        final String contentType = headers.get(contentTypeHeaderKey);
+        if (contentType == null) {
+            return null;
+        }
+        return pNodeFactory.getParseNode(contentType, rawInputStream);
+    }
+
+    /**
+     * Reads the body in place, the bytes received from the network are not copied into an intermediate array.
+     * @param body the buffered body of the response.
+     * @return a stream over the body.
+     */
+    @Nonnull private static InputStream toInputStream(@Nullable final Buffer body) {
+        if (body == null) {
+            return InputStream.nullInputStream();
+        }
+        return new ByteBufInputStream(body.getByteBuf());
     }
 
-    private boolean shouldReturnNull(final HttpResponse response) {
+    private boolean shouldReturnNull(final HttpResponse<Buffer> response) {
         return response.statusCode() == 204;
     }
 
-    private HttpResponse throwIfFailedResponse(
-            @Nonnull final HttpResponse response,
+    private HttpResponse<Buffer> throwIfFailedResponse(
+            @Nonnull final HttpResponse<Buffer> response,
             @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
-            if (response.statusCode() >= 200 && response.statusCode() < 300) return response;
-
-            final String statusCodeAsString = Integer.toString(response.statusCode());
-            final int statusCode = response.statusCode();
-            final ResponseHeaders responseHeaders =
-                    HeadersCompatibility.getResponseHeaders(response.headers());
-            if (errorMappings == null
-                    || !errorMappings.containsKey(statusCodeAsString)
-                            && !(statusCode >= 400
-                                    && statusCode < 500
-                                    && errorMappings.containsKey("4XX"))
-                            && !(statusCode >= 500
-                                    && statusCode < 600
-                                    && errorMappings.containsKey("5XX"))) {
-                final ApiException result =
-                        new ApiExceptionBuilder()
-                                .withMessage(
-                                        "the server returned an unexpected status code and no error"
-                                                + " class is registered for this code "
-                                                + statusCode)
-                                .withResponseStatusCode(statusCode)
-                                .withResponseHeaders(responseHeaders)
-                                .build();
-                throw result;
-            }
+        this.throwIfFailedResponse(
+                response.statusCode(),
+                response.headers(),
+                response.bodyAsBuffer(),
+                errorMappings);
+        return response;
+    }
 
-            final ParsableFactory<? extends Parsable> errorClass =
-                    errorMappings.containsKey(statusCodeAsString)
-                            ? errorMappings.get(statusCodeAsString)
-                            : (statusCode >= 400 && statusCode < 500
-                                    ? errorMappings.get("4XX")
-                                    : errorMappings.get("5XX"));
-            boolean closeResponse = true;
-            try {
-                final ParseNode rootNode = getRootParseNode(response);
-                if (rootNode == null) {
-                    closeResponse = false;
-                    final ApiException result =
-                            new ApiExceptionBuilder()
-                                    .withMessage(
-                                            "service returned status code"
-                                                    + statusCode
-                                                    + " but no response body was found")
-                                    .withResponseStatusCode(statusCode)
-                                    .withResponseHeaders(responseHeaders)
-                                    .build();
-                    throw result;
-                }
-                ApiException result =
-                        new ApiExceptionBuilder(() -> rootNode.getObjectValue(errorClass))
-                                .withResponseStatusCode(statusCode)
-                                .withResponseHeaders(responseHeaders)
-                                .build();
-                    throw result;
-            } finally {
-                closeResponse(closeResponse, response);
-            }
+    private void throwIfFailedResponse(
+            final int statusCode,
+            @Nonnull final MultiMap headers,
+            @Nullable final Buffer body,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        if (statusCode >= 200 && statusCode < 300) return;
+
+        final String statusCodeAsString = Integer.toString(statusCode);
+        final ResponseHeaders responseHeaders = HeadersCompatibility.getResponseHeaders(headers);
+        if (errorMappings == null
+                || !errorMappings.containsKey(statusCodeAsString)
+                        && !(statusCode >= 400
+                                && statusCode < 500
+                                && errorMappings.containsKey("4XX"))
+                        && !(statusCode >= 500
+                                && statusCode < 600
+                                && errorMappings.containsKey("5XX"))) {
+            final ApiException result =
+                    new ApiExceptionBuilder()
+                            .withMessage(
+                                    "the server returned an unexpected status code and no error"
+                                            + " class is registered for this code "
+                                            + statusCode)
+                            .withResponseStatusCode(statusCode)
+                            .withResponseHeaders(responseHeaders)
+                            .build();
+            throw result;
+        }
+
+        final ParsableFactory<? extends Parsable> errorClass =
+                errorMappings.containsKey(statusCodeAsString)
+                        ? errorMappings.get(statusCodeAsString)
+                        : (statusCode >= 400 && statusCode < 500
+                                ? errorMappings.get("4XX")
+                                : errorMappings.get("5XX"));
+        final ParseNode rootNode = getRootParseNode(headers, body);
+        if (rootNode == null) {
+            final ApiException result =
+                    new ApiExceptionBuilder()
+                            .withMessage(
+                                    "service returned status code"
+                                            + statusCode
+                                            + " but no response body was found")
+                            .withResponseStatusCode(statusCode)
+                            .withResponseHeaders(responseHeaders)
+                            .build();
+            throw result;
+        }
+        ApiException result =
+                new ApiExceptionBuilder(() -> rootNode.getObjectValue(errorClass))
+                        .withResponseStatusCode(statusCode)
+                        .withResponseHeaders(responseHeaders)
+                        .build();
+        throw result;
     }
 
     private static final String claimsKey = "claims";
 
-    private HttpResponse getHttpResponseMessage(
+    /**
+     * Gets the length of the request body when it is known upfront, bodies of unknown length are sent chunked.
+     * @param requestInfo the request information.
+     * @return the length of the body or -1 when it is unknown.
+     */
+    private static long getContentLength(@Nonnull final RequestInformation requestInfo) {
+        final Set<String> declaredLength = requestInfo.headers.get(contentLengthHeaderKey);
+        if (declaredLength != null && declaredLength.size() == 1) {
+            return Long.parseLong(declaredLength.iterator().next());
+        }
+        if (requestInfo.content instanceof ByteArrayInputStream) {
+            // in memory payloads, such as the serialized models, report their exact remaining size
+            return ((ByteArrayInputStream) requestInfo.content).available();
+        }
+        return -1L;
+    }
+
+    /**
+     * Wraps the payload of the json serialization writers, so it is sent without being copied chunk by chunk.
+     * @param requestInfo the request to send.
+     * @return the buffer over the remaining bytes of the payload, or null when the content is any other stream.
+     */
+    @Nullable private static Buffer getSerializedContent(
+            @Nonnull final RequestInformation requestInfo) {
+        if (requestInfo.content instanceof BufferContent) {
+            return ((BufferContent) requestInfo.content).toBuffer();
+        } else if (requestInfo.content instanceof SerializedContent) {
+            return Buffer.buffer(
+                    Unpooled.wrappedBuffer(
+                            ((SerializedContent) requestInfo.content).toByteBuffer()));
+        }
+        return null;
+    }
+
+    /**
+     * Hands the buffer of the serialized payload back to its writer factory once the exchange is over,
+     * and stops the serialization of piped payloads the server did not read to the end.
+     */
+    private static void releaseSerializedContent(@Nonnull final RequestInformation requestInfo) {
+        if (requestInfo.content instanceof BufferContent
+                || requestInfo.content instanceof SerializedContent
+                || requestInfo.content instanceof PipedContent) {
+            closeQuietly(requestInfo.content);
+        }
+    }
+
+    /**
+     * A call of the adapter, over all its attempts. The transport can still be writing the serialized content once the
+     * response or a failure was received, it is only released once all the writes ended. The requests are cancelled
+     * along with the call when its caller provided a cancellation.
+     */
+    private static final class Exchange {
+        @Nonnull private final RequestInformation requestInfo;
+        @Nullable private final RequestCancellation cancellation;
+        @Nonnull private final List<Future<Void>> writes = new ArrayList<>();
+
+        Exchange(
+                @Nonnull final RequestInformation requestInfo,
+                @Nullable final RequestCancellation cancellation) {
+            this.requestInfo = requestInfo;
+            this.cancellation = cancellation;
+        }
+
+        @Nonnull MiddlewareRequest add(@Nonnull final MiddlewareRequest request) {
+            if (cancellation != null) {
+                cancellation.add(request);
+            }
+            return request;
+        }
+
+        synchronized void add(@Nonnull final Future<Void> write) {
+            writes.add(write);
+        }
+
+        void release() {
+            final List<Future<Void>> ended;
+            synchronized (this) {
+                ended = new ArrayList<>(writes);
+            }
+            Future.join(ended).onComplete(ar -> releaseSerializedContent(requestInfo));
+        }
+    }
+
+    private Future<HttpResponse<Buffer>> getHttpResponseMessage(
             @Nonnull final RequestInformation requestInfo,
-            @Nullable final String claims) {
+            @Nullable final String claims,
+            @Nonnull final Exchange exchange) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
-        this.setBaseUrlForRequestInformation(requestInfo);
-        final Map<String, Object> additionalContext = new HashMap<String, Object>();
-        if (claims != null && !claims.isEmpty()) {
-            additionalContext.put(claimsKey, claims);
-        }
-        this.authProvider.authenticateRequest(requestInfo, additionalContext);
-        HttpResponse response;
-        Future<HttpResponse<Buffer>> result;
         try {
-            // TODO refactor this implementation
-            var req = this.client
-                    .requestAbs(convert(requestInfo.httpMethod), requestInfo.getUri().toString())
-                    .putHeaders(getMultiMap(requestInfo.headers))
-                    .followRedirects(true);
-            if (requestInfo.content == null) {
+            this.authenticateRequest(requestInfo, claims);
+            final MiddlewareRequest request =
+                    exchange.add(
+                            new MiddlewareRequest(
+                                    convert(requestInfo.httpMethod),
+                                    requestInfo.getUri().toString(),
+                                    getMultiMap(requestInfo.headers),
+                                    requestInfo));
+            return this.pipeline
+                    .send(request, next -> this.sendBufferedRequest(next, exchange))
+                    .compose(
+                            response ->
+                                    this.retryCAEResponseIfRequired(
+                                            unwrapBufferedResponse(response),
+                                            requestInfo,
+                                            claims,
+                                            exchange));
+        } catch (URISyntaxException e) {
+            return Future.failedFuture(new RuntimeException(e));
+        } catch (RuntimeException e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sends the request once the middlewares handled it, the body of the response is buffered.
+     * It goes through the HttpClient when the adapter has one, so the request is reset when it is cancelled.
+     */
+    private Future<MiddlewareResponse> sendBufferedRequest(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Exchange exchange) {
+        if (this.httpClient == null) {
+            return this.sendWebClientRequest(request);
+        }
+        return this.sendHttpClientRequest(request, exchange, true);
+    }
+
+    /**
+     * Sends the request through the WebClient of an adapter without an HttpClient, it cannot be reset when it is
+     * cancelled and runs until its read timeout. The serialized content is copied: the WebClient does not tell when the
+     * body was written, which may be after the exchange failed, so a pooled buffer handed to it could not be released.
+     */
+    private Future<MiddlewareResponse> sendWebClientRequest(
+            @Nonnull final MiddlewareRequest request) {
+        final RequestInformation requestInfo = request.getRequestInformation();
+        final Future<HttpResponse<Buffer>> result;
+        InputStreamReadStream stream = null;
+        var req =
+                this.client
+                        .requestAbs(request.getMethod(), request.getUri())
+                        .putHeaders(request.getHeaders())
+                        .followRedirects(true);
+        if (request.getReadTimeout() > 0L) {
+            req.timeout(request.getReadTimeout());
+        }
+        if (requestInfo.content == null) {
+            result = req.send();
+        } else if (request.getContentEncoding() != null) {
+            stream = getStreamedContent(request);
+            result = req.sendStream(stream);
+        } else {
+            final long contentLength = getContentLength(requestInfo);
+            if (contentLength == 0) {
                 result = req.send();
             } else {
-                // TODO: implement proper streaming and verify async behavior etc.
-                byte[] content = requestInfo.content.readAllBytes();
-                if (content.length > 0) {
-                    result = req.sendBuffer(Buffer.buffer(content));
+                final Buffer serializedContent = getSerializedContent(requestInfo);
+                if (serializedContent != null) {
+                    result = req.sendBuffer(serializedContent.copy());
                 } else {
-                    result = req.send();
+                    if (contentLength > 0) {
+                        req.putHeader(contentLengthHeaderKey, Long.toString(contentLength));
+                    }
+                    stream = new InputStreamReadStream(requestInfo.content);
+                    result = req.sendStream(stream);
                 }
             }
+        }
+        final InputStreamReadStream sentStream = stream;
+        return result.map(
+                response ->
+                        new MiddlewareResponse(
+                                request,
+                                response.statusCode(),
+                                response.headers(),
+                                response,
+                                () ->
+                                        sentStream == null
+                                                ? Future.succeededFuture()
+                                                : sentStream.stop().mapEmpty()));
+    }
 
-            // Hack - make everything sync now!
-            var completableTask = new CompletableFuture<HttpResponse>();
-            result
-                .onSuccess(r -> completableTask.complete(r))
-                .onFailure(err -> completableTask.completeExceptionally(err));
+    @SuppressWarnings("unchecked")
+    @Nonnull private static HttpResponse<Buffer> unwrapBufferedResponse(
+            @Nonnull final MiddlewareResponse response) {
+        final HttpResponse<Buffer> result = response.unwrap(HttpResponse.class);
+        if (result == null) {
+            throw new IllegalStateException("a middleware replaced the response of the WebClient");
+        }
+        return result;
+    }
+
+    /**
+     * Sends the request through the HttpClient and hands the body over as soon as the response headers are received.
+     * @param requestInfo the request to send.
+     * @param errorMappings the factories for the error models, keyed by status code.
+     * @param cancellation cancels the requests once the caller is no longer interested in the result, if any.
+     * @param bodyReader reads the body of a successful response, it is called on the event loop and must not block.
+     * @return a future completed with the result of the body reader, or null when there is no content.
+     */
+    private <ResultType> Future<ResultType> getStreamingResponse(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nullable final RequestCancellation cancellation,
+            @Nonnull final Function<HttpClientResponse, ResultType> bodyReader) {
+        final Exchange exchange = new Exchange(requestInfo, cancellation);
+        return this.getStreamingResponse(requestInfo, errorMappings, null, bodyReader, exchange)
+                .onComplete(ar -> exchange.release());
+    }
 
-            // TODO: verify how to make this better
-            response = completableTask.get();
+    private <ResultType> Future<ResultType> getStreamingResponse(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nullable final String claims,
+            @Nonnull final Function<HttpClientResponse, ResultType> bodyReader,
+            @Nonnull final Exchange exchange) {
+        try {
+            this.authenticateRequest(requestInfo, claims);
+            final MiddlewareRequest request =
+                    exchange.add(
+                            new MiddlewareRequest(
+                                    convert(requestInfo.httpMethod),
+                                    requestInfo.getUri().toString(),
+                                    getMultiMap(requestInfo.headers),
+                                    requestInfo));
+            request.setStreamed(true);
+            return this.pipeline
+                    .send(request, next -> this.sendStreamingRequest(next, exchange))
+                    .compose(
+                            response ->
+                                    this.handleStreamingResponse(
+                                            unwrapStreamingResponse(response),
+                                            requestInfo,
+                                            errorMappings,
+                                            claims,
+                                            bodyReader,
+                                            exchange));
         } catch (URISyntaxException e) {
-            throw new RuntimeException(e);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        } catch (ExecutionException e) {
-            throw new RuntimeException(e);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+            return Future.failedFuture(new RuntimeException(e));
+        } catch (RuntimeException e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    /** Sends the request through the HttpClient once the middlewares handled it, the body is left to be streamed. */
+    private Future<MiddlewareResponse> sendStreamingRequest(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Exchange exchange) {
+        return this.sendHttpClientRequest(request, exchange, false);
+    }
+
+    private Future<MiddlewareResponse> sendHttpClientRequest(
+            @Nonnull final MiddlewareRequest request,
+            @Nonnull final Exchange exchange,
+            final boolean buffered) {
+        final RequestOptions options =
+                new RequestOptions()
+                        .setMethod(request.getMethod())
+                        .setAbsoluteURI(request.getUri())
+                        .setHeaders(request.getHeaders())
+                        .setFollowRedirects(true);
+        if (request.getReadTimeout() > 0L) {
+            options.setTimeout(request.getReadTimeout());
+        }
+        // the response is paused as soon as it is received on the future returned by send, the middlewares
+        // and the body reader can run later and on another context, the body must not be dropped meanwhile
+        return this.httpClient
+                .request(options)
+                .compose(
+                        req -> {
+                            // resets the stream when the deadline passes, HTTP/1.1 only closes the
+                            // connection once the response ended so it is closed right away
+                            request.onCancel(
+                                    cause -> {
+                                        if (req.reset(0L, cause)
+                                                && req.version() != HttpVersion.HTTP_2) {
+                                            req.connection().close();
+                                        }
+                                    });
+                            final InputStreamReadStream stream = getStreamedContent(request);
+                            final Future<HttpClientResponse> sending =
+                                    this.sendStreamingRequest(req, request, stream, exchange);
+                            if (buffered) {
+                                return sending.compose(
+                                        response -> readResponse(request, response, stream));
+                            }
+                            return sending.map(
+                                    response -> {
+                                        response.pause();
+                                        return new MiddlewareResponse(
+                                                request,
+                                                response.statusCode(),
+                                                response.headers(),
+                                                response,
+                                                () -> discardStreamingResponse(response, stream));
+                                    });
+                        });
+    }
+
+    /** Reads the whole body of a response, handed over in the shape of the ones of the WebClient. */
+    private static Future<MiddlewareResponse> readResponse(
+            @Nonnull final MiddlewareRequest request,
+            @Nonnull final HttpClientResponse response,
+            @Nullable final InputStreamReadStream stream) {
+        return readBody(response)
+                .map(
+                        body ->
+                                new MiddlewareResponse(
+                                        request,
+                                        response.statusCode(),
+                                        response.headers(),
+                                        new HttpResponseImpl<>(
+                                                response.version(),
+                                                response.statusCode(),
+                                                response.statusMessage(),
+                                                response.headers(),
+                                                response.trailers(),
+                                                response.cookies(),
+                                                body,
+                                                List.of()),
+                                        () -> stopContent(response, stream)));
+    }
+
+    /** Resets the request of a response read to the end, when the server answered before its body was sent. */
+    private static Future<Void> stopContent(
+            @Nonnull final HttpClientResponse response,
+            @Nullable final InputStreamReadStream stream) {
+        if (stream == null) {
+            return Future.succeededFuture();
         }
-        return this.retryCAEResponseIfRequired(response, requestInfo, claims);
+        return stream.stop()
+                .map(
+                        complete -> {
+                            if (!complete) {
+                                response.request().reset();
+                            }
+                            return null;
+                        });
+    }
+
+    /**
+     * Drops the body of a response which will not be read, the request is reset when the server answered
+     * before its body was sent to the end.
+     */
+    private static Future<Void> discardStreamingResponse(
+            @Nonnull final HttpClientResponse response,
+            @Nullable final InputStreamReadStream stream) {
+        final Future<Boolean> sent = stream == null ? Future.succeededFuture(true) : stream.stop();
+        return sent.compose(
+                complete -> {
+                    if (!complete) {
+                        response.request().reset();
+                        return Future.succeededFuture();
+                    }
+                    final Future<Void> end = response.end();
+                    response.resume();
+                    return end;
+                });
+    }
+
+    /**
+     * Wraps the content which is compressed, or neither empty nor serialized, so it is read from the worker pool
+     * while being sent.
+     */
+    @Nullable private static InputStreamReadStream getStreamedContent(
+            @Nonnull final MiddlewareRequest request) {
+        final RequestInformation requestInfo = request.getRequestInformation();
+        if (requestInfo.content == null) {
+            return null;
+        }
+        if (request.getContentEncoding() != null) {
+            return new InputStreamReadStream(
+                    new EncodedContentStream(requestInfo.content, request.getContentEncoding()));
+        }
+        if (getContentLength(requestInfo) == 0
+                || requestInfo.content instanceof BufferContent
+                || requestInfo.content instanceof SerializedContent) {
+            return null;
+        }
+        return new InputStreamReadStream(requestInfo.content);
+    }
+
+    @Nonnull private static HttpClientResponse unwrapStreamingResponse(
+            @Nonnull final MiddlewareResponse response) {
+        final HttpClientResponse result = response.unwrap(HttpClientResponse.class);
+        if (result == null) {
+            throw new IllegalStateException("a middleware replaced the response of the HttpClient");
+        }
+        return result;
+    }
+
+    /** Reads the whole body of a paused response. */
+    private static Future<Buffer> readBody(@Nonnull final HttpClientResponse response) {
+        final Future<Buffer> body = response.body();
+        response.resume();
+        return body;
+    }
+
+    private Future<HttpClientResponse> sendStreamingRequest(
+            @Nonnull final HttpClientRequest req,
+            @Nonnull final MiddlewareRequest request,
+            @Nullable final InputStreamReadStream stream,
+            @Nonnull final Exchange exchange) {
+        final RequestInformation requestInfo = request.getRequestInformation();
+        if (requestInfo.content == null) {
+            return req.send();
+        }
+        if (request.getContentEncoding() != null) {
+            // the size of the compressed content is not known in advance, it is sent chunked
+            return req.send(Objects.requireNonNull(stream, "parameter stream cannot be null"));
+        }
+        final long contentLength = getContentLength(requestInfo);
+        if (contentLength == 0) {
+            return req.send();
+        }
+        final Buffer serializedContent = getSerializedContent(requestInfo);
+        if (serializedContent != null) {
+            exchange.add(req.end(serializedContent));
+            return req.response();
+        }
+        if (contentLength > 0) {
+            req.putHeader(contentLengthHeaderKey, Long.toString(contentLength));
+        }
+        return req.send(Objects.requireNonNull(stream, "parameter stream cannot be null"));
+    }
+
+    private <ResultType> Future<ResultType> handleStreamingResponse(
+            @Nonnull final HttpClientResponse response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nullable final String claims,
+            @Nonnull final Function<HttpClientResponse, ResultType> bodyReader,
+            @Nonnull final Exchange exchange) {
+        final String responseClaims =
+                this.getClaimsFromResponse(
+                        response.statusCode(), response.headers(), requestInfo, claims);
+        if (responseClaims != null && !responseClaims.isEmpty()) {
+            return readBody(response)
+                    .compose(
+                            ignored -> {
+                                if (requestInfo.content != null
+                                        && requestInfo.content.markSupported()) {
+                                    try {
+                                        requestInfo.content.reset();
+                                    } catch (IOException ex) {
+                                        return Future.failedFuture(new RuntimeException(ex));
+                                    }
+                                }
+                                return this.getStreamingResponse(
+                                        requestInfo,
+                                        errorMappings,
+                                        responseClaims,
+                                        bodyReader,
+                                        exchange);
+                            });
+        }
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            return readBody(response)
+                    .map(
+                            body -> {
+                                this.throwIfFailedResponse(
+                                        response.statusCode(),
+                                        response.headers(),
+                                        body,
+                                        errorMappings);
+                                return null;
+                            });
+        }
+        if (response.statusCode() == 204) {
+            final Future<Void> end = response.end();
+            response.resume();
+            return end.map(v -> null);
+        }
+        return Future.succeededFuture(bodyReader.apply(response));
+    }
+
+    @Nonnull private static InputStream toInputStream(@Nonnull final HttpClientResponse response) {
+        return new ReadStreamInputStream(response, () -> response.request().reset());
+    }
+
+    private void authenticateRequest(
+            @Nonnull final RequestInformation requestInfo, @Nullable final String claims) {
+        this.setBaseUrlForRequestInformation(requestInfo);
+        final Map<String, Object> additionalContext = new HashMap<String, Object>();
+        if (claims != null && !claims.isEmpty()) {
+            additionalContext.put(claimsKey, claims);
+        }
+        this.authProvider.authenticateRequest(requestInfo, additionalContext);
     }
 
     private static final Pattern bearerPattern =
@@ -532,35 +1394,43 @@ public class VertXRequestAdapter implements RequestAdapter {
     private static final Pattern claimsPattern =
             Pattern.compile("\\s?claims=\"([^\"]+)\"", Pattern.CASE_INSENSITIVE);
 
-    private HttpResponse retryCAEResponseIfRequired(
-            @Nonnull final HttpResponse response,
+    private Future<HttpResponse<Buffer>> retryCAEResponseIfRequired(
+            @Nonnull final HttpResponse<Buffer> response,
             @Nonnull final RequestInformation requestInfo,
-            @Nullable final String claims) {
-            final String responseClaims = this.getClaimsFromResponse(response, requestInfo, claims);
-            if (responseClaims != null && !responseClaims.isEmpty()) {
-                if (requestInfo.content != null && requestInfo.content.markSupported()) {
-                    try {
-                        requestInfo.content.reset();
-                    } catch (IOException ex) {
-                        throw new RuntimeException(ex);
-                    }
+            @Nullable final String claims,
+            @Nonnull final Exchange exchange) {
+        final String responseClaims = this.getClaimsFromResponse(response, requestInfo, claims);
+        if (responseClaims != null && !responseClaims.isEmpty()) {
+            if (requestInfo.content != null && requestInfo.content.markSupported()) {
+                try {
+                    requestInfo.content.reset();
+                } catch (IOException ex) {
+                    return Future.failedFuture(new RuntimeException(ex));
                 }
-                closeResponse(true, response);
-                return this.getHttpResponseMessage(
-                        requestInfo, responseClaims);
             }
-            return response;
+            return this.getHttpResponseMessage(requestInfo, responseClaims, exchange);
+        }
+        return Future.succeededFuture(response);
+    }
+
+    String getClaimsFromResponse(
+            @Nonnull final HttpResponse<Buffer> response,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final String claims) {
+        return getClaimsFromResponse(
+                response.statusCode(), response.headers(), requestInfo, claims);
     }
 
     String getClaimsFromResponse(
-            @Nonnull final HttpResponse response,
+            final int statusCode,
+            @Nonnull final MultiMap headers,
             @Nonnull final RequestInformation requestInfo,
             @Nullable final String claims) {
-        if (response.statusCode() == 401
+        if (statusCode == 401
                 && (claims == null || claims.isEmpty())
                 && // we avoid infinite loops and retry only once
                 (requestInfo.content == null || requestInfo.content.markSupported())) {
-            final List<String> authenticateHeader = response.headers().getAll("WWW-Authenticate");
+            final List<String> authenticateHeader = headers.getAll("WWW-Authenticate");
             if (!authenticateHeader.isEmpty()) {
                 String rawHeaderValue = null;
                 for (final String authenticateEntry : authenticateHeader) {
@@ -592,8 +1462,8 @@ public class VertXRequestAdapter implements RequestAdapter {
     /** {@inheritDoc} */
     @SuppressWarnings("unchecked")
     @Nonnull public <T> T convertToNativeRequest(@Nonnull final RequestInformation requestInfo) {
-        try {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        try {
             this.authProvider.authenticateRequest(requestInfo, null);
             return (T) getRequestFromRequestInformation(requestInfo);
         } catch (URISyntaxException | MalformedURLException ex) {
@@ -612,18 +1482,17 @@ public class VertXRequestAdapter implements RequestAdapter {
     protected @Nonnull HttpRequest getRequestFromRequestInformation(
             @Nonnull final RequestInformation requestInfo)
             throws URISyntaxException, MalformedURLException {
-            final URL requestURL = requestInfo.getUri().toURL();
+        final URL requestURL = requestInfo.getUri().toURL();
 
-            final HttpRequest request = client
-                    .request(convert(requestInfo.httpMethod), requestURL.toString())
-                    .followRedirects(true);
+        final HttpRequest request =
+                client.request(convert(requestInfo.httpMethod), requestURL.toString())
+                        .followRedirects(true);
 
-            for (final Map.Entry<String, Set<String>> headerEntry :
-                    requestInfo.headers.entrySet()) {
-                for (final String headerValue : headerEntry.getValue()) {
-                    request.putHeader(headerEntry.getKey(), headerValue);
-                }
+        for (final Map.Entry<String, Set<String>> headerEntry : requestInfo.headers.entrySet()) {
+            for (final String headerValue : headerEntry.getValue()) {
+                request.putHeader(headerEntry.getKey(), headerValue);
             }
-            return request;
+        }
+        return request;
     }
 }
@@ -0,0 +1,147 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import jakarta.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bounds the requests in flight to a server, the ones past the limit wait in a bounded queue and the ones past the
+ * queue are rejected, so a slow server cannot hold all the connections and event loop time of the application.
+ */
+public class Bulkhead {
+    /** The default number of requests in flight */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 100;
+
+    /** The default number of requests waiting for one in flight to complete */
+    public static final int DEFAULT_MAX_QUEUED_REQUESTS = 100;
+
+    private final int maxConcurrentRequests;
+    private final int maxQueuedRequests;
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private int inFlight;
+
+    /** Creates a new bulkhead with the default values */
+    public Bulkhead() {
+        this(DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_MAX_QUEUED_REQUESTS);
+    }
+
+    /**
+     * Creates a new bulkhead
+     * @param maxConcurrentRequests the number of requests in flight.
+     * @param maxQueuedRequests the number of requests waiting for one in flight to complete, 0 to reject them.
+     */
+    public Bulkhead(final int maxConcurrentRequests, final int maxQueuedRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+        }
+        if (maxQueuedRequests < 0) {
+            throw new IllegalArgumentException("maxQueuedRequests cannot be negative");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+    /**
+     * Asks to send a request, every granted request must give its place back with {@link #release()}.
+     * @return a future completed once the request can be sent, failed when the queue is full.
+     */
+    @Nonnull public Future<Void> acquire() {
+        final Waiter waiter;
+        synchronized (this) {
+            if (inFlight < maxConcurrentRequests) {
+                inFlight++;
+                return Future.succeededFuture();
+            }
+            if (queue.size() >= maxQueuedRequests) {
+                return Future.failedFuture(
+                        new RuntimeException(
+                                new RejectedExecutionException(
+                                        "too many requests in flight and queued")));
+            }
+            waiter = new Waiter(Vertx.currentContext());
+            queue.addLast(waiter);
+        }
+        return waiter.promise.future();
+    }
+
+    /**
+     * Removes a request from the queue, its future is failed
+     * @param permit the future returned by {@link #acquire()}.
+     * @param cause the reason the request gave up.
+     * @return false when the request already got its place, it must then be released.
+     */
+    public boolean abandon(@Nonnull final Future<Void> permit, @Nonnull final Throwable cause) {
+        Objects.requireNonNull(permit, "parameter permit cannot be null");
+        Objects.requireNonNull(cause, "parameter cause cannot be null");
+        Waiter removed = null;
+        synchronized (this) {
+            for (final Waiter waiter : queue) {
+                if (waiter.promise.future() == permit) {
+                    removed = waiter;
+                    break;
+                }
+            }
+            if (removed != null) {
+                queue.remove(removed);
+            }
+        }
+        if (removed == null) {
+            return false;
+        }
+        removed.promise.fail(cause);
+        return true;
+    }
+
+    /** Gives the place of a request back, the next queued request takes it */
+    public void release() {
+        final Waiter next;
+        synchronized (this) {
+            next = queue.pollFirst();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        // the place goes to the next request, which resumes on its own context
+        next.grant();
+    }
+
+    /**
+     * Gets the number of requests in flight
+     * @return the number of requests.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of requests waiting for one in flight to complete
+     * @return the number of requests.
+     */
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private static final class Waiter {
+        private final Context context;
+        private final Promise<Void> promise = Promise.promise();
+
+        private Waiter(final Context context) {
+            this.context = context;
+        }
+
+        private void grant() {
+            if (context == null) {
+                promise.complete();
+            } else {
+                context.runOnContext(ignored -> promise.complete());
+            }
+        }
+    }
+}
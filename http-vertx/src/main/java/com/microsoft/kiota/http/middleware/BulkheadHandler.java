@@ -0,0 +1,78 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.vertx.core.Future;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the requests in flight to each server with a {@link Bulkhead}.
+ * A request holds its place until its response is received, the headers only for the streamed responses, a request
+ * cancelled while queued leaves the queue.
+ * Share a handler between the adapters of a client so they share the bulkheads of its servers.
+ */
+public class BulkheadHandler implements Middleware {
+    @Nullable private final Supplier<Bulkhead> bulkheadFactory;
+
+    @Nonnull private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /** Creates a new handler without bulkheads, the requests are not bounded */
+    public BulkheadHandler() {
+        this(null);
+    }
+
+    /**
+     * Creates a new handler
+     * @param bulkheadFactory creates the bulkhead of a server, on its first request, null not to bound the requests.
+     */
+    public BulkheadHandler(@Nullable final Supplier<Bulkhead> bulkheadFactory) {
+        this.bulkheadFactory = bulkheadFactory;
+    }
+
+    /**
+     * Gets the bulkhead of a server
+     * @param origin the origin of the server, as returned by {@link MiddlewareRequest#getOrigin()}.
+     * @return the bulkhead, or null when the requests are not bounded.
+     */
+    @Nullable public Bulkhead getBulkhead(@Nonnull final String origin) {
+        Objects.requireNonNull(origin, "parameter origin cannot be null");
+        if (bulkheadFactory == null) {
+            return null;
+        }
+        return bulkheads.computeIfAbsent(origin, ignored -> bulkheadFactory.get());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        if (bulkheadFactory == null) {
+            return chain.proceed(request);
+        }
+        final Bulkhead bulkhead = getBulkhead(request.getOrigin());
+        final Future<Void> permit = bulkhead.acquire();
+        if (!permit.isComplete()) {
+            // replaced by the canceller of the transport once the request is sent
+            request.onCancel(cause -> bulkhead.abandon(permit, cause));
+        }
+        return permit.compose(
+                ignored -> {
+                    if (request.isCancelled()) {
+                        bulkhead.release();
+                        return Future.failedFuture(
+                                new RuntimeException("the request was cancelled while queued"));
+                    }
+                    final Future<MiddlewareResponse> response;
+                    try {
+                        response = chain.proceed(request);
+                    } catch (RuntimeException ex) {
+                        bulkhead.release();
+                        throw ex;
+                    }
+                    return response.onComplete(ar -> bulkhead.release());
+                });
+    }
+}
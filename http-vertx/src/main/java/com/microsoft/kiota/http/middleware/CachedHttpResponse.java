@@ -0,0 +1,139 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.web.client.HttpResponse;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A buffered response handed to several callers, served from the {@link ResponseCache} or by the
+ * {@link CoalescingHandler}, in the shape the WebClient hands the responses over.
+ * The models deserialized from it can be kept with it, so the body is only parsed once. The kept models are the
+ * same instances for all the callers, so they are read-only: the adapter hands the collections out as unmodifiable
+ * lists, and the callers must not change the models themselves.
+ */
+public final class CachedHttpResponse implements HttpResponse<Buffer> {
+    private final int statusCode;
+    @Nonnull private final MultiMap headers;
+    @Nonnull private final Buffer body;
+    @Nullable private final Map<Object, Object> models;
+
+    CachedHttpResponse(
+            final int statusCode,
+            @Nonnull final MultiMap headers,
+            @Nonnull final Buffer body,
+            @Nullable final Map<Object, Object> models) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+        this.models = models;
+    }
+
+    /**
+     * Whether the models deserialized from the body are kept with it
+     * @return true when the models are shared by all the callers served this response, they must not modify them.
+     */
+    public boolean keepsModels() {
+        return models != null;
+    }
+
+    /** Creates a response sharing the body and models of this one, for another caller. */
+    @Nonnull CachedHttpResponse withHeaders(@Nonnull final MultiMap headers) {
+        return new CachedHttpResponse(statusCode, headers, body, models);
+    }
+
+    /**
+     * Gets the model deserialized from the body, it is only deserialized once when the cache keeps the parsed models
+     * @param key identifies the model, the factory and shape of the expected result.
+     * @param parser deserializes the body, a null result is not kept.
+     * @return the model, shared by all the callers served this response when it is kept.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable public <T> T getModel(@Nonnull final Object key, @Nonnull final Supplier<T> parser) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        Objects.requireNonNull(parser, "parameter parser cannot be null");
+        if (models == null) {
+            return parser.get();
+        }
+        final Object cached = models.get(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        final T parsed = parser.get();
+        if (parsed == null) {
+            return null;
+        }
+        // the first of concurrent parses wins, so all the callers get the same instance
+        final Object previous = models.putIfAbsent(key, parsed);
+        return previous == null ? parsed : (T) previous;
+    }
+
+    @Override
+    public HttpVersion version() {
+        return HttpVersion.HTTP_1_1;
+    }
+
+    @Override
+    public int statusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String statusMessage() {
+        return HttpResponseStatus.valueOf(statusCode).reasonPhrase();
+    }
+
+    @Override
+    public MultiMap headers() {
+        return headers;
+    }
+
+    @Nullable @Override
+    public String getHeader(final String headerName) {
+        return headers.get(headerName);
+    }
+
+    @Override
+    public MultiMap trailers() {
+        return MultiMap.caseInsensitiveMultiMap();
+    }
+
+    @Nullable @Override
+    public String getTrailer(final String trailerName) {
+        return null;
+    }
+
+    @Override
+    public List<String> cookies() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Buffer body() {
+        return body;
+    }
+
+    @Override
+    public Buffer bodyAsBuffer() {
+        return body;
+    }
+
+    @Override
+    public List<String> followedRedirects() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public JsonArray bodyAsJsonArray() {
+        return new JsonArray(body);
+    }
+}
@@ -0,0 +1,217 @@
+package com.microsoft.kiota.http.middleware;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stops sending requests to a server once too many of them fail or are slow, so the callers fail fast instead of
+ * piling up on it. The calls are counted over a fixed window, once the circuit opened a single probe is let through
+ * after the open duration and closes it again when it succeeds. A probe still running past the slow call duration is
+ * slow, so it opens the circuit again without waiting for its outcome.
+ * Every change of state starts a new generation, a request only counts in the generation it was admitted in, so the
+ * requests sent before the circuit opened do not close it while it is probed.
+ * The state is only updated with atomic operations, the requests never wait on a lock.
+ */
+public class CircuitBreaker {
+    /** The default share of the calls which must fail for the circuit to open */
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+
+    /** The default share of the calls which must be slow for the circuit to open, only when all of them are */
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 1.0;
+
+    /** The default duration past which a call is slow */
+    public static final Duration DEFAULT_SLOW_CALL_DURATION = Duration.ofSeconds(60);
+
+    /** The default number of calls in the window before the rates are considered */
+    public static final int DEFAULT_MINIMUM_CALLS = 20;
+
+    /** The default duration of the window the calls are counted over */
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(10);
+
+    /** The default duration the circuit stays open before a probe is sent */
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    /** The states of the circuit */
+    public enum State {
+        /** The requests are sent and their outcome counted */
+        CLOSED,
+        /** The requests fail without being sent */
+        OPEN,
+        /** A single probe is sent, its outcome closes or opens the circuit again */
+        HALF_OPEN
+    }
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallDuration;
+    private final int minimumCalls;
+    private final long window;
+    private final long openDuration;
+
+    private final AtomicReference<Circuit> circuit =
+            new AtomicReference<>(new Circuit(State.CLOSED, 0L, System.nanoTime()));
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    /** Creates a new circuit breaker with the default values */
+    public CircuitBreaker() {
+        this(
+                DEFAULT_FAILURE_RATE_THRESHOLD,
+                DEFAULT_SLOW_CALL_RATE_THRESHOLD,
+                DEFAULT_SLOW_CALL_DURATION,
+                DEFAULT_MINIMUM_CALLS,
+                DEFAULT_WINDOW,
+                DEFAULT_OPEN_DURATION);
+    }
+
+    /**
+     * Creates a new circuit breaker
+     * @param failureRateThreshold the share of the calls which must fail for the circuit to open, between 0 and 1.
+     * @param slowCallRateThreshold the share of the calls which must be slow for the circuit to open, between 0 and 1.
+     * @param slowCallDuration the duration past which a call is slow.
+     * @param minimumCalls the number of calls in the window before the rates are considered.
+     * @param window the duration of the window the calls are counted over.
+     * @param openDuration the duration the circuit stays open before a probe is sent.
+     */
+    public CircuitBreaker(
+            final double failureRateThreshold,
+            final double slowCallRateThreshold,
+            @Nonnull final Duration slowCallDuration,
+            final int minimumCalls,
+            @Nonnull final Duration window,
+            @Nonnull final Duration openDuration) {
+        this.failureRateThreshold = requireRate(failureRateThreshold, "failureRateThreshold");
+        this.slowCallRateThreshold = requireRate(slowCallRateThreshold, "slowCallRateThreshold");
+        this.slowCallDuration =
+                requirePositive(slowCallDuration, "slowCallDuration").toNanos();
+        if (minimumCalls < 1) {
+            throw new IllegalArgumentException("minimumCalls must be positive");
+        }
+        this.minimumCalls = minimumCalls;
+        this.window = requirePositive(window, "window").toNanos();
+        this.openDuration = requirePositive(openDuration, "openDuration").toNanos();
+    }
+
+    /**
+     * Gets the state of the circuit, an open circuit past its open duration is reported as such until a request probes it,
+     * and a half-open circuit whose probe became slow until a request is asked to be sent.
+     * @return the state.
+     */
+    @Nonnull public State getState() {
+        return circuit.get().state;
+    }
+
+    /**
+     * Asks to send a request, every granted request must report its outcome with {@link #onResult(long, boolean, long)}.
+     * @return the token of the request, or -1 when it cannot be sent.
+     */
+    public long tryAcquire() {
+        while (true) {
+            final Circuit current = circuit.get();
+            switch (current.state) {
+                case CLOSED:
+                    return current.generation;
+                case OPEN:
+                    if (System.nanoTime() - current.since < openDuration) {
+                        return -1L;
+                    }
+                    // only the request winning the transition probes the server
+                    final Circuit probed =
+                            new Circuit(State.HALF_OPEN, current.generation + 1, System.nanoTime());
+                    return circuit.compareAndSet(current, probed) ? probed.generation : -1L;
+                default:
+                    if (System.nanoTime() - current.since < slowCallDuration) {
+                        return -1L;
+                    }
+                    // the probe is slow whatever its outcome, which may never come: the circuit is
+                    // opened as of when it became slow, its outcome no longer counts
+                    open(current, current.since + slowCallDuration);
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a request
+     * @param token the token of the request, as returned by {@link #tryAcquire()}.
+     * @param failed whether the request failed.
+     * @param elapsed the time the request took, in nanoseconds.
+     */
+    public void onResult(final long token, final boolean failed, final long elapsed) {
+        final Circuit current = circuit.get();
+        if (token != current.generation) {
+            // admitted before the circuit last changed state
+            return;
+        }
+        final boolean slow = elapsed >= slowCallDuration;
+        final long now = System.nanoTime();
+        if (current.state == State.HALF_OPEN) {
+            if (failed || slow) {
+                open(current, now);
+            } else {
+                // no request of the new generation can be counted before the transition
+                resetWindow(now);
+                circuit.compareAndSet(current, new Circuit(State.CLOSED, token + 1, now));
+            }
+            return;
+        }
+        final long start = windowStart.get();
+        if (now - start >= window && windowStart.compareAndSet(start, now)) {
+            resetWindow(now);
+        }
+        final int total = calls.incrementAndGet();
+        final int failedCalls = failed ? failures.incrementAndGet() : failures.get();
+        final int slowCallCount = slow ? slowCalls.incrementAndGet() : slowCalls.get();
+        if (total >= minimumCalls
+                && (failedCalls >= total * failureRateThreshold
+                        || slowCallCount >= total * slowCallRateThreshold)) {
+            open(current, now);
+        }
+    }
+
+    private void open(@Nonnull final Circuit from, final long now) {
+        circuit.compareAndSet(from, new Circuit(State.OPEN, from.generation + 1, now));
+    }
+
+    private void resetWindow(final long now) {
+        windowStart.set(now);
+        calls.set(0);
+        failures.set(0);
+        slowCalls.set(0);
+    }
+
+    /** A state of the circuit, replaced as a whole on every transition */
+    private static final class Circuit {
+        @Nonnull private final State state;
+        private final long generation;
+        // when the state was entered, in nanoseconds
+        private final long since;
+
+        private Circuit(@Nonnull final State state, final long generation, final long since) {
+            this.state = state;
+            this.generation = generation;
+            this.since = since;
+        }
+    }
+
+    private static double requireRate(final double rate, @Nonnull final String name) {
+        if (!(rate > 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException(name + " must be greater than 0 and at most 1");
+        }
+        return rate;
+    }
+
+    @Nonnull private static Duration requirePositive(
+            @Nonnull final Duration value, @Nonnull final String name) {
+        Objects.requireNonNull(value, "parameter " + name + " cannot be null");
+        if (value.isNegative() || value.isZero()) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+}
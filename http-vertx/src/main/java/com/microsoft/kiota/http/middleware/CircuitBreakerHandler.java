@@ -0,0 +1,83 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.vertx.core.Future;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Fails the requests without sending them while the circuit of their server is open.
+ * Every server gets its own {@link CircuitBreaker}, the transport failures and the 5xx responses count as failures,
+ * each attempt of the retried requests is counted on its own.
+ * Share a handler between the adapters of a client so they share the state of its servers.
+ */
+public class CircuitBreakerHandler implements Middleware {
+    private static final int firstServerError = 500;
+
+    @Nullable private final Supplier<CircuitBreaker> circuitBreakerFactory;
+
+    @Nonnull private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    /** Creates a new handler without circuit breakers, the requests are always sent */
+    public CircuitBreakerHandler() {
+        this(null);
+    }
+
+    /**
+     * Creates a new handler
+     * @param circuitBreakerFactory creates the circuit breaker of a server, on its first request, null to always send
+     * the requests.
+     */
+    public CircuitBreakerHandler(@Nullable final Supplier<CircuitBreaker> circuitBreakerFactory) {
+        this.circuitBreakerFactory = circuitBreakerFactory;
+    }
+
+    /**
+     * Gets the circuit breaker of a server
+     * @param origin the origin of the server, as returned by {@link MiddlewareRequest#getOrigin()}.
+     * @return the circuit breaker, or null when the requests are always sent.
+     */
+    @Nullable public CircuitBreaker getCircuitBreaker(@Nonnull final String origin) {
+        Objects.requireNonNull(origin, "parameter origin cannot be null");
+        if (circuitBreakerFactory == null) {
+            return null;
+        }
+        return circuitBreakers.computeIfAbsent(origin, ignored -> circuitBreakerFactory.get());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        if (circuitBreakerFactory == null) {
+            return chain.proceed(request);
+        }
+        final String origin = request.getOrigin();
+        final CircuitBreaker circuitBreaker = getCircuitBreaker(origin);
+        final long token = circuitBreaker.tryAcquire();
+        if (token < 0) {
+            return Future.failedFuture(
+                    new RuntimeException(
+                            new RejectedExecutionException(
+                                    "the circuit breaker of " + origin + " is open")));
+        }
+        final long start = System.nanoTime();
+        final Future<MiddlewareResponse> response;
+        try {
+            response = chain.proceed(request);
+        } catch (RuntimeException ex) {
+            circuitBreaker.onResult(token, true, System.nanoTime() - start);
+            throw ex;
+        }
+        return response.onComplete(
+                ar ->
+                        circuitBreaker.onResult(
+                                token,
+                                ar.failed() || ar.result().getStatusCode() >= firstServerError,
+                                System.nanoTime() - start));
+    }
+}
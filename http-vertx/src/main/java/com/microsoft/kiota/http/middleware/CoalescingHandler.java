@@ -0,0 +1,154 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.CoalescingOption;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.HttpResponse;
+import jakarta.annotation.Nonnull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends a single request for the identical GET requests in flight at the same time, the ones with the same uri and
+ * values of the configured headers, and hands its response to all of them.
+ * The body is buffered once and the models deserialized from it are shared by the callers, which must not modify
+ * them. The streamed responses are not coalesced.
+ * A caller whose request was sent by another one, cancelled by its own deadline, sends its request itself.
+ */
+public class CoalescingHandler implements Middleware {
+    @Nonnull private final CoalescingOption options;
+
+    @Nonnull private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    /** Creates a new handler with the default options, the requests are not coalesced */
+    public CoalescingHandler() {
+        this(new CoalescingOption());
+    }
+
+    /**
+     * Creates a new handler
+     * @param options the options used when the request does not set its own.
+     */
+    public CoalescingHandler(@Nonnull final CoalescingOption options) {
+        this.options = Objects.requireNonNull(options, "parameter options cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        final CoalescingOption requestOptions = request.getRequestOption(CoalescingOption.class);
+        final CoalescingOption option = requestOptions == null ? options : requestOptions;
+        if (!option.getEnabled()
+                || request.isStreamed()
+                || !HttpMethod.GET.equals(request.getMethod())) {
+            return chain.proceed(request);
+        }
+        final String key = getKey(request, option);
+        final Promise<MiddlewareResponse> result = Promise.promise();
+        final Flight flight = new Flight(request, result.future());
+        final Flight inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            return follow(inFlight, request, chain);
+        }
+        final Future<MiddlewareResponse> response;
+        try {
+            response = chain.proceed(request);
+        } catch (RuntimeException ex) {
+            flights.remove(key, flight);
+            throw ex;
+        }
+        response.onComplete(
+                ar -> {
+                    // the callers arriving from now on send a new request
+                    flights.remove(key, flight);
+                    if (ar.failed()) {
+                        result.fail(ar.cause());
+                    } else {
+                        result.complete(share(ar.result()));
+                    }
+                });
+        return result.future();
+    }
+
+    @Nonnull private static Future<MiddlewareResponse> follow(
+            @Nonnull final Flight flight,
+            @Nonnull final MiddlewareRequest request,
+            @Nonnull final Chain chain) {
+        return flight.response.transform(
+                ar -> {
+                    if (ar.failed()) {
+                        return flight.request.isCancelled()
+                                ? chain.proceed(request)
+                                : Future.failedFuture(ar.cause());
+                    }
+                    final MiddlewareResponse response = ar.result();
+                    final CachedHttpResponse shared = response.unwrap(CachedHttpResponse.class);
+                    if (shared == null) {
+                        return chain.proceed(request);
+                    }
+                    final MultiMap headers =
+                            MultiMap.caseInsensitiveMultiMap().addAll(response.getHeaders());
+                    return Future.succeededFuture(
+                            new MiddlewareResponse(
+                                    request,
+                                    response.getStatusCode(),
+                                    headers,
+                                    shared.withHeaders(headers),
+                                    Future::succeededFuture));
+                });
+    }
+
+    /** Wraps the buffered response, so its body and models can be handed to the other callers. */
+    @Nonnull private static MiddlewareResponse share(@Nonnull final MiddlewareResponse response) {
+        @SuppressWarnings("unchecked")
+        final HttpResponse<Buffer> buffered = response.unwrap(HttpResponse.class);
+        if (buffered == null
+                || buffered instanceof CachedHttpResponse
+                        && ((CachedHttpResponse) buffered).keepsModels()) {
+            return response;
+        }
+        final Buffer body = buffered.bodyAsBuffer();
+        return new MiddlewareResponse(
+                response.getRequest(),
+                response.getStatusCode(),
+                response.getHeaders(),
+                new CachedHttpResponse(
+                        response.getStatusCode(),
+                        response.getHeaders(),
+                        body == null ? Buffer.buffer() : body,
+                        new ConcurrentHashMap<>()),
+                response::discard);
+    }
+
+    @Nonnull private static String getKey(
+            @Nonnull final MiddlewareRequest request, @Nonnull final CoalescingOption option) {
+        final StringBuilder key = new StringBuilder(request.getUri());
+        // sorted, so the key does not depend on the iteration order of the set
+        for (final String name : new TreeSet<>(option.getHeaderNames())) {
+            key.append('\n').append(name).append(": ");
+            final String value = request.getHeaders().get(name);
+            if (value != null) {
+                key.append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    private static final class Flight {
+        @Nonnull private final MiddlewareRequest request;
+        @Nonnull private final Future<MiddlewareResponse> response;
+
+        private Flight(
+                @Nonnull final MiddlewareRequest request,
+                @Nonnull final Future<MiddlewareResponse> response) {
+            this.request = request;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.CompressionHandlerOption;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import jakarta.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Compresses the request bodies while they are sent.
+ * When the service rejects the encoding with a 415, the request is sent again uncompressed if its content can be rewound.
+ */
+public class CompressionHandler implements Middleware {
+    private static final String contentEncodingHeaderKey = "Content-Encoding";
+    private static final String contentLengthHeaderKey = "Content-Length";
+    private static final int unsupportedMediaType = 415;
+    @Nonnull private final CompressionHandlerOption options;
+
+    /** Creates a new handler with the default options, the request bodies are not compressed */
+    public CompressionHandler() {
+        this(new CompressionHandlerOption());
+    }
+
+    /**
+     * Creates a new handler
+     * @param options the options used when the request does not set its own.
+     */
+    public CompressionHandler(@Nonnull final CompressionHandlerOption options) {
+        this.options = Objects.requireNonNull(options, "parameter options cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        final CompressionHandlerOption requestOptions =
+                request.getRequestOption(CompressionHandlerOption.class);
+        final CompressionHandlerOption option = requestOptions == null ? options : requestOptions;
+        final InputStream content = request.getRequestInformation().content;
+        final MultiMap headers = request.getHeaders();
+        // a Content-Encoding header or encoding means the content was encoded by the caller or on a previous attempt
+        if (!option.getEnabled()
+                || !option.getEncoding().isAvailable()
+                || content == null
+                || request.getContentEncoding() != null
+                || headers.contains(contentEncodingHeaderKey)
+                || getContentLength(headers, content) < option.getMinimumSize()) {
+            return chain.proceed(request);
+        }
+        final String contentLength = headers.get(contentLengthHeaderKey);
+        headers.set(contentEncodingHeaderKey, option.getEncoding().getToken());
+        headers.remove(contentLengthHeaderKey);
+        request.setContentEncoding(option.getEncoding());
+        return chain.proceed(request)
+                .compose(
+                        response -> {
+                            if (response.getStatusCode() != unsupportedMediaType
+                                    || !content.markSupported()) {
+                                return Future.succeededFuture(response);
+                            }
+                            return response.discard()
+                                    .compose(
+                                            ignored -> {
+                                                try {
+                                                    content.reset();
+                                                } catch (IOException ex) {
+                                                    return Future.failedFuture(new RuntimeException(ex));
+                                                }
+                                                headers.remove(contentEncodingHeaderKey);
+                                                if (contentLength != null) {
+                                                    headers.set(contentLengthHeaderKey, contentLength);
+                                                }
+                                                request.setContentEncoding(null);
+                                                return chain.proceed(request);
+                                            });
+                        });
+    }
+
+    /**
+     * Gets the size of the content, or Long.MAX_VALUE when it is not known before it is read.
+     * A malformed Content-Length header is ignored, the server is left to reject it when the content is not compressed.
+     */
+    private static long getContentLength(
+            @Nonnull final MultiMap headers, @Nonnull final InputStream content) {
+        final String declaredLength = headers.get(contentLengthHeaderKey);
+        if (declaredLength != null) {
+            try {
+                return Long.parseLong(declaredLength);
+            } catch (NumberFormatException ex) {
+                // falls back to the size of the content
+            }
+        }
+        if (content instanceof ByteArrayInputStream || content instanceof ByteBufInputStream) {
+            // in memory payloads, such as the serialized models, report their exact remaining size
+            try {
+                return content.available();
+            } catch (IOException ex) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
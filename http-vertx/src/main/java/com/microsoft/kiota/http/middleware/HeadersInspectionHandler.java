@@ -0,0 +1,55 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.Headers;
+import com.microsoft.kiota.http.middleware.options.HeadersInspectionOption;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+
+/** Copies the headers of the requests and responses to the {@link HeadersInspectionOption}, only when asked to. */
+public class HeadersInspectionHandler implements Middleware {
+    @Nonnull private final HeadersInspectionOption options;
+
+    /** Creates a new handler with the default options */
+    public HeadersInspectionHandler() {
+        this(new HeadersInspectionOption());
+    }
+
+    /**
+     * Creates a new handler
+     * @param options the options used when the request does not set its own.
+     */
+    public HeadersInspectionHandler(@Nonnull final HeadersInspectionOption options) {
+        this.options = Objects.requireNonNull(options, "parameter options cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        final HeadersInspectionOption requestOptions =
+                request.getRequestOption(HeadersInspectionOption.class);
+        final HeadersInspectionOption option = requestOptions == null ? options : requestOptions;
+        if (option.getInspectRequestHeaders()) {
+            copy(request.getHeaders(), option.getRequestHeaders());
+        }
+        if (!option.getInspectResponseHeaders()) {
+            return chain.proceed(request);
+        }
+        return chain.proceed(request)
+                .map(
+                        response -> {
+                            copy(response.getHeaders(), option.getResponseHeaders());
+                            return response;
+                        });
+    }
+
+    private static void copy(@Nonnull final MultiMap from, @Nonnull final Headers to) {
+        for (final String name : from.names()) {
+            for (final String value : from.getAll(name)) {
+                to.add(name, value);
+            }
+        }
+    }
+}
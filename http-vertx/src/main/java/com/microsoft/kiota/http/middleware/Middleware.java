@@ -0,0 +1,30 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.vertx.core.Future;
+import jakarta.annotation.Nonnull;
+
+/**
+ * A step of the pipeline the VertXRequestAdapter sends its requests through.
+ * Middlewares run on the event loop, they must not block.
+ */
+@FunctionalInterface
+public interface Middleware {
+    /**
+     * Handles the request, usually by updating it before handing it over to the rest of the chain.
+     * @param request the request to send.
+     * @param chain the rest of the pipeline, ending with the transport.
+     * @return a future completed with the response.
+     */
+    @Nonnull Future<MiddlewareResponse> handle(@Nonnull MiddlewareRequest request, @Nonnull Chain chain);
+
+    /** The rest of the pipeline after a middleware. */
+    @FunctionalInterface
+    interface Chain {
+        /**
+         * Sends the request through the remaining middlewares and the transport.
+         * @param request the request to send.
+         * @return a future completed with the response.
+         */
+        @Nonnull Future<MiddlewareResponse> proceed(@Nonnull MiddlewareRequest request);
+    }
+}
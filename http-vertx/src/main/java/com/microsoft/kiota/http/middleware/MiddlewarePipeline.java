@@ -0,0 +1,71 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.vertx.core.Future;
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/** Runs the requests through a fixed list of middlewares, the first one sees the request first. */
+public class MiddlewarePipeline {
+    @Nonnull private final Middleware[] middlewares;
+
+    /**
+     * Creates a new pipeline
+     * @param middlewares the middlewares, in the order they handle the requests.
+     */
+    public MiddlewarePipeline(@Nonnull final List<? extends Middleware> middlewares) {
+        Objects.requireNonNull(middlewares, "parameter middlewares cannot be null");
+        this.middlewares = middlewares.toArray(new Middleware[0]);
+    }
+
+    /**
+     * Creates the default middlewares of the request adapters.
+     * @return a new list of the default middlewares.
+     */
+    @Nonnull public static List<Middleware> createDefaultMiddlewares() {
+        final List<Middleware> result = new ArrayList<>();
+        result.add(new TimeoutHandler());
+        result.add(new UrlReplaceHandler());
+        result.add(new ResponseCacheHandler());
+        result.add(new CoalescingHandler());
+        result.add(new RetryHandler());
+        result.add(new RateLimitHandler());
+        result.add(new BulkheadHandler());
+        // innermost, so the time spent waiting on the client does not count as the latency of the server
+        result.add(new CircuitBreakerHandler());
+        result.add(new ParametersNameDecodingHandler());
+        result.add(new UserAgentHandler());
+        result.add(new CompressionHandler());
+        result.add(new HeadersInspectionHandler());
+        return result;
+    }
+
+    /**
+     * Sends the request through the middlewares and then the transport.
+     * @param request the request to send.
+     * @param transport sends the request over the wire once all the middlewares handled it.
+     * @return a future completed with the response.
+     */
+    @Nonnull public Future<MiddlewareResponse> send(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Middleware.Chain transport) {
+        Objects.requireNonNull(request, "parameter request cannot be null");
+        Objects.requireNonNull(transport, "parameter transport cannot be null");
+        return proceed(0, request, transport);
+    }
+
+    @Nonnull private Future<MiddlewareResponse> proceed(
+            final int index,
+            @Nonnull final MiddlewareRequest request,
+            @Nonnull final Middleware.Chain transport) {
+        if (index == middlewares.length) {
+            return transport.proceed(request);
+        }
+        try {
+            return middlewares[index].handle(
+                    request, next -> proceed(index + 1, next, transport));
+        } catch (RuntimeException ex) {
+            return Future.failedFuture(ex);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.options.ContentEncoding;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/** A request going through the middleware pipeline, its headers are the ones sent over the wire. */
+public class MiddlewareRequest {
+    @Nonnull private HttpMethod method;
+    @Nonnull private String uri;
+    @Nonnull private final MultiMap headers;
+    @Nonnull private final RequestInformation requestInformation;
+    @Nullable private ContentEncoding contentEncoding;
+    private boolean streamed;
+    private long readTimeout;
+    private boolean hasDeadline;
+    private long deadline;
+    @Nullable private Consumer<Throwable> canceller;
+    @Nullable private Throwable cancellation;
+
+    /**
+     * Creates a new request
+     * @param method the http method.
+     * @param uri the absolute uri of the request.
+     * @param headers the headers to send.
+     * @param requestInformation the request being sent, holding its options and content.
+     */
+    public MiddlewareRequest(
+            @Nonnull final HttpMethod method,
+            @Nonnull final String uri,
+            @Nonnull final MultiMap headers,
+            @Nonnull final RequestInformation requestInformation) {
+        this.method = Objects.requireNonNull(method, "parameter method cannot be null");
+        this.uri = Objects.requireNonNull(uri, "parameter uri cannot be null");
+        this.headers = Objects.requireNonNull(headers, "parameter headers cannot be null");
+        this.requestInformation =
+                Objects.requireNonNull(
+                        requestInformation, "parameter requestInformation cannot be null");
+    }
+
+    @Nonnull public HttpMethod getMethod() {
+        return method;
+    }
+
+    public void setMethod(@Nonnull final HttpMethod method) {
+        this.method = Objects.requireNonNull(method, "parameter method cannot be null");
+    }
+
+    @Nonnull public String getUri() {
+        return uri;
+    }
+
+    public void setUri(@Nonnull final String uri) {
+        this.uri = Objects.requireNonNull(uri, "parameter uri cannot be null");
+    }
+
+    /**
+     * Gets the server the request is sent to, the scheme, host and port of its uri
+     * @return the origin, as in {@code https://example.com:443}.
+     */
+    @Nonnull public String getOrigin() {
+        final URI parsed = URI.create(uri);
+        final String scheme =
+                parsed.getScheme() == null ? "http" : parsed.getScheme().toLowerCase(Locale.ROOT);
+        final int port =
+                parsed.getPort() != -1 ? parsed.getPort() : "https".equals(scheme) ? 443 : 80;
+        return scheme + "://" + parsed.getHost() + ":" + port;
+    }
+
+    @Nonnull public MultiMap getHeaders() {
+        return headers;
+    }
+
+    @Nonnull public RequestInformation getRequestInformation() {
+        return requestInformation;
+    }
+
+    /**
+     * Gets the encoding the content is compressed with while it is sent
+     * @return the encoding, or null when the content is sent as is.
+     */
+    @Nullable public ContentEncoding getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Sets the encoding the content is compressed with while it is sent, the Content-Encoding header must match it
+     * @param contentEncoding the encoding, or null to send the content as is.
+     */
+    public void setContentEncoding(@Nullable final ContentEncoding contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * Whether the body of the response is handed over as it is received, rather than buffered by the transport
+     * @return true for the streamed responses.
+     */
+    public boolean isStreamed() {
+        return streamed;
+    }
+
+    public void setStreamed(final boolean streamed) {
+        this.streamed = streamed;
+    }
+
+    /**
+     * Gets the time the transport waits for data before the request is closed, bounded by the deadline
+     * @return the timeout in milliseconds, 0 when there is none.
+     */
+    public long getReadTimeout() {
+        if (!hasDeadline) {
+            return readTimeout;
+        }
+        final long remaining = Math.max(getRemainingTime(), 1L);
+        return readTimeout == 0L ? remaining : Math.min(readTimeout, remaining);
+    }
+
+    /**
+     * Sets the time the transport waits for data before the request is closed
+     * @param readTimeout the timeout in milliseconds, 0 for none.
+     */
+    public void setReadTimeout(final long readTimeout) {
+        if (readTimeout < 0L) {
+            throw new IllegalArgumentException("readTimeout cannot be negative");
+        }
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Sets the time left for the request to complete, the attempts and the waits between them included
+     * @param timeout the timeout in milliseconds.
+     */
+    public void setDeadline(final long timeout) {
+        this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        this.hasDeadline = true;
+    }
+
+    /**
+     * Gets the time left before the deadline of the request
+     * @return the time in milliseconds, 0 once the deadline passed, Long.MAX_VALUE when there is no deadline.
+     */
+    public long getRemainingTime() {
+        if (!hasDeadline) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 0L);
+    }
+
+    /**
+     * Sets how the request being sent is aborted, called right away when the request was already cancelled
+     * @param canceller aborts the exchange with the given cause, null once there is nothing to abort.
+     */
+    public void onCancel(@Nullable final Consumer<Throwable> canceller) {
+        final Throwable cause;
+        synchronized (this) {
+            this.canceller = canceller;
+            cause = cancellation;
+        }
+        if (cause != null && canceller != null) {
+            canceller.accept(cause);
+        }
+    }
+
+    /**
+     * Aborts the request being sent, and the ones sent afterwards
+     * @param cause the reason of the cancellation.
+     */
+    public void cancel(@Nonnull final Throwable cause) {
+        Objects.requireNonNull(cause, "parameter cause cannot be null");
+        final Consumer<Throwable> toCall;
+        synchronized (this) {
+            if (cancellation != null) {
+                return;
+            }
+            cancellation = cause;
+            toCall = canceller;
+        }
+        if (toCall != null) {
+            toCall.accept(cause);
+        }
+    }
+
+    /**
+     * Whether the request was cancelled
+     * @return true once {@link #cancel(Throwable)} was called.
+     */
+    public synchronized boolean isCancelled() {
+        return cancellation != null;
+    }
+
+    /**
+     * Gets the option of the given type set on the request, it overrides the default of the middleware.
+     * @param type the type of the option.
+     * @return the option, or null when it is not set on the request.
+     */
+    @Nullable public <T extends RequestOption> T getRequestOption(@Nonnull final Class<T> type) {
+        Objects.requireNonNull(type, "parameter type cannot be null");
+        for (final RequestOption option : requestInformation.getRequestOptions()) {
+            if (type.isInstance(option)) {
+                return type.cast(option);
+            }
+        }
+        return null;
+    }
+}
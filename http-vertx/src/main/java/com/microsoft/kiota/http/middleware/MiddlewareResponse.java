@@ -0,0 +1,67 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/** The response of a request sent through the middleware pipeline, the body is left to the adapter. */
+public class MiddlewareResponse {
+    @Nonnull private final MiddlewareRequest request;
+    private final int statusCode;
+    @Nonnull private final MultiMap headers;
+    @Nullable private final Object response;
+    @Nonnull private final Supplier<Future<Void>> discard;
+
+    /**
+     * Creates a new response
+     * @param request the request the response was received for.
+     * @param statusCode the status code.
+     * @param headers the response headers.
+     * @param response the response of the underlying client.
+     * @param discard drops the body of the response, for the middlewares sending the request again.
+     */
+    public MiddlewareResponse(
+            @Nonnull final MiddlewareRequest request,
+            final int statusCode,
+            @Nonnull final MultiMap headers,
+            @Nullable final Object response,
+            @Nonnull final Supplier<Future<Void>> discard) {
+        this.request = Objects.requireNonNull(request, "parameter request cannot be null");
+        this.statusCode = statusCode;
+        this.headers = Objects.requireNonNull(headers, "parameter headers cannot be null");
+        this.response = response;
+        this.discard = Objects.requireNonNull(discard, "parameter discard cannot be null");
+    }
+
+    @Nonnull public MiddlewareRequest getRequest() {
+        return request;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    @Nonnull public MultiMap getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets the response of the underlying client.
+     * @param type the expected type of the response.
+     * @return the response, or null when it is not of the expected type.
+     */
+    @Nullable public <T> T unwrap(@Nonnull final Class<T> type) {
+        return type.isInstance(response) ? type.cast(response) : null;
+    }
+
+    /**
+     * Drops the body of the response, it must be called before sending the request again.
+     * @return a future completed once the body is dropped.
+     */
+    @Nonnull public Future<Void> discard() {
+        return discard.get();
+    }
+}
@@ -0,0 +1,118 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.ParametersNameDecodingOption;
+import io.vertx.core.Future;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * Decodes the special characters of the query parameter names, the url templates encode them while some services expect them verbatim.
+ * The values of the parameters are left untouched.
+ */
+public class ParametersNameDecodingHandler implements Middleware {
+    @Nonnull private final ParametersNameDecodingOption options;
+
+    /** Creates a new handler with the default options */
+    public ParametersNameDecodingHandler() {
+        this(new ParametersNameDecodingOption());
+    }
+
+    /**
+     * Creates a new handler
+     * @param options the options used when the request does not set its own.
+     */
+    public ParametersNameDecodingHandler(@Nonnull final ParametersNameDecodingOption options) {
+        this.options = Objects.requireNonNull(options, "parameter options cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        final ParametersNameDecodingOption requestOptions =
+                request.getRequestOption(ParametersNameDecodingOption.class);
+        final ParametersNameDecodingOption option =
+                requestOptions == null ? options : requestOptions;
+        if (option.enable && option.parametersToDecode.length > 0) {
+            final String uri = request.getUri();
+            final int queryStart = uri.indexOf('?');
+            if (queryStart >= 0 && uri.indexOf('%', queryStart) >= 0) {
+                final int fragmentStart = uri.indexOf('#', queryStart);
+                final int queryEnd = fragmentStart < 0 ? uri.length() : fragmentStart;
+                request.setUri(
+                        uri.substring(0, queryStart + 1)
+                                + decodeQueryParameters(
+                                        uri.substring(queryStart + 1, queryEnd),
+                                        option.parametersToDecode)
+                                + uri.substring(queryEnd));
+            }
+        }
+        return chain.proceed(request);
+    }
+
+    /**
+     * Decodes the given characters in the names of the query parameters.
+     * @param query the query, without the leading question mark.
+     * @param charactersToDecode the characters to decode.
+     * @return the query with the names decoded.
+     */
+    @Nonnull public static String decodeQueryParameters(
+            @Nonnull final String query, @Nonnull final char[] charactersToDecode) {
+        final StringBuilder result = new StringBuilder(query.length());
+        int parameterStart = 0;
+        while (parameterStart <= query.length()) {
+            int parameterEnd = query.indexOf('&', parameterStart);
+            if (parameterEnd < 0) {
+                parameterEnd = query.length();
+            }
+            int nameEnd = query.indexOf('=', parameterStart);
+            if (nameEnd < 0 || nameEnd > parameterEnd) {
+                nameEnd = parameterEnd;
+            }
+            if (parameterStart > 0) {
+                result.append('&');
+            }
+            decodeName(query, parameterStart, nameEnd, charactersToDecode, result);
+            result.append(query, nameEnd, parameterEnd);
+            parameterStart = parameterEnd + 1;
+        }
+        return result.toString();
+    }
+
+    private static void decodeName(
+            @Nonnull final String query,
+            final int start,
+            final int end,
+            @Nonnull final char[] charactersToDecode,
+            @Nonnull final StringBuilder result) {
+        int i = start;
+        while (i < end) {
+            final char c = query.charAt(i);
+            if (c == '%' && i + 2 < end) {
+                final int decoded = decodeHex(query.charAt(i + 1), query.charAt(i + 2));
+                if (decoded >= 0 && shouldDecode((char) decoded, charactersToDecode)) {
+                    result.append((char) decoded);
+                    i += 3;
+                    continue;
+                }
+            }
+            result.append(c);
+            i++;
+        }
+    }
+
+    private static boolean shouldDecode(final char c, @Nonnull final char[] charactersToDecode) {
+        for (final char candidate : charactersToDecode) {
+            if (candidate == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int decodeHex(final char high, final char low) {
+        final int h = Character.digit(high, 16);
+        final int l = Character.digit(low, 16);
+        return h < 0 || l < 0 ? -1 : (h << 4) | l;
+    }
+}
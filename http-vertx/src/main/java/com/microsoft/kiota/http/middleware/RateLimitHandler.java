@@ -0,0 +1,97 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.RateLimitOption;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Paces the requests sent to a server with a {@link RateLimiter}, so a rate limited service is not answered with
+ * throttling responses and retries.
+ * The requests waiting for a permit are deferred on the Vert.x timer, the ones which would wait past their deadline or
+ * the maximum wait fail right away.
+ * The buckets are shared by all the handlers of the JVM, one per server and rate, so the requests paced with other
+ * options do not take the permits of each other. A request cancelled while waiting gives its permit back.
+ */
+public class RateLimitHandler implements Middleware {
+    private static final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    @Nonnull private final RateLimitOption options;
+
+    /** Creates a new handler with the default options, the requests are not paced */
+    public RateLimitHandler() {
+        this(new RateLimitOption());
+    }
+
+    /**
+     * Creates a new handler
+     * @param options the options used when the request does not set its own.
+     */
+    public RateLimitHandler(@Nonnull final RateLimitOption options) {
+        this.options = Objects.requireNonNull(options, "parameter options cannot be null");
+    }
+
+    /**
+     * Gets the rate limiter shared by the requests sent to a server with the given rate
+     * @param origin the origin of the server, as returned by {@link MiddlewareRequest#getOrigin()}.
+     * @param option the option the requests are paced with.
+     * @return the rate limiter, or null when no request was paced with this option.
+     */
+    @Nullable public static RateLimiter getRateLimiter(
+            @Nonnull final String origin, @Nonnull final RateLimitOption option) {
+        Objects.requireNonNull(origin, "parameter origin cannot be null");
+        Objects.requireNonNull(option, "parameter option cannot be null");
+        return rateLimiters.get(getKey(origin, option));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        final RateLimitOption requestOptions = request.getRequestOption(RateLimitOption.class);
+        final RateLimitOption option = requestOptions == null ? options : requestOptions;
+        if (option.getPermitsPerSecond() == 0.0) {
+            return chain.proceed(request);
+        }
+        final String origin = request.getOrigin();
+        final RateLimiter rateLimiter =
+                rateLimiters.computeIfAbsent(
+                        getKey(origin, option),
+                        ignored -> new RateLimiter(option.getPermitsPerSecond(), option.getBurst()));
+        final long maxWait =
+                option.getMaxWait() == null
+                        ? request.getRemainingTime()
+                        : Math.min(option.getMaxWait().toMillis(), request.getRemainingTime());
+        final long wait = rateLimiter.tryReserve(maxWait);
+        if (wait < 0L) {
+            return Future.failedFuture(
+                    new RuntimeException(
+                            new RejectedExecutionException(
+                                    "the rate limit of " + origin + " would be exceeded")));
+        }
+        if (wait == 0L) {
+            return chain.proceed(request);
+        }
+        final Promise<Void> permit = Promise.promise();
+        final Runnable timer = Timers.schedule(wait, permit::tryComplete);
+        // replaced by the canceller of the transport once the request is sent
+        request.onCancel(
+                cause -> {
+                    if (permit.tryFail(cause)) {
+                        timer.run();
+                        rateLimiter.release();
+                    }
+                });
+        return permit.future().compose(ignored -> chain.proceed(request));
+    }
+
+    @Nonnull private static String getKey(
+            @Nonnull final String origin, @Nonnull final RateLimitOption option) {
+        return origin + " " + option.getPermitsPerSecond() + "/" + option.getBurst();
+    }
+}
@@ -0,0 +1,71 @@
+package com.microsoft.kiota.http.middleware;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket pacing the requests sent to a server, refilled at a steady rate up to the burst size.
+ * The permits are reserved ahead, the caller is told how long to wait instead of being blocked, and the bucket is
+ * only updated with atomic operations.
+ */
+public class RateLimiter {
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long interval;
+    private final long tolerance;
+    // the time at which the bucket is full again, as in the generic cell rate algorithm
+    private final AtomicLong fullAt = new AtomicLong(System.nanoTime());
+
+    /**
+     * Creates a new rate limiter, its bucket is full
+     * @param permitsPerSecond the rate the bucket is refilled at.
+     * @param burst the size of the bucket, the number of requests which can be sent at once.
+     */
+    public RateLimiter(final double permitsPerSecond, final int burst) {
+        if (!(permitsPerSecond > 0.0) || Double.isInfinite(permitsPerSecond)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.interval = Math.max((long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond), 1L);
+        this.tolerance = interval * burst;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Reserves a permit, unless it would only be available past the given wait
+     * @param maxWait the longest the caller can wait, in milliseconds.
+     * @return the time to wait before sending the request in milliseconds, or -1 when no permit was reserved.
+     */
+    public long tryReserve(final long maxWait) {
+        while (true) {
+            final long now = System.nanoTime();
+            final long current = fullAt.get();
+            final long next = Math.max(current, now) + interval;
+            final long wait = Math.max(next - tolerance - now, 0L);
+            if (wait > TimeUnit.MILLISECONDS.toNanos(maxWait)) {
+                return -1L;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                // rounded up, so the request is never sent before its permit is available
+                return (wait + TimeUnit.MILLISECONDS.toNanos(1) - 1) / TimeUnit.MILLISECONDS.toNanos(1);
+            }
+        }
+    }
+
+    /** Gives back a permit reserved by a request which was not sent, the next request can take it */
+    public void release() {
+        // the bucket is never filled past its size, the reservations start from now at the earliest
+        fullAt.addAndGet(-interval);
+    }
+}
@@ -0,0 +1,171 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Holds the responses of the GET requests in memory, one per uri, the least recently used ones are evicted once the
+ * bodies and headers take more than the maximum size.
+ * Share a cache between the adapters calling the same service with the same credentials.
+ */
+public class ResponseCache {
+    /** The default size of the cache, in bytes */
+    public static final long DEFAULT_MAX_SIZE = 10L * 1024 * 1024;
+
+    /** The default size past which a response is not cached, in bytes */
+    public static final long DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+    private final long maxSize;
+    private final long maxEntrySize;
+    private final boolean parsedModels;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /** Creates a new cache with the default sizes */
+    public ResponseCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_ENTRY_SIZE);
+    }
+
+    /**
+     * Creates a new cache
+     * @param maxSize the size of the cache, in bytes.
+     * @param maxEntrySize the size past which a response is not cached, in bytes.
+     */
+    public ResponseCache(final long maxSize, final long maxEntrySize) {
+        this(maxSize, maxEntrySize, false);
+    }
+
+    /**
+     * Creates a new cache
+     * @param maxSize the size of the cache, in bytes.
+     * @param maxEntrySize the size past which a response is not cached, in bytes.
+     * @param parsedModels whether the models deserialized from a cached response are kept with it, they are then
+     *     shared by all the callers served the response and must not be modified, the collections are read-only.
+     */
+    public ResponseCache(final long maxSize, final long maxEntrySize, final boolean parsedModels) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (maxEntrySize < 1 || maxEntrySize > maxSize) {
+            throw new IllegalArgumentException("maxEntrySize must be positive and at most maxSize");
+        }
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+        this.parsedModels = parsedModels;
+    }
+
+    /**
+     * Whether the models deserialized from a cached response are kept with it
+     * @return true when the models are shared by the callers served the same response.
+     */
+    public boolean isCachingParsedModels() {
+        return parsedModels;
+    }
+
+    /**
+     * Gets the number of responses in the cache
+     * @return the number of responses.
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the size of the responses in the cache
+     * @return the size in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /** Removes all the responses */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    @Nullable synchronized Entry get(@Nonnull final String uri) {
+        return entries.get(uri);
+    }
+
+    /**
+     * Stores a response, replacing the previous one of the uri
+     * @return false when the response is too large to be cached, the previous one is removed.
+     */
+    synchronized boolean put(@Nonnull final String uri, @Nonnull final Entry entry) {
+        remove(uri);
+        if (entry.size > maxEntrySize) {
+            return false;
+        }
+        entries.put(uri, entry);
+        size += entry.size;
+        final Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            size -= eldest.next().getValue().size;
+            eldest.remove();
+        }
+        return true;
+    }
+
+    synchronized void remove(@Nonnull final String uri) {
+        final Entry removed = entries.remove(uri);
+        if (removed != null) {
+            size -= removed.size;
+        }
+    }
+
+    /** A cached response, immutable, revalidating it stores a new entry. */
+    static final class Entry {
+        final int statusCode;
+        @Nonnull final MultiMap headers;
+        @Nonnull final Buffer body;
+        // the request headers the response varies on, with their values when it was received
+        @Nonnull final List<Map.Entry<String, String>> variant;
+        // System.nanoTime past which the response must be revalidated
+        final long expiresAt;
+        // the models deserialized from the body, kept as long as the body is, null when they are not cached
+        @Nullable final Map<Object, Object> models;
+        final long size;
+
+        Entry(
+                final int statusCode,
+                @Nonnull final MultiMap headers,
+                @Nonnull final Buffer body,
+                @Nonnull final List<Map.Entry<String, String>> variant,
+                final long expiresAt,
+                @Nullable final Map<Object, Object> models) {
+            this.statusCode = statusCode;
+            this.headers = Objects.requireNonNull(headers);
+            this.body = Objects.requireNonNull(body);
+            this.variant = Objects.requireNonNull(variant);
+            this.expiresAt = expiresAt;
+            this.models = models;
+            long headersSize = 0;
+            for (final Map.Entry<String, String> header : headers) {
+                headersSize += header.getKey().length() + header.getValue().length();
+            }
+            this.size = body.length() + headersSize;
+        }
+
+        boolean isFresh() {
+            return expiresAt - System.nanoTime() > 0;
+        }
+
+        /** Whether the response was received for a request with the same values of the headers it varies on. */
+        boolean matches(@Nonnull final MultiMap requestHeaders) {
+            for (final Map.Entry<String, String> header : variant) {
+                if (!Objects.equals(header.getValue(), requestHeaders.get(header.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
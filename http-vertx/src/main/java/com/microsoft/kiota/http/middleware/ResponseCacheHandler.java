@@ -0,0 +1,303 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.HttpResponse;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the GET requests from a {@link ResponseCache}, honouring the Cache-Control and Vary headers.
+ * A fresh response is served without sending the request, a stale one is revalidated with If-None-Match and
+ * If-Modified-Since, and served again when the service answers 304. The requests with other methods invalidate the
+ * response of their uri.
+ * Only the buffered responses are cached, the streamed ones are left to the caller.
+ */
+public class ResponseCacheHandler implements Middleware {
+    private static final String cacheControlHeaderKey = "Cache-Control";
+    private static final String eTagHeaderKey = "ETag";
+    private static final String lastModifiedHeaderKey = "Last-Modified";
+    private static final String ifNoneMatchHeaderKey = "If-None-Match";
+    private static final String ifModifiedSinceHeaderKey = "If-Modified-Since";
+    private static final String varyHeaderKey = "Vary";
+    // the responses sent with other credentials are never served
+    private static final String authorizationHeaderKey = "Authorization";
+    private static final int ok = 200;
+    private static final int notModified = 304;
+    private static final Set<String> notUpdatedOnRevalidation =
+            Set.of("content-length", "content-encoding", "transfer-encoding", "content-range");
+
+    @Nullable private final ResponseCache cache;
+
+    /** Creates a new handler without a cache, the requests are always sent */
+    public ResponseCacheHandler() {
+        this(null);
+    }
+
+    /**
+     * Creates a new handler
+     * @param cache the cache the responses are stored in, null to always send the requests.
+     */
+    public ResponseCacheHandler(@Nullable final ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Gets the cache the responses are stored in
+     * @return the cache, or null when the requests are always sent.
+     */
+    @Nullable public ResponseCache getCache() {
+        return cache;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        if (cache == null || request.isStreamed()) {
+            return chain.proceed(request);
+        }
+        final String uri = request.getUri();
+        final HttpMethod method = request.getMethod();
+        if (!HttpMethod.GET.equals(method)) {
+            if (HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+                return chain.proceed(request);
+            }
+            return chain.proceed(request)
+                    .onSuccess(
+                            response -> {
+                                if (response.getStatusCode() < 400) {
+                                    cache.remove(uri);
+                                }
+                            });
+        }
+        final MultiMap headers = request.getHeaders();
+        final Map<String, String> requestCacheControl = parseCacheControl(headers);
+        // the conditional requests of the caller are answered by the service
+        if (requestCacheControl.containsKey("no-store")
+                || headers.contains(ifNoneMatchHeaderKey)
+                || headers.contains(ifModifiedSinceHeaderKey)
+                || headers.contains("Range")) {
+            return chain.proceed(request);
+        }
+        final ResponseCache.Entry cached = getMatchingEntry(uri, headers);
+        if (cached != null
+                && cached.isFresh()
+                && !requestCacheControl.containsKey("no-cache")
+                && !"0".equals(requestCacheControl.get("max-age"))) {
+            return Future.succeededFuture(toResponse(request, cached));
+        }
+        if (cached != null) {
+            final String eTag = cached.headers.get(eTagHeaderKey);
+            if (eTag != null) {
+                headers.set(ifNoneMatchHeaderKey, eTag);
+            }
+            final String lastModified = cached.headers.get(lastModifiedHeaderKey);
+            if (lastModified != null) {
+                headers.set(ifModifiedSinceHeaderKey, lastModified);
+            }
+        }
+        return chain.proceed(request)
+                .compose(
+                        response -> {
+                            if (cached != null && response.getStatusCode() == notModified) {
+                                final ResponseCache.Entry revalidated =
+                                        revalidate(cached, response.getHeaders());
+                                cache.put(uri, revalidated);
+                                return response.discard()
+                                        .map(ignored -> toResponse(request, revalidated));
+                            }
+                            final ResponseCache.Entry stored = store(uri, headers, response);
+                            // served from the cache right away, so its models are parsed once
+                            return Future.succeededFuture(
+                                    stored != null && stored.models != null
+                                            ? toResponse(request, stored)
+                                            : response);
+                        });
+    }
+
+    @Nullable private ResponseCache.Entry getMatchingEntry(
+            @Nonnull final String uri, @Nonnull final MultiMap requestHeaders) {
+        final ResponseCache.Entry cached = cache.get(uri);
+        return cached != null && cached.matches(requestHeaders) ? cached : null;
+    }
+
+    /**
+     * Stores the response when it can be cached
+     * @return the cached response, or null when it was not stored.
+     */
+    @Nullable private ResponseCache.Entry store(
+            @Nonnull final String uri,
+            @Nonnull final MultiMap requestHeaders,
+            @Nonnull final MiddlewareResponse response) {
+        @SuppressWarnings("unchecked")
+        final HttpResponse<Buffer> buffered = response.unwrap(HttpResponse.class);
+        final MultiMap headers = response.getHeaders();
+        final Map<String, String> cacheControl = parseCacheControl(headers);
+        final List<String> vary = getVary(headers);
+        if (buffered == null
+                || response.getStatusCode() != ok
+                || cacheControl.containsKey("no-store")
+                || vary == null
+                || !headers.contains(eTagHeaderKey)
+                        && !headers.contains(lastModifiedHeaderKey)
+                        && getFreshness(headers, cacheControl) <= 0L) {
+            // the cached response is kept while the service fails, it is revalidated once it recovers
+            if (response.getStatusCode() < 500) {
+                cache.remove(uri);
+            }
+            return null;
+        }
+        final List<Map.Entry<String, String>> variant = new ArrayList<>();
+        variant.add(
+                new AbstractMap.SimpleImmutableEntry<>(
+                        authorizationHeaderKey, requestHeaders.get(authorizationHeaderKey)));
+        for (final String name : vary) {
+            variant.add(new AbstractMap.SimpleImmutableEntry<>(name, requestHeaders.get(name)));
+        }
+        final Buffer body = buffered.bodyAsBuffer();
+        final ResponseCache.Entry entry =
+                new ResponseCache.Entry(
+                        response.getStatusCode(),
+                        MultiMap.caseInsensitiveMultiMap().addAll(headers),
+                        body == null ? Buffer.buffer() : body.copy(),
+                        variant,
+                        System.nanoTime() + getFreshness(headers, cacheControl),
+                        cache.isCachingParsedModels() ? new ConcurrentHashMap<>() : null);
+        return cache.put(uri, entry) ? entry : null;
+    }
+
+    /** Updates the cached response with the headers of the 304, its freshness included. */
+    @Nonnull private static ResponseCache.Entry revalidate(
+            @Nonnull final ResponseCache.Entry cached, @Nonnull final MultiMap notModifiedHeaders) {
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap().addAll(cached.headers);
+        for (final String name : notModifiedHeaders.names()) {
+            if (!notUpdatedOnRevalidation.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.set(name, notModifiedHeaders.getAll(name));
+            }
+        }
+        return new ResponseCache.Entry(
+                cached.statusCode,
+                headers,
+                cached.body,
+                cached.variant,
+                System.nanoTime() + getFreshness(headers, parseCacheControl(headers)),
+                // the body did not change, neither did the models deserialized from it
+                cached.models);
+    }
+
+    @Nonnull private static MiddlewareResponse toResponse(
+            @Nonnull final MiddlewareRequest request, @Nonnull final ResponseCache.Entry cached) {
+        // copied, so the middlewares and the caller cannot alter the cached headers
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap().addAll(cached.headers);
+        return new MiddlewareResponse(
+                request,
+                cached.statusCode,
+                headers,
+                new CachedHttpResponse(cached.statusCode, headers, cached.body, cached.models),
+                Future::succeededFuture);
+    }
+
+    /**
+     * Gets the time the response can be served without being revalidated
+     * @return the freshness in nanoseconds, 0 or less when it must always be revalidated.
+     */
+    private static long getFreshness(
+            @Nonnull final MultiMap headers, @Nonnull final Map<String, String> cacheControl) {
+        if (cacheControl.containsKey("no-cache")) {
+            return 0L;
+        }
+        final long age = parseSeconds(headers.get("Age"));
+        final long maxAge = parseSeconds(cacheControl.get("max-age"));
+        if (maxAge >= 0L) {
+            return TimeUnit.SECONDS.toNanos(maxAge - Math.max(age, 0L));
+        }
+        final ZonedDateTime expires = parseDate(headers.get("Expires"));
+        if (expires == null) {
+            // no heuristic freshness, the responses without an explicit one are always revalidated
+            return 0L;
+        }
+        final ZonedDateTime date = parseDate(headers.get("Date"));
+        final long now =
+                date == null ? System.currentTimeMillis() : date.toInstant().toEpochMilli();
+        return TimeUnit.MILLISECONDS.toNanos(expires.toInstant().toEpochMilli() - now)
+                - TimeUnit.SECONDS.toNanos(Math.max(age, 0L));
+    }
+
+    /**
+     * Gets the request headers the response varies on
+     * @return the names of the headers, or null when the response varies on anything and cannot be cached.
+     */
+    @Nullable private static List<String> getVary(@Nonnull final MultiMap headers) {
+        final List<String> result = new ArrayList<>();
+        for (final String value : headers.getAll(varyHeaderKey)) {
+            for (final String name : value.split(",")) {
+                final String trimmed = name.trim();
+                if ("*".equals(trimmed)) {
+                    return null;
+                }
+                if (!trimmed.isEmpty()) {
+                    result.add(trimmed);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Nonnull private static Map<String, String> parseCacheControl(@Nonnull final MultiMap headers) {
+        final Map<String, String> directives = new HashMap<>();
+        for (final String value : headers.getAll(cacheControlHeaderKey)) {
+            for (final String directive : value.split(",")) {
+                final int separator = directive.indexOf('=');
+                final String name =
+                        (separator < 0 ? directive : directive.substring(0, separator))
+                                .trim()
+                                .toLowerCase(Locale.ROOT);
+                if (!name.isEmpty()) {
+                    directives.put(
+                            name,
+                            separator < 0
+                                    ? ""
+                                    : directive.substring(separator + 1).trim().replace("\"", ""));
+                }
+            }
+        }
+        return directives;
+    }
+
+    private static long parseSeconds(@Nullable final String value) {
+        if (value == null || value.isEmpty()) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+    @Nullable private static ZonedDateTime parseDate(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.microsoft.kiota.http.middleware;
+
+/**
+ * Bounds the retries to a share of the requests, so a struggling service does not get a multiple of its load in retries.
+ * Every request deposits a fraction of a retry, every retry withdraws a whole one.
+ * Share a budget between the retry handlers of the adapters calling the same service.
+ */
+public class RetryBudget {
+    /** The default share of the requests which can be retried */
+    public static final double DEFAULT_RATIO = 0.2;
+
+    /** The default number of retries available regardless of the traffic */
+    public static final int DEFAULT_MIN_RETRIES = 10;
+
+    private final double ratio;
+    private final double maxBalance;
+    private double balance;
+
+    /** Creates a new budget with the default values */
+    public RetryBudget() {
+        this(DEFAULT_RATIO, DEFAULT_MIN_RETRIES);
+    }
+
+    /**
+     * Creates a new budget
+     * @param ratio the share of the requests which can be retried.
+     * @param minRetries the retries available before any request was sent, the balance never grows past ten times as many.
+     */
+    public RetryBudget(final double ratio, final int minRetries) {
+        if (ratio < 0 || Double.isNaN(ratio)) {
+            throw new IllegalArgumentException("ratio cannot be negative");
+        }
+        if (minRetries < 0) {
+            throw new IllegalArgumentException("minRetries cannot be negative");
+        }
+        this.ratio = ratio;
+        this.balance = minRetries;
+        this.maxBalance = Math.max(minRetries * 10.0, 1.0);
+    }
+
+    /** Records a request, first attempts only. */
+    public synchronized void onRequest() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * Withdraws a retry from the budget.
+     * @return whether the retry can be sent.
+     */
+    public synchronized boolean tryRetry() {
+        if (balance < 1.0) {
+            return false;
+        }
+        balance -= 1.0;
+        return true;
+    }
+}
@@ -0,0 +1,166 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.RetryHandlerOption;
+import io.vertx.core.Future;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the requests again when the service is throttling or temporarily unavailable.
+ * The attempts are scheduled on the Vert.x timer, honouring Retry-After or backing off exponentially with jitter,
+ * and are bounded by a {@link RetryBudget}.
+ */
+public class RetryHandler implements Middleware {
+    private static final String retryAttemptHeaderKey = "Retry-Attempt";
+    private static final String retryAfterHeaderKey = "Retry-After";
+    private static final int tooManyRequests = 429;
+    private static final int serviceUnavailable = 503;
+    private static final int gatewayTimeout = 504;
+
+    @Nonnull private final RetryHandlerOption options;
+    @Nonnull private final RetryBudget budget;
+
+    /** Creates a new handler with the default options and its own budget */
+    public RetryHandler() {
+        this(new RetryHandlerOption());
+    }
+
+    /**
+     * Creates a new handler with its own budget
+     * @param options the options used when the request does not set its own.
+     */
+    public RetryHandler(@Nonnull final RetryHandlerOption options) {
+        this(options, new RetryBudget());
+    }
+
+    /**
+     * Creates a new handler
+     * @param options the options used when the request does not set its own.
+     * @param budget the budget the retries are withdrawn from.
+     */
+    public RetryHandler(@Nonnull final RetryHandlerOption options, @Nonnull final RetryBudget budget) {
+        this.options = Objects.requireNonNull(options, "parameter options cannot be null");
+        this.budget = Objects.requireNonNull(budget, "parameter budget cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        final RetryHandlerOption requestOptions = request.getRequestOption(RetryHandlerOption.class);
+        final RetryHandlerOption option = requestOptions == null ? options : requestOptions;
+        budget.onRequest();
+        return send(request, chain, option, 1);
+    }
+
+    @Nonnull private Future<MiddlewareResponse> send(
+            @Nonnull final MiddlewareRequest request,
+            @Nonnull final Chain chain,
+            @Nonnull final RetryHandlerOption option,
+            final int executionCount) {
+        return chain.proceed(request)
+                .compose(
+                        response -> {
+                            if (executionCount > option.maxRetries()
+                                    || !isRetriable(response.getStatusCode())) {
+                                return Future.succeededFuture(response);
+                            }
+                            final long delay =
+                                    getRetryDelay(
+                                            response.getHeaders().get(retryAfterHeaderKey),
+                                            option.delay(),
+                                            executionCount);
+                            // no retry once the deadline would pass while waiting, or the request was cancelled
+                            if (delay >= request.getRemainingTime()
+                                    || request.isCancelled()
+                                    || !option.shouldRetry()
+                                            .shouldRetry(delay, executionCount, request, response)
+                                    || !isReplayable(request.getRequestInformation().content)
+                                    || !budget.tryRetry()) {
+                                return Future.succeededFuture(response);
+                            }
+                            // the content is rewound once the previous attempt stopped reading it
+                            return response.discard()
+                                    .compose(
+                                            ignored ->
+                                                    rewindContent(
+                                                            request.getRequestInformation().content))
+                                    .compose(ignored -> Timers.delay(delay))
+                                    .compose(
+                                            ignored -> {
+                                                request.getHeaders()
+                                                        .set(
+                                                                retryAttemptHeaderKey,
+                                                                Integer.toString(executionCount));
+                                                return send(request, chain, option, executionCount + 1);
+                                            });
+                        });
+    }
+
+    private static boolean isRetriable(final int statusCode) {
+        return statusCode == tooManyRequests
+                || statusCode == serviceUnavailable
+                || statusCode == gatewayTimeout;
+    }
+
+    /** Streams which cannot be rewound, as the CAE challenges do, are not retried. */
+    private static boolean isReplayable(@Nullable final InputStream content) {
+        return content == null || content.markSupported();
+    }
+
+    @Nonnull private static Future<Void> rewindContent(@Nullable final InputStream content) {
+        if (content == null) {
+            return Future.succeededFuture();
+        }
+        try {
+            content.reset();
+            return Future.succeededFuture();
+        } catch (IOException ex) {
+            return Future.failedFuture(new RuntimeException(ex));
+        }
+    }
+
+    /**
+     * Computes the delay before the next attempt.
+     * @param retryAfter the Retry-After header of the response, in seconds or as a date.
+     * @param delay the base delay in seconds.
+     * @param executionCount the number of attempts so far.
+     * @return the delay in milliseconds.
+     */
+    static long getRetryDelay(
+            @Nullable final String retryAfter, final long delay, final int executionCount) {
+        final long maxDelay = TimeUnit.SECONDS.toMillis(RetryHandlerOption.MAX_DELAY);
+        if (retryAfter != null && !retryAfter.isEmpty()) {
+            try {
+                // a negative number of seconds means the request can be retried right away
+                return Math.min(
+                        maxDelay,
+                        Math.max(0L, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()))));
+            } catch (NumberFormatException ex) {
+                try {
+                    final ZonedDateTime date =
+                            ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                    return Math.min(
+                            maxDelay,
+                            Math.max(0L, Duration.between(ZonedDateTime.now(), date).toMillis()));
+                } catch (DateTimeParseException ignored) {
+                    // falls back to the exponential backoff
+                }
+            }
+        }
+        // exponential backoff, with half of the delay drawn at random so the clients do not retry in lockstep
+        final long backoff =
+                Math.min(maxDelay, TimeUnit.SECONDS.toMillis(delay) << Math.min(executionCount - 1, 16));
+        final long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+}
@@ -0,0 +1,76 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.TimeoutRequestOption;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bounds the time the requests take.
+ * The read timeout is applied by the transport on every attempt, the deadline covers the retries and the waits between
+ * them, once it passes the request being sent is aborted and the caller gets a {@link TimeoutException}.
+ */
+public class TimeoutHandler implements Middleware {
+    @Nonnull private final TimeoutRequestOption options;
+
+    /** Creates a new handler with the default options, the requests can take as long as they need */
+    public TimeoutHandler() {
+        this(new TimeoutRequestOption());
+    }
+
+    /**
+     * Creates a new handler
+     * @param options the options used when the request does not set its own.
+     */
+    public TimeoutHandler(@Nonnull final TimeoutRequestOption options) {
+        this.options = Objects.requireNonNull(options, "parameter options cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        final TimeoutRequestOption requestOptions =
+                request.getRequestOption(TimeoutRequestOption.class);
+        final TimeoutRequestOption option = requestOptions == null ? options : requestOptions;
+        if (option.getReadTimeout() != null) {
+            request.setReadTimeout(option.getReadTimeout().toMillis());
+        }
+        final Duration timeout = option.getTimeout();
+        if (timeout == null) {
+            return chain.proceed(request);
+        }
+        request.setDeadline(timeout.toMillis());
+        final Promise<MiddlewareResponse> result = Promise.promise();
+        final Runnable cancelTimer =
+                Timers.schedule(
+                        timeout.toMillis(),
+                        () -> {
+                            final TimeoutException cause =
+                                    new TimeoutException(
+                                            "the request did not complete within " + timeout);
+                            if (!result.future().isComplete()) {
+                                request.cancel(cause);
+                                result.tryFail(new RuntimeException(cause));
+                            }
+                        });
+        chain.proceed(request)
+                .onComplete(
+                        ar -> {
+                            cancelTimer.run();
+                            if (ar.failed()) {
+                                // the request aborted by the deadline fails with the timeout instead
+                                if (!request.isCancelled()) {
+                                    result.tryFail(ar.cause());
+                                }
+                            } else if (!result.tryComplete(ar.result())) {
+                                // the deadline passed while the response was being handed over, nobody reads it
+                                ar.result().discard();
+                            }
+                        });
+        return result.future();
+    }
+}
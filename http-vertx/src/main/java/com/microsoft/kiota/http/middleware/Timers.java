@@ -0,0 +1,47 @@
+package com.microsoft.kiota.http.middleware;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import jakarta.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/** Schedules the work of the middlewares on the Vert.x timer, so the event loop is never blocked while waiting. */
+final class Timers {
+    private Timers() {}
+
+    /**
+     * Waits without blocking
+     * @param delay the delay in milliseconds.
+     * @return a future completed once the delay elapsed.
+     */
+    @Nonnull static Future<Void> delay(final long delay) {
+        if (delay <= 0L) {
+            return Future.succeededFuture();
+        }
+        final Promise<Void> promise = Promise.promise();
+        schedule(delay, promise::complete);
+        return promise.future();
+    }
+
+    /**
+     * Runs a task once the delay elapsed
+     * @param delay the delay in milliseconds.
+     * @param task the task to run.
+     * @return cancels the task if it did not run yet.
+     */
+    @Nonnull static Runnable schedule(final long delay, @Nonnull final Runnable task) {
+        final Context context = Vertx.currentContext();
+        if (context != null) {
+            final long id = context.owner().setTimer(Math.max(delay, 1L), ignored -> task.run());
+            return () -> context.owner().cancelTimer(id);
+        }
+        // not on a Vert.x thread, the task is scheduled without blocking the caller either
+        final CompletableFuture<Void> scheduled =
+                CompletableFuture.runAsync(
+                        task, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+        return () -> scheduled.cancel(false);
+    }
+}
@@ -0,0 +1,53 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.UrlReplaceHandlerOption;
+import io.vertx.core.Future;
+import jakarta.annotation.Nonnull;
+import java.util.Map;
+import java.util.Objects;
+
+/** Replaces parts of the request urls, such as tokens of the url templates. */
+public class UrlReplaceHandler implements Middleware {
+    @Nonnull private final UrlReplaceHandlerOption options;
+
+    /** Creates a new handler without any replacement */
+    public UrlReplaceHandler() {
+        this(new UrlReplaceHandlerOption());
+    }
+
+    /**
+     * Creates a new handler
+     * @param options the options used when the request does not set its own.
+     */
+    public UrlReplaceHandler(@Nonnull final UrlReplaceHandlerOption options) {
+        this.options = Objects.requireNonNull(options, "parameter options cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        final UrlReplaceHandlerOption requestOptions =
+                request.getRequestOption(UrlReplaceHandlerOption.class);
+        final UrlReplaceHandlerOption option = requestOptions == null ? options : requestOptions;
+        if (option.isEnabled() && !option.getReplacementPairs().isEmpty()) {
+            request.setUri(replaceUrl(request.getUri(), option.getReplacementPairs()));
+        }
+        return chain.proceed(request);
+    }
+
+    /**
+     * Applies the replacements to the url.
+     * @param url the url to update.
+     * @param replacementPairs the replacements, keyed by the text they replace.
+     * @return the updated url.
+     */
+    @Nonnull public static String replaceUrl(
+            @Nonnull final String url, @Nonnull final Map<String, String> replacementPairs) {
+        String result = url;
+        for (final Map.Entry<String, String> pair : replacementPairs.entrySet()) {
+            result = result.replace(pair.getKey(), pair.getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+package com.microsoft.kiota.http.middleware;
+
+import com.microsoft.kiota.http.middleware.options.UserAgentHandlerOption;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+
+/** Adds the kiota product to the User-Agent header of the requests. */
+public class UserAgentHandler implements Middleware {
+    private static final String userAgentHeaderKey = "User-Agent";
+    @Nonnull private final UserAgentHandlerOption options;
+
+    /** Creates a new handler with the default options */
+    public UserAgentHandler() {
+        this(new UserAgentHandlerOption());
+    }
+
+    /**
+     * Creates a new handler
+     * @param options the options used when the request does not set its own.
+     */
+    public UserAgentHandler(@Nonnull final UserAgentHandlerOption options) {
+        this.options = Objects.requireNonNull(options, "parameter options cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public Future<MiddlewareResponse> handle(
+            @Nonnull final MiddlewareRequest request, @Nonnull final Chain chain) {
+        final UserAgentHandlerOption requestOptions =
+                request.getRequestOption(UserAgentHandlerOption.class);
+        final UserAgentHandlerOption option = requestOptions == null ? options : requestOptions;
+        if (option.getEnabled()) {
+            final String product = option.getProductName() + "/" + option.getProductVersion();
+            final MultiMap headers = request.getHeaders();
+            final String userAgent = headers.get(userAgentHeaderKey);
+            if (userAgent == null || userAgent.isEmpty()) {
+                headers.set(userAgentHeaderKey, product);
+            } else if (!userAgent.contains(product)) {
+                headers.set(userAgentHeaderKey, userAgent + " " + product);
+            }
+        }
+        return chain.proceed(request);
+    }
+}
@@ -0,0 +1,51 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.CoalescingHandler;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+import java.util.Set;
+
+/** Configures the {@link CoalescingHandler}, set on a request it overrides the one of the handler. */
+public class CoalescingOption implements RequestOption {
+    /** The default headers which must match for the requests to be coalesced, besides the method and uri */
+    public static final Set<String> DEFAULT_HEADER_NAMES = Set.of("Authorization", "Accept");
+
+    private boolean enabled;
+    @Nonnull private Set<String> headerNames = DEFAULT_HEADER_NAMES;
+
+    /** Creates a new option, the requests are not coalesced */
+    public CoalescingOption() {}
+
+    /**
+     * Creates a new option
+     * @param enabled whether the identical concurrent GET requests share a single request.
+     */
+    public CoalescingOption(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Nonnull public Set<String> getHeaderNames() {
+        return headerNames;
+    }
+
+    public void setHeaderNames(@Nonnull final Set<String> headerNames) {
+        this.headerNames =
+                Set.copyOf(Objects.requireNonNull(headerNames, "parameter headerNames cannot be null"));
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) CoalescingOption.class;
+    }
+}
@@ -0,0 +1,65 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.CompressionHandler;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+
+/** Configures the {@link CompressionHandler}, set on a request it overrides the one of the handler. */
+public class CompressionHandlerOption implements RequestOption {
+    /** The default size from which the request bodies are compressed, in bytes */
+    public static final long DEFAULT_MINIMUM_SIZE = 1024;
+
+    private boolean enabled;
+    @Nonnull private ContentEncoding encoding = ContentEncoding.GZIP;
+    private long minimumSize = DEFAULT_MINIMUM_SIZE;
+
+    /** Creates a new option, the request bodies are not compressed */
+    public CompressionHandlerOption() {}
+
+    /**
+     * Creates a new option
+     * @param enabled whether the request bodies are compressed.
+     */
+    public CompressionHandlerOption(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Nonnull public ContentEncoding getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(@Nonnull final ContentEncoding encoding) {
+        this.encoding = Objects.requireNonNull(encoding, "parameter encoding cannot be null");
+    }
+
+    /**
+     * Gets the size from which the request bodies are compressed, the bodies of unknown size are always compressed
+     * @return the size in bytes.
+     */
+    public long getMinimumSize() {
+        return minimumSize;
+    }
+
+    public void setMinimumSize(final long minimumSize) {
+        if (minimumSize < 0) {
+            throw new IllegalArgumentException("minimumSize cannot be negative");
+        }
+        this.minimumSize = minimumSize;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) CompressionHandlerOption.class;
+    }
+}
@@ -0,0 +1,45 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/** The encodings the request bodies can be compressed with. */
+public enum ContentEncoding {
+    /** gzip, supported by the JDK */
+    GZIP("gzip", null),
+    /** zstd, available when com.github.luben:zstd-jni is on the classpath */
+    ZSTD("zstd", "com.github.luben.zstd.ZstdOutputStream");
+
+    @Nonnull private final String token;
+    private final boolean available;
+
+    ContentEncoding(@Nonnull final String token, @Nullable final String encoderClassName) {
+        this.token = token;
+        this.available = encoderClassName == null || isPresent(encoderClassName);
+    }
+
+    /**
+     * Gets the value of the Content-Encoding header
+     * @return the token of the encoding.
+     */
+    @Nonnull public String getToken() {
+        return token;
+    }
+
+    /**
+     * Whether the request bodies can be compressed with this encoding
+     * @return false when the library providing the encoder is missing.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    private static boolean isPresent(@Nonnull final String className) {
+        try {
+            Class.forName(className, false, ContentEncoding.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+}
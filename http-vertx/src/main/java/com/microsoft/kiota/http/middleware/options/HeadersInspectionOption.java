@@ -0,0 +1,56 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestHeaders;
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.ResponseHeaders;
+import com.microsoft.kiota.http.middleware.HeadersInspectionHandler;
+import jakarta.annotation.Nonnull;
+
+/** Configures the {@link HeadersInspectionHandler} and receives the inspected headers. */
+public class HeadersInspectionOption implements RequestOption {
+    private final boolean inspectRequestHeaders;
+    private final boolean inspectResponseHeaders;
+    private final RequestHeaders requestHeaders = new RequestHeaders();
+    private final ResponseHeaders responseHeaders = new ResponseHeaders();
+
+    /** Creates a new option, inspecting no headers */
+    public HeadersInspectionOption() {
+        this(false, false);
+    }
+
+    /**
+     * Creates a new option
+     * @param inspectRequestHeaders whether the request headers are copied to the option.
+     * @param inspectResponseHeaders whether the response headers are copied to the option.
+     */
+    public HeadersInspectionOption(
+            final boolean inspectRequestHeaders, final boolean inspectResponseHeaders) {
+        this.inspectRequestHeaders = inspectRequestHeaders;
+        this.inspectResponseHeaders = inspectResponseHeaders;
+    }
+
+    public boolean getInspectRequestHeaders() {
+        return inspectRequestHeaders;
+    }
+
+    public boolean getInspectResponseHeaders() {
+        return inspectResponseHeaders;
+    }
+
+    /** @return the headers sent with the request, when they are inspected. */
+    @Nonnull public RequestHeaders getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    /** @return the headers of the response, when they are inspected. */
+    @Nonnull public ResponseHeaders getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) HeadersInspectionOption.class;
+    }
+}
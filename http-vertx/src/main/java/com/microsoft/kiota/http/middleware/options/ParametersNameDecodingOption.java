@@ -0,0 +1,24 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.ParametersNameDecodingHandler;
+import jakarta.annotation.Nonnull;
+
+/** Configures the {@link ParametersNameDecodingHandler}, set on a request it overrides the one of the handler. */
+public class ParametersNameDecodingOption implements RequestOption {
+    /** Whether the query parameter names are decoded */
+    public boolean enable = true;
+
+    /** The characters decoded in the query parameter names */
+    @Nonnull public char[] parametersToDecode = {'$', '.', '-', '~'};
+
+    /** Creates a new option */
+    public ParametersNameDecodingOption() {}
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) ParametersNameDecodingOption.class;
+    }
+}
@@ -0,0 +1,63 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.RateLimitHandler;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+
+/** Configures the {@link RateLimitHandler}, set on a request it overrides the one of the handler. */
+public class RateLimitOption implements RequestOption {
+    /** The default size of the bucket */
+    public static final int DEFAULT_BURST = 1;
+
+    private final double permitsPerSecond;
+    private final int burst;
+    @Nullable private final Duration maxWait;
+
+    /** Creates a new option, the requests are not paced */
+    public RateLimitOption() {
+        this(0.0, DEFAULT_BURST, null);
+    }
+
+    /**
+     * Creates a new option
+     * @param permitsPerSecond the requests per second sent to a server, 0 to not pace them.
+     * @param burst the number of requests which can be sent at once.
+     * @param maxWait the longest a request waits for its permit before it fails, null to wait as long as its deadline allows.
+     */
+    public RateLimitOption(
+            final double permitsPerSecond, final int burst, @Nullable final Duration maxWait) {
+        if (!(permitsPerSecond >= 0.0) || Double.isInfinite(permitsPerSecond)) {
+            throw new IllegalArgumentException("permitsPerSecond cannot be negative");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        if (maxWait != null && maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxWait cannot be negative");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxWait = maxWait;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    @Nullable public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) RateLimitOption.class;
+    }
+}
@@ -0,0 +1,72 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.RetryHandler;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/** Configures the {@link RetryHandler}, set on a request it overrides the one of the handler. */
+public class RetryHandlerOption implements RequestOption {
+    /** The default number of retries */
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    /** The maximum number of retries which can be configured */
+    public static final int MAX_MAX_RETRIES = 10;
+
+    /** The default base delay between the attempts, in seconds */
+    public static final long DEFAULT_DELAY = 3;
+
+    /** The maximum delay between two attempts which can be configured, in seconds */
+    public static final long MAX_DELAY = 180;
+
+    private static final ShouldRetry defaultShouldRetry =
+            (delay, executionCount, request, response) -> true;
+
+    private final int maxRetries;
+    private final long delay;
+    @Nonnull private final ShouldRetry shouldRetry;
+
+    /** Creates a new option with the default values */
+    public RetryHandlerOption() {
+        this(null, DEFAULT_MAX_RETRIES, DEFAULT_DELAY);
+    }
+
+    /**
+     * Creates a new option
+     * @param shouldRetry decides whether a retriable request is sent again, always when null.
+     * @param maxRetries the maximum number of retries, between 0 and {@value #MAX_MAX_RETRIES}.
+     * @param delay the base delay between the attempts in seconds, between 0 and {@value #MAX_DELAY}.
+     */
+    public RetryHandlerOption(
+            @Nullable final ShouldRetry shouldRetry, final int maxRetries, final long delay) {
+        if (maxRetries < 0 || maxRetries > MAX_MAX_RETRIES) {
+            throw new IllegalArgumentException(
+                    "maxRetries must be between 0 and " + MAX_MAX_RETRIES);
+        }
+        if (delay < 0 || delay > MAX_DELAY) {
+            throw new IllegalArgumentException("delay must be between 0 and " + MAX_DELAY);
+        }
+        this.shouldRetry = shouldRetry == null ? defaultShouldRetry : shouldRetry;
+        this.maxRetries = maxRetries;
+        this.delay = delay;
+    }
+
+    public int maxRetries() {
+        return maxRetries;
+    }
+
+    public long delay() {
+        return delay;
+    }
+
+    @Nonnull public ShouldRetry shouldRetry() {
+        return shouldRetry;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) RetryHandlerOption.class;
+    }
+}
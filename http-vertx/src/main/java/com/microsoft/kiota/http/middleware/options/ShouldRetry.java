@@ -0,0 +1,23 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import jakarta.annotation.Nonnull;
+
+/** Decides whether a request the retry handler considers retriable is sent again. */
+@FunctionalInterface
+public interface ShouldRetry {
+    /**
+     * Decides whether the request is sent again.
+     * @param delay the delay before the next attempt, in milliseconds.
+     * @param executionCount the number of attempts so far.
+     * @param request the request.
+     * @param response the response of the last attempt.
+     * @return whether the request is sent again.
+     */
+    boolean shouldRetry(
+            long delay,
+            int executionCount,
+            @Nonnull MiddlewareRequest request,
+            @Nonnull MiddlewareResponse response);
+}
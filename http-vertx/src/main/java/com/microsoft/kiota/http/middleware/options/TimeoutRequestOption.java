@@ -0,0 +1,61 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.TimeoutHandler;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * Configures the {@link TimeoutHandler}, set on a request it overrides the one of the handler.
+ * The connect timeout is an option of the HttpClient, shared by all its requests.
+ */
+public class TimeoutRequestOption implements RequestOption {
+    @Nullable private Duration timeout;
+    @Nullable private Duration readTimeout;
+
+    /** Creates a new option, the requests can take as long as they need */
+    public TimeoutRequestOption() {}
+
+    /**
+     * Creates a new option
+     * @param timeout the time the requests have to complete, retries included, null for no limit.
+     * @param readTimeout the time the requests wait for data before they are closed, null for no limit.
+     */
+    public TimeoutRequestOption(
+            @Nullable final Duration timeout, @Nullable final Duration readTimeout) {
+        setTimeout(timeout);
+        setReadTimeout(readTimeout);
+    }
+
+    @Nullable public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(@Nullable final Duration timeout) {
+        this.timeout = requirePositive(timeout, "timeout");
+    }
+
+    @Nullable public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(@Nullable final Duration readTimeout) {
+        this.readTimeout = requirePositive(readTimeout, "readTimeout");
+    }
+
+    @Nullable private static Duration requirePositive(
+            @Nullable final Duration value, final String name) {
+        if (value != null && (value.isNegative() || value.isZero())) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) TimeoutRequestOption.class;
+    }
+}
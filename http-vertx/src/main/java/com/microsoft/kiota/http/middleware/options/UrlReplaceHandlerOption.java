@@ -0,0 +1,67 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.UrlReplaceHandler;
+import jakarta.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/** Configures the {@link UrlReplaceHandler}, set on a request it overrides the one of the handler. */
+public class UrlReplaceHandlerOption implements RequestOption {
+    @Nonnull private Map<String, String> replacementPairs;
+    private boolean enabled;
+
+    /** Creates a new option, without any replacement */
+    public UrlReplaceHandlerOption() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Creates a new option
+     * @param replacementPairs the replacements to apply to the urls, keyed by the text they replace.
+     */
+    public UrlReplaceHandlerOption(@Nonnull final Map<String, String> replacementPairs) {
+        this(replacementPairs, true);
+    }
+
+    /**
+     * Creates a new option
+     * @param replacementPairs the replacements to apply to the urls, keyed by the text they replace.
+     * @param enabled whether the replacements are applied.
+     */
+    public UrlReplaceHandlerOption(
+            @Nonnull final Map<String, String> replacementPairs, final boolean enabled) {
+        this.replacementPairs =
+                Objects.requireNonNull(replacementPairs, "parameter replacementPairs cannot be null");
+        this.enabled = enabled;
+    }
+
+    @Nonnull public Map<String, String> getReplacementPairs() {
+        return replacementPairs;
+    }
+
+    public void setReplacementPairs(@Nonnull final Map<String, String> replacementPairs) {
+        this.replacementPairs =
+                Objects.requireNonNull(replacementPairs, "parameter replacementPairs cannot be null");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void enable() {
+        this.enabled = true;
+    }
+
+    public void disable() {
+        this.enabled = false;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) UrlReplaceHandlerOption.class;
+    }
+}
@@ -0,0 +1,52 @@
+package com.microsoft.kiota.http.middleware.options;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.http.middleware.UserAgentHandler;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+
+/** Configures the {@link UserAgentHandler}, set on a request it overrides the one of the handler. */
+public class UserAgentHandlerOption implements RequestOption {
+    private static final String defaultProductVersion =
+            Objects.requireNonNullElse(
+                    UserAgentHandlerOption.class.getPackage().getImplementationVersion(), "0.0.0");
+
+    private boolean enabled = true;
+    @Nonnull private String productName = "kiota-java";
+    @Nonnull private String productVersion = defaultProductVersion;
+
+    /** Creates a new option, adding the kiota product to the User-Agent header */
+    public UserAgentHandlerOption() {}
+
+    public boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Nonnull public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(@Nonnull final String productName) {
+        this.productName = Objects.requireNonNull(productName, "parameter productName cannot be null");
+    }
+
+    @Nonnull public String getProductVersion() {
+        return productVersion;
+    }
+
+    public void setProductVersion(@Nonnull final String productVersion) {
+        this.productVersion =
+                Objects.requireNonNull(productVersion, "parameter productVersion cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    @Nonnull public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) UserAgentHandlerOption.class;
+    }
+}
@@ -0,0 +1,94 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.Bulkhead;
+import com.microsoft.kiota.http.middleware.BulkheadHandler;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.http.HttpMethod;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+class BulkheadHandlerTest {
+    private final List<Promise<MiddlewareResponse>> pending = new ArrayList<>();
+
+    private final BulkheadHandler handler = new BulkheadHandler(() -> new Bulkhead(2, 1));
+
+    private final Middleware.Chain chain =
+            request -> {
+                final Promise<MiddlewareResponse> response = Promise.promise();
+                pending.add(response);
+                return response.future();
+            };
+
+    private static MiddlewareRequest getRequest() {
+        return new MiddlewareRequest(
+                HttpMethod.GET,
+                "http://localhost",
+                MultiMap.caseInsensitiveMultiMap(),
+                new RequestInformation());
+    }
+
+    private static MiddlewareResponse getResponse(final MiddlewareRequest request) {
+        return new MiddlewareResponse(
+                request, 200, MultiMap.caseInsensitiveMultiMap(), null, Future::succeededFuture);
+    }
+
+    @Test
+    void sendsTheRequestsByDefault() {
+        final BulkheadHandler handler = new BulkheadHandler();
+        for (int i = 0; i < 10; i++) {
+            assertFalse(handler.handle(getRequest(), chain).failed());
+        }
+        assertEquals(10, pending.size());
+        assertNull(handler.getBulkhead("http://localhost:80"));
+    }
+
+    @Test
+    void queuesThenRejectsTheRequestsPastTheLimit() {
+        final MiddlewareRequest first = getRequest();
+        handler.handle(first, chain);
+        handler.handle(getRequest(), chain);
+        final Future<MiddlewareResponse> queued = handler.handle(getRequest(), chain);
+        final Future<MiddlewareResponse> rejected = handler.handle(getRequest(), chain);
+        assertEquals(2, pending.size());
+        assertFalse(queued.isComplete());
+        assertTrue(rejected.failed());
+        assertInstanceOf(RejectedExecutionException.class, rejected.cause().getCause());
+
+        // the queued request is sent once a place is given back
+        pending.get(0).complete(getResponse(first));
+        assertEquals(3, pending.size());
+        final Bulkhead bulkhead = handler.getBulkhead("http://localhost:80");
+        assertEquals(2, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getQueued());
+    }
+
+    @Test
+    void dropsTheRequestsCancelledWhileQueued() {
+        handler.handle(getRequest(), chain);
+        handler.handle(getRequest(), chain);
+        final MiddlewareRequest request = getRequest();
+        final Future<MiddlewareResponse> queued = handler.handle(request, chain);
+        request.cancel(new TimeoutException());
+        assertTrue(queued.failed());
+        final Bulkhead bulkhead = handler.getBulkhead("http://localhost:80");
+        assertEquals(0, bulkhead.getQueued());
+        pending.get(0).fail(new RuntimeException("reset"));
+        assertEquals(2, pending.size());
+        assertEquals(1, bulkhead.getInFlight());
+    }
+}
@@ -0,0 +1,171 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.CircuitBreaker;
+import com.microsoft.kiota.http.middleware.CircuitBreakerHandler;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.http.HttpMethod;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerHandlerTest {
+    private final AtomicInteger sent = new AtomicInteger();
+
+    private final CircuitBreakerHandler handler =
+            new CircuitBreakerHandler(
+                    () ->
+                            new CircuitBreaker(
+                                    0.5,
+                                    1.0,
+                                    Duration.ofSeconds(60),
+                                    4,
+                                    Duration.ofSeconds(60),
+                                    Duration.ofMillis(100)));
+
+    private Middleware.Chain getChain(final int statusCode) {
+        return request -> {
+            sent.incrementAndGet();
+            return Future.succeededFuture(
+                    new MiddlewareResponse(
+                            request,
+                            statusCode,
+                            MultiMap.caseInsensitiveMultiMap(),
+                            null,
+                            Future::succeededFuture));
+        };
+    }
+
+    private static MiddlewareRequest getRequest(final String uri) {
+        return new MiddlewareRequest(
+                HttpMethod.GET, uri, MultiMap.caseInsensitiveMultiMap(), new RequestInformation());
+    }
+
+    private MiddlewareResponse send(final String uri, final int statusCode) throws Exception {
+        return handler.handle(getRequest(uri), getChain(statusCode))
+                .toCompletionStage()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void sendsTheRequestsByDefault() {
+        final CircuitBreakerHandler handler = new CircuitBreakerHandler();
+        for (int i = 0; i < 10; i++) {
+            handler.handle(getRequest("http://localhost"), getChain(503));
+        }
+        assertEquals(10, sent.get());
+        assertNull(handler.getCircuitBreaker("http://localhost:80"));
+    }
+
+    @Test
+    void failsFastOnceTheFailureRateIsCrossed() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            send("http://localhost/a", i % 2 == 0 ? 200 : 503);
+        }
+        assertEquals(
+                CircuitBreaker.State.OPEN,
+                handler.getCircuitBreaker("http://localhost:80").getState());
+        final ExecutionException failure =
+                assertThrows(ExecutionException.class, () -> send("http://localhost/b", 200));
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause().getCause());
+        assertEquals(4, sent.get());
+        // the other servers are not affected
+        assertEquals(200, send("http://127.0.0.1:8080/a", 200).getStatusCode());
+    }
+
+    @Test
+    void closesTheCircuitOnceAProbeSucceeds() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            send("http://localhost", 500);
+        }
+        Thread.sleep(150);
+        final CircuitBreaker circuitBreaker = handler.getCircuitBreaker("http://localhost:80");
+        // the probe fails, the circuit opens again
+        send("http://localhost", 500);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Thread.sleep(150);
+        assertEquals(200, send("http://localhost", 200).getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(6, sent.get());
+    }
+
+    @Test
+    void onlyTheProbeChangesTheStateOfAHalfOpenCircuit() throws Exception {
+        final Promise<MiddlewareResponse> stale = Promise.promise();
+        final MiddlewareRequest staleRequest = getRequest("http://localhost");
+        handler.handle(staleRequest, request -> stale.future());
+        for (int i = 0; i < 4; i++) {
+            send("http://localhost", 500);
+        }
+        Thread.sleep(150);
+        final Promise<MiddlewareResponse> probe = Promise.promise();
+        final MiddlewareRequest probeRequest = getRequest("http://localhost");
+        handler.handle(probeRequest, request -> probe.future());
+        final CircuitBreaker circuitBreaker = handler.getCircuitBreaker("http://localhost:80");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        // sent before the circuit opened, its success says nothing of the server now
+        stale.complete(getChain(200).proceed(staleRequest).result());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        probe.complete(getChain(503).proceed(probeRequest).result());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void probesAgainOnceAProbeBecameSlow() throws Exception {
+        final CircuitBreakerHandler handler =
+                new CircuitBreakerHandler(
+                        () ->
+                                new CircuitBreaker(
+                                        0.5,
+                                        1.0,
+                                        Duration.ofMillis(100),
+                                        4,
+                                        Duration.ofSeconds(60),
+                                        Duration.ofMillis(100)));
+        for (int i = 0; i < 4; i++) {
+            handler.handle(getRequest("http://localhost"), getChain(500));
+        }
+        Thread.sleep(150);
+        // the probe never completes
+        final MiddlewareRequest probeRequest = getRequest("http://localhost");
+        handler.handle(probeRequest, request -> Promise.<MiddlewareResponse>promise().future());
+        final CircuitBreaker circuitBreaker = handler.getCircuitBreaker("http://localhost:80");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(-1L, circuitBreaker.tryAcquire());
+
+        // slow once past the slow call duration, the circuit opened then and another probe is sent
+        Thread.sleep(250);
+        final Future<MiddlewareResponse> second =
+                handler.handle(getRequest("http://localhost"), getChain(200));
+        assertEquals(200, second.result().getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(5, sent.get());
+    }
+
+    @Test
+    void countsTheTransportFailures() {
+        for (int i = 0; i < 4; i++) {
+            handler.handle(
+                    getRequest("https://localhost"),
+                    request -> Future.failedFuture(new RuntimeException("connection refused")));
+        }
+        assertEquals(
+                CircuitBreaker.State.OPEN,
+                handler.getCircuitBreaker("https://localhost:443").getState());
+    }
+}
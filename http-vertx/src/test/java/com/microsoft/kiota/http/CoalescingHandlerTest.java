@@ -0,0 +1,114 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.CachedHttpResponse;
+import com.microsoft.kiota.http.middleware.CoalescingHandler;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import com.microsoft.kiota.http.middleware.options.CoalescingOption;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.client.impl.HttpResponseImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CoalescingHandlerTest {
+    private final List<Promise<MiddlewareResponse>> pending = new ArrayList<>();
+
+    private final Middleware.Chain chain =
+            request -> {
+                final Promise<MiddlewareResponse> response = Promise.promise();
+                pending.add(response);
+                return response.future();
+            };
+
+    private static MiddlewareRequest getRequest(final String authorization) {
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap().add("Authorization", authorization);
+        return new MiddlewareRequest(
+                HttpMethod.GET, "http://localhost/reference", headers, new RequestInformation());
+    }
+
+    private static MiddlewareResponse getResponse(final MiddlewareRequest request) {
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap().add("Content-Type", "text/plain");
+        return new MiddlewareResponse(
+                request,
+                200,
+                headers,
+                new HttpResponseImpl<>(
+                        HttpVersion.HTTP_1_1,
+                        200,
+                        "OK",
+                        headers,
+                        MultiMap.caseInsensitiveMultiMap(),
+                        List.of(),
+                        Buffer.buffer("reference"),
+                        List.of()),
+                Future::succeededFuture);
+    }
+
+    @Test
+    void sendsTheRequestsByDefault() {
+        final CoalescingHandler handler = new CoalescingHandler();
+        handler.handle(getRequest("a"), chain);
+        handler.handle(getRequest("a"), chain);
+        assertEquals(2, pending.size());
+    }
+
+    @Test
+    void sharesTheResponseOfIdenticalRequests() {
+        final CoalescingHandler handler = new CoalescingHandler(new CoalescingOption(true));
+        final MiddlewareRequest leader = getRequest("a");
+        final Future<MiddlewareResponse> first = handler.handle(leader, chain);
+        final Future<MiddlewareResponse> second = handler.handle(getRequest("a"), chain);
+        // other credentials, another request
+        handler.handle(getRequest("b"), chain);
+        assertEquals(2, pending.size());
+        pending.get(0).complete(getResponse(leader));
+        assertTrue(first.succeeded() && second.succeeded());
+        assertEquals("reference", second.result().unwrap(CachedHttpResponse.class).bodyAsString());
+
+        // the body is deserialized once for all the callers
+        final AtomicInteger parsed = new AtomicInteger();
+        final Object firstModel =
+                first.result()
+                        .unwrap(CachedHttpResponse.class)
+                        .getModel("key", () -> new Object[] {parsed.incrementAndGet()});
+        final Object secondModel =
+                second.result()
+                        .unwrap(CachedHttpResponse.class)
+                        .getModel("key", () -> new Object[] {parsed.incrementAndGet()});
+        assertSame(firstModel, secondModel);
+        assertEquals(1, parsed.get());
+
+        // the flight is over, the next request is sent
+        handler.handle(getRequest("a"), chain);
+        assertEquals(3, pending.size());
+    }
+
+    @Test
+    void sendsTheRequestAgainWhenTheSharedOneWasCancelled() {
+        final CoalescingHandler handler = new CoalescingHandler(new CoalescingOption(true));
+        final MiddlewareRequest leader = getRequest("a");
+        handler.handle(leader, chain);
+        final MiddlewareRequest follower = getRequest("a");
+        final Future<MiddlewareResponse> followed = handler.handle(follower, chain);
+        leader.cancel(new TimeoutException());
+        pending.get(0).fail(new RuntimeException(new TimeoutException()));
+        assertEquals(2, pending.size());
+        pending.get(1).complete(getResponse(follower));
+        assertTrue(followed.succeeded());
+        assertSame(follower, followed.result().getRequest());
+    }
+}
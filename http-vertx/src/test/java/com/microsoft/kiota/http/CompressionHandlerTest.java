@@ -0,0 +1,111 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.CompressionHandler;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import com.microsoft.kiota.http.middleware.options.CompressionHandlerOption;
+import com.microsoft.kiota.http.middleware.options.ContentEncoding;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class CompressionHandlerTest {
+    private final List<String> encodings = new ArrayList<>();
+
+    // answers with the given status codes in turn, then with 200
+    private Middleware.Chain getChain(final int... statusCodes) {
+        return request -> {
+            final int attempt = encodings.size();
+            encodings.add(request.getHeaders().get("Content-Encoding"));
+            return Future.succeededFuture(
+                    new MiddlewareResponse(
+                            request,
+                            attempt < statusCodes.length ? statusCodes[attempt] : 200,
+                            MultiMap.caseInsensitiveMultiMap(),
+                            null,
+                            Future::succeededFuture));
+        };
+    }
+
+    private static MiddlewareRequest getRequest(final int contentSize) {
+        final RequestInformation requestInformation = new RequestInformation();
+        requestInformation.setStreamContent(new ByteArrayInputStream(new byte[contentSize]));
+        return new MiddlewareRequest(
+                HttpMethod.POST,
+                "http://localhost",
+                MultiMap.caseInsensitiveMultiMap(),
+                requestInformation);
+    }
+
+    private static MiddlewareResponse await(final Future<MiddlewareResponse> response)
+            throws Exception {
+        return response.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void doesNotCompressByDefault() throws Exception {
+        await(new CompressionHandler().handle(getRequest(4096), getChain()));
+        assertNull(encodings.get(0));
+    }
+
+    @Test
+    void compressesTheContentFromTheMinimumSize() throws Exception {
+        final CompressionHandlerOption option = new CompressionHandlerOption(true);
+        option.setEncoding(ContentEncoding.ZSTD);
+        final CompressionHandler handler = new CompressionHandler(option);
+        final MiddlewareRequest request = getRequest(4096);
+        request.getHeaders().set("Content-Length", "4096");
+        await(handler.handle(request, getChain()));
+        await(handler.handle(getRequest(10), getChain()));
+        assertEquals("zstd", encodings.get(0));
+        assertNull(request.getHeaders().get("Content-Length"));
+        assertNull(encodings.get(1));
+    }
+
+    @Test
+    void compressesTheContentWhenItsDeclaredLengthIsMalformed() throws Exception {
+        final MiddlewareRequest request = getRequest(4096);
+        request.getHeaders().set("Content-Length", "4k");
+        await(
+                new CompressionHandler(new CompressionHandlerOption(true))
+                        .handle(request, getChain()));
+        assertEquals("gzip", encodings.get(0));
+        assertNull(request.getHeaders().get("Content-Length"));
+    }
+
+    @Test
+    void leavesContentEncodedByTheCaller() throws Exception {
+        final MiddlewareRequest request = getRequest(4096);
+        request.getHeaders().set("Content-Encoding", "br");
+        request.getRequestInformation()
+                .addRequestOptions(List.of(new CompressionHandlerOption(true)));
+        final MiddlewareResponse response =
+                await(new CompressionHandler().handle(request, getChain(415)));
+        assertEquals(415, response.getStatusCode());
+        assertEquals(List.of("br"), encodings);
+    }
+
+    @Test
+    void sendsTheContentUncompressedWhenTheEncodingIsRejected() throws Exception {
+        final MiddlewareRequest request = getRequest(4096);
+        request.getHeaders().set("Content-Length", "4096");
+        final MiddlewareResponse response =
+                await(
+                        new CompressionHandler(new CompressionHandlerOption(true))
+                                .handle(request, getChain(415)));
+        assertEquals(200, response.getStatusCode());
+        assertEquals("gzip", encodings.get(0));
+        assertNull(encodings.get(1));
+        assertEquals("4096", request.getHeaders().get("Content-Length"));
+    }
+}
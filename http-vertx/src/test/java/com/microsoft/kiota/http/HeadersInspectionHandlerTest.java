@@ -1,79 +1,68 @@
-// package com.microsoft.kiota.http;
+package com.microsoft.kiota.http;
 
-// import static org.junit.jupiter.api.Assertions.assertEquals;
-// import static org.junit.jupiter.api.Assertions.assertNotNull;
-// import static org.mockito.ArgumentMatchers.any;
-// import static org.mockito.Mockito.mock;
-// import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
-// import com.microsoft.kiota.http.middleware.HeadersInspectionHandler;
-// import com.microsoft.kiota.http.middleware.options.HeadersInspectionOption;
-// import java.io.IOException;
-// import okhttp3.Headers;
-// import okhttp3.Interceptor.Chain;
-// import okhttp3.Request;
-// import okhttp3.Response;
-// import okhttp3.ResponseBody;
-// import org.junit.jupiter.api.Test;
-// import org.mockito.invocation.InvocationOnMock;
-// import org.mockito.stubbing.Answer;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.HeadersInspectionHandler;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import com.microsoft.kiota.http.middleware.options.HeadersInspectionOption;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.Test;
 
-// class HeadersInspectionHandlerTest {
-//     private final Chain mockChain;
-//     private final Response mockResponse;
+class HeadersInspectionHandlerTest {
+    private final Middleware.Chain mockChain =
+            request ->
+                    Future.succeededFuture(
+                            new MiddlewareResponse(
+                                    request,
+                                    200,
+                                    MultiMap.caseInsensitiveMultiMap().add("test", "test"),
+                                    null,
+                                    Future::succeededFuture));
 
-//     public HeadersInspectionHandlerTest() throws IOException {
-//         mockResponse = mock(Response.class);
-//         when(mockResponse.code()).thenReturn(200);
-//         when(mockResponse.message()).thenReturn("OK");
-//         when(mockResponse.body()).thenReturn(mock(ResponseBody.class));
-//         when(mockResponse.headers()).thenReturn(new Headers.Builder().add("test", "test").build());
-//         mockChain = mock(Chain.class);
-//         when(mockChain.proceed(any(Request.class)))
-//                 .thenAnswer(
-//                         new Answer<Response>() {
-//                             public Response answer(InvocationOnMock invocation) {
-//                                 Object[] args = invocation.getArguments();
-//                                 Request request = (Request) args[0];
-//                                 when(mockResponse.request()).thenReturn(request);
-//                                 return mockResponse;
-//                             }
-//                         });
-//     }
+    private static MiddlewareRequest getRequest() {
+        final MiddlewareRequest request =
+                new MiddlewareRequest(
+                        HttpMethod.GET,
+                        "http://localhost",
+                        MultiMap.caseInsensitiveMultiMap(),
+                        new RequestInformation());
+        request.getHeaders().add("test", "test");
+        return request;
+    }
 
-//     @Test
-//     void instantiatesWithDefaults() {
-//         final HeadersInspectionHandler handler = new HeadersInspectionHandler();
-//         assertNotNull(handler);
-//     }
+    @Test
+    void instantiatesWithDefaults() {
+        final HeadersInspectionHandler handler = new HeadersInspectionHandler();
+        assertNotNull(handler);
+    }
 
-//     @Test
-//     void getsRequestHeaders() throws IOException {
-//         final HeadersInspectionOption option = new HeadersInspectionOption(true, false);
-//         final HeadersInspectionHandler handler = new HeadersInspectionHandler(option);
-//         final Request request =
-//                 new Request.Builder().url("http://localhost").addHeader("test", "test").build();
-//         when(mockChain.request()).thenReturn(request);
-//         handler.intercept(mockChain);
-//         assertNotNull(option.getRequestHeaders());
-//         assertNotNull(option.getResponseHeaders());
-//         assertEquals(1, option.getRequestHeaders().size());
-//         assertEquals(0, option.getResponseHeaders().size());
-//         assertEquals("test", option.getRequestHeaders().get("test").toArray()[0]);
-//     }
+    @Test
+    void getsRequestHeaders() {
+        final HeadersInspectionOption option = new HeadersInspectionOption(true, false);
+        final HeadersInspectionHandler handler = new HeadersInspectionHandler(option);
+        handler.handle(getRequest(), mockChain);
+        assertNotNull(option.getRequestHeaders());
+        assertNotNull(option.getResponseHeaders());
+        assertEquals(1, option.getRequestHeaders().size());
+        assertEquals(0, option.getResponseHeaders().size());
+        assertEquals("test", option.getRequestHeaders().get("test").toArray()[0]);
+    }
 
-//     @Test
-//     void getsResponseHeaders() throws IOException {
-//         final HeadersInspectionOption option = new HeadersInspectionOption(false, true);
-//         final HeadersInspectionHandler handler = new HeadersInspectionHandler(option);
-//         final Request request =
-//                 new Request.Builder().url("http://localhost").addHeader("test", "test").build();
-//         when(mockChain.request()).thenReturn(request);
-//         handler.intercept(mockChain);
-//         assertNotNull(option.getRequestHeaders());
-//         assertNotNull(option.getResponseHeaders());
-//         assertEquals(0, option.getRequestHeaders().size());
-//         assertEquals(1, option.getResponseHeaders().size());
-//         assertEquals("test", option.getResponseHeaders().get("test").toArray()[0]);
-//     }
-// }
+    @Test
+    void getsResponseHeaders() {
+        final HeadersInspectionOption option = new HeadersInspectionOption(false, true);
+        final HeadersInspectionHandler handler = new HeadersInspectionHandler(option);
+        handler.handle(getRequest(), mockChain);
+        assertNotNull(option.getRequestHeaders());
+        assertNotNull(option.getResponseHeaders());
+        assertEquals(0, option.getRequestHeaders().size());
+        assertEquals(1, option.getResponseHeaders().size());
+        assertEquals("test", option.getResponseHeaders().get("test").toArray()[0]);
+    }
+}
@@ -0,0 +1,256 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.JsonStreamingParseNodeFactory;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class MutinyVertXRequestAdapterTest {
+    private static Vertx vertx;
+    private static HttpServer server;
+    // held for the whole class, Vert.x closes the clients which are no longer referenced
+    private static HttpClient httpClient;
+    private static volatile Handler<HttpServerRequest> handler;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        vertx = Vertx.vertx();
+        server =
+                vertx.createHttpServer()
+                        .requestHandler(req -> handler.handle(req))
+                        .listen(0)
+                        .toCompletionStage()
+                        .toCompletableFuture()
+                        .get();
+        httpClient = vertx.createHttpClient();
+    }
+
+    @AfterAll
+    public static void stopServer() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get();
+    }
+
+    private static RequestInformation getRequestInformation() throws Exception {
+        final var requestInformation = new RequestInformation();
+        requestInformation.setUri(new URI("http://localhost:" + server.actualPort()));
+        requestInformation.httpMethod = HttpMethod.GET;
+        return requestInformation;
+    }
+
+    private static MutinyVertXRequestAdapter getAdapter() {
+        return new MutinyVertXRequestAdapter(
+                new VertXRequestAdapter(
+                        httpClient,
+                        new AnonymousAuthenticationProvider(),
+                        new JsonStreamingParseNodeFactory(),
+                        null));
+    }
+
+    private static Handler<HttpServerRequest> respond(final int statusCode, final String body) {
+        return req ->
+                req.response()
+                        .setStatusCode(statusCode)
+                        .putHeader("Content-Type", "application/json")
+                        .end(body);
+    }
+
+    private static void assertFailsWithStatus(final int statusCode, final Uni<?> uni) {
+        final var exception = assertThrows(ApiException.class, () -> uni.await().indefinitely());
+        assertEquals(statusCode, exception.getResponseStatusCode());
+    }
+
+    @Test
+    public void SendEmitsTheModel() throws Exception {
+        handler = respond(200, "{\"id\":\"1\"}");
+        final var uni = getAdapter().send(getRequestInformation(), null, n -> new IdEntity());
+        assertEquals("1", uni.await().indefinitely().id);
+
+        handler = respond(404, "{}");
+        assertFailsWithStatus(
+                404, getAdapter().send(getRequestInformation(), null, n -> new IdEntity()));
+    }
+
+    @Test
+    public void SendIsLazy() throws Exception {
+        final var received = new CompletableFuture<Void>();
+        handler =
+                req -> {
+                    received.complete(null);
+                    respond(204, "").handle(req);
+                };
+        final var uni = getAdapter().send(getRequestInformation(), null, n -> new IdEntity());
+        assertFalse(received.isDone());
+        assertNull(uni.await().indefinitely());
+        assertTrue(received.isDone());
+    }
+
+    @Test
+    public void SendAbortsTheRequestWhenCancelled() throws Exception {
+        final var received = new CompletableFuture<Void>();
+        final var closed = new CompletableFuture<Void>();
+        // never answers, only the cancellation ends the exchange
+        handler =
+                req -> {
+                    req.connection().closeHandler(v -> closed.complete(null));
+                    received.complete(null);
+                };
+        final Cancellable subscription =
+                getAdapter()
+                        .send(getRequestInformation(), null, n -> new IdEntity())
+                        .subscribe()
+                        .with(item -> fail("no item expected"), failure -> {});
+        received.get(10, TimeUnit.SECONDS);
+        subscription.cancel();
+        closed.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void SendCollectionEmitsTheModels() throws Exception {
+        handler = respond(200, "[{\"id\":\"1\"},{\"id\":\"2\"}]");
+        final var models =
+                getAdapter()
+                        .sendCollection(getRequestInformation(), null, n -> new IdEntity())
+                        .await()
+                        .indefinitely();
+        assertEquals(2, models.size());
+        assertEquals("2", models.get(1).id);
+
+        handler = respond(500, "{}");
+        assertFailsWithStatus(
+                500,
+                getAdapter().sendCollection(getRequestInformation(), null, n -> new IdEntity()));
+    }
+
+    @Test
+    public void SendCollectionMultiEmitsTheElements() throws Exception {
+        handler = respond(200, "[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]");
+        final var ids =
+                getAdapter()
+                        .sendCollectionMulti(getRequestInformation(), null, n -> new IdEntity())
+                        .map(e -> e.id)
+                        .collect()
+                        .asList()
+                        .await()
+                        .indefinitely();
+        assertEquals(List.of("1", "2", "3"), ids);
+
+        handler = respond(204, "");
+        assertEquals(
+                List.of(),
+                getAdapter()
+                        .sendCollectionMulti(getRequestInformation(), null, n -> new IdEntity())
+                        .collect()
+                        .asList()
+                        .await()
+                        .indefinitely());
+
+        handler = respond(404, "{}");
+        final var multi =
+                getAdapter().sendCollectionMulti(getRequestInformation(), null, n -> new IdEntity());
+        final var exception =
+                assertThrows(
+                        ApiException.class, () -> multi.collect().asList().await().indefinitely());
+        assertEquals(404, exception.getResponseStatusCode());
+    }
+
+    @Test
+    public void SendCollectionMultiDropsTheResponseWhenCancelledBeforeIt() throws Exception {
+        final var received = new CompletableFuture<HttpServerResponse>();
+        final var closed = new CompletableFuture<Void>();
+        handler =
+                req -> {
+                    req.connection().closeHandler(v -> closed.complete(null));
+                    received.complete(req.response());
+                };
+        final Cancellable subscription =
+                getAdapter()
+                        .sendCollectionMulti(getRequestInformation(), null, n -> new IdEntity())
+                        .subscribe()
+                        .with(item -> fail("no element expected"), failure -> {});
+        final var response = received.get(10, TimeUnit.SECONDS);
+        subscription.cancel();
+        // the body is never ended, the client must reset the request once it gets the headers
+        response.setStatusCode(200)
+                .putHeader("Content-Type", "application/json")
+                .setChunked(true)
+                .write("[{\"id\":\"1\"},");
+        closed.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void SendPrimitiveEmitsTheValue() throws Exception {
+        handler = respond(200, "\"reference\"");
+        assertEquals(
+                "reference",
+                getAdapter()
+                        .sendPrimitive(getRequestInformation(), null, String.class)
+                        .await()
+                        .indefinitely());
+
+        handler = respond(500, "{}");
+        assertFailsWithStatus(
+                500, getAdapter().sendPrimitive(getRequestInformation(), null, String.class));
+    }
+
+    @Test
+    public void SendEnumEmitsTheValue() throws Exception {
+        handler = respond(200, "\"blue\"");
+        assertEquals(
+                Color.BLUE,
+                getAdapter()
+                        .sendEnum(getRequestInformation(), null, Color::forValue)
+                        .await()
+                        .indefinitely());
+
+        handler = respond(403, "{}");
+        assertFailsWithStatus(
+                403, getAdapter().sendEnum(getRequestInformation(), null, Color::forValue));
+    }
+
+    private enum Color {
+        RED,
+        BLUE;
+
+        static Color forValue(final String value) {
+            return "blue".equals(value) ? BLUE : "red".equals(value) ? RED : null;
+        }
+    }
+
+    private static class IdEntity implements Parsable {
+        private String id;
+
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            final Map<String, Consumer<ParseNode>> result = new HashMap<>();
+            result.put("id", n -> id = n.getStringValue());
+            return result;
+        }
+
+        public void serialize(SerializationWriter writer) {
+            writer.writeStringValue("id", id);
+        }
+    }
+}
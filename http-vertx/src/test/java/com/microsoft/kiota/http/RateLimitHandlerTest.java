@@ -0,0 +1,135 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import com.microsoft.kiota.http.middleware.RateLimitHandler;
+import com.microsoft.kiota.http.middleware.options.RateLimitOption;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+// the buckets are shared by the whole JVM, every test uses its own server
+class RateLimitHandlerTest {
+    private final List<Long> sentAt = new ArrayList<>();
+
+    private final Middleware.Chain chain =
+            request -> {
+                synchronized (sentAt) {
+                    sentAt.add(System.nanoTime());
+                }
+                return Future.succeededFuture(
+                        new MiddlewareResponse(
+                                request,
+                                200,
+                                MultiMap.caseInsensitiveMultiMap(),
+                                null,
+                                Future::succeededFuture));
+            };
+
+    private static MiddlewareRequest getRequest(final String uri) {
+        return new MiddlewareRequest(
+                HttpMethod.GET, uri, MultiMap.caseInsensitiveMultiMap(), new RequestInformation());
+    }
+
+    private static MiddlewareResponse await(final Future<MiddlewareResponse> response)
+            throws Exception {
+        return response.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void doesNotPaceTheRequestsByDefault() throws Exception {
+        final RateLimitHandler handler = new RateLimitHandler();
+        for (int i = 0; i < 5; i++) {
+            await(handler.handle(getRequest("http://unpaced.test"), chain));
+        }
+        assertEquals(5, sentAt.size());
+        assertNull(
+                RateLimitHandler.getRateLimiter("http://unpaced.test:80", new RateLimitOption()));
+    }
+
+    @Test
+    void pacesTheRequestsSharingABucket() throws Exception {
+        final RateLimitOption option = new RateLimitOption(20, 2, null);
+        final RateLimitHandler first = new RateLimitHandler(option);
+        final RateLimitHandler second = new RateLimitHandler(option);
+        final long start = System.nanoTime();
+        final List<Future<MiddlewareResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            responses.add(
+                    (i % 2 == 0 ? first : second)
+                            .handle(getRequest("http://paced.test/" + i), chain));
+        }
+        // the burst is sent right away, the others one interval apart
+        assertEquals(2, sentAt.size());
+        for (final Future<MiddlewareResponse> response : responses) {
+            await(response);
+        }
+        assertTrue(sentAt.get(3) - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertSame(
+                RateLimitHandler.getRateLimiter("http://paced.test:80", option),
+                RateLimitHandler.getRateLimiter(
+                        "http://paced.test:80", new RateLimitOption(20, 2, null)));
+    }
+
+    @Test
+    void failsTheRequestsWhichWouldWaitTooLong() throws Exception {
+        final RateLimitHandler handler =
+                new RateLimitHandler(new RateLimitOption(1, 1, Duration.ofMillis(100)));
+        await(handler.handle(getRequest("http://throttled.test"), chain));
+        final ExecutionException failure =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> await(handler.handle(getRequest("http://throttled.test"), chain)));
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause().getCause());
+        assertEquals(1, sentAt.size());
+    }
+
+    @Test
+    void keepsABucketPerRate() throws Exception {
+        final RateLimitOption fast = new RateLimitOption(20, 1, null);
+        final RateLimitOption slow = new RateLimitOption(1, 1, null);
+        new RateLimitHandler(fast).handle(getRequest("http://rates.test"), chain);
+        // would wait for the bucket of the fast requests if it was shared
+        new RateLimitHandler(slow).handle(getRequest("http://rates.test"), chain);
+        assertEquals(2, sentAt.size());
+        assertEquals(
+                1.0,
+                RateLimitHandler.getRateLimiter("http://rates.test:80", slow)
+                        .getPermitsPerSecond());
+    }
+
+    @Test
+    void givesThePermitBackWhenCancelledWhilePaced() throws Exception {
+        final RateLimitOption option = new RateLimitOption(10, 1, null);
+        final RateLimitHandler handler = new RateLimitHandler(option);
+        await(handler.handle(getRequest("http://cancelled.test"), chain));
+        final MiddlewareRequest paced = getRequest("http://cancelled.test");
+        final Future<MiddlewareResponse> response = handler.handle(paced, chain);
+        paced.cancel(new TimeoutException());
+        assertTrue(response.failed());
+        assertInstanceOf(TimeoutException.class, response.cause());
+        // the permit of the cancelled request is available again, one interval after the first one
+        assertTrue(
+                RateLimitHandler.getRateLimiter("http://cancelled.test:80", option).tryReserve(150)
+                        >= 0L);
+        Thread.sleep(150);
+        assertEquals(1, sentAt.size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import com.microsoft.kiota.http.middleware.ResponseCache;
+import com.microsoft.kiota.http.middleware.ResponseCacheHandler;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.impl.HttpResponseImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ResponseCacheHandlerTest {
+    private final List<MultiMap> sentHeaders = new ArrayList<>();
+
+    private final ResponseCacheHandler handler = new ResponseCacheHandler(new ResponseCache());
+
+    // answers with the given status code and headers, the body is the number of requests sent
+    private Middleware.Chain getChain(final int statusCode, final String... headers) {
+        return request -> {
+            sentHeaders.add(MultiMap.caseInsensitiveMultiMap().addAll(request.getHeaders()));
+            final MultiMap responseHeaders = MultiMap.caseInsensitiveMultiMap();
+            for (int i = 0; i < headers.length; i += 2) {
+                responseHeaders.add(headers[i], headers[i + 1]);
+            }
+            final HttpResponse<Buffer> response =
+                    new HttpResponseImpl<>(
+                            HttpVersion.HTTP_1_1,
+                            statusCode,
+                            "",
+                            responseHeaders,
+                            MultiMap.caseInsensitiveMultiMap(),
+                            List.of(),
+                            Buffer.buffer(Integer.toString(sentHeaders.size())),
+                            List.of());
+            return Future.succeededFuture(
+                    new MiddlewareResponse(
+                            request, statusCode, responseHeaders, response, Future::succeededFuture));
+        };
+    }
+
+    private static MiddlewareRequest getRequest(final HttpMethod method) {
+        return new MiddlewareRequest(
+                method,
+                "http://localhost/reference",
+                MultiMap.caseInsensitiveMultiMap(),
+                new RequestInformation());
+    }
+
+    @SuppressWarnings("unchecked")
+    private String send(final HttpMethod method, final Middleware.Chain chain) throws Exception {
+        final MiddlewareResponse response =
+                handler.handle(getRequest(method), chain)
+                        .toCompletionStage()
+                        .toCompletableFuture()
+                        .get(10, TimeUnit.SECONDS);
+        return response.unwrap(HttpResponse.class).bodyAsString();
+    }
+
+    @Test
+    void servesFreshResponsesWithoutSendingTheRequest() throws Exception {
+        final Middleware.Chain chain = getChain(200, "Cache-Control", "max-age=60");
+        assertEquals("1", send(HttpMethod.GET, chain));
+        assertEquals("1", send(HttpMethod.GET, chain));
+        assertEquals(1, sentHeaders.size());
+        // the unsafe methods invalidate the cached response
+        send(HttpMethod.POST, chain);
+        assertEquals("3", send(HttpMethod.GET, chain));
+    }
+
+    @Test
+    void servesTheCachedResponseOnceRevalidated() throws Exception {
+        assertEquals(
+                "1",
+                send(
+                        HttpMethod.GET,
+                        getChain(200, "ETag", "\"v1\"", "Cache-Control", "no-cache")));
+        assertEquals("1", send(HttpMethod.GET, getChain(304, "ETag", "\"v1\"")));
+        assertEquals("\"v1\"", sentHeaders.get(1).get("If-None-Match"));
+        // a changed response replaces the cached one
+        assertEquals("3", send(HttpMethod.GET, getChain(200, "ETag", "\"v2\"")));
+        assertEquals("\"v1\"", sentHeaders.get(2).get("If-None-Match"));
+        assertEquals(1, handler.getCache().getEntryCount());
+    }
+
+    @Test
+    void doesNotStoreTheResponsesWhichCannotBeCached() throws Exception {
+        send(HttpMethod.GET, getChain(200, "Cache-Control", "no-store", "ETag", "\"v1\""));
+        send(HttpMethod.GET, getChain(200, "Cache-Control", "max-age=60", "Vary", "*"));
+        send(HttpMethod.GET, getChain(200));
+        assertEquals(0, handler.getCache().getEntryCount());
+        assertNull(sentHeaders.get(2).get("If-None-Match"));
+        assertEquals(3, sentHeaders.size());
+    }
+}
@@ -0,0 +1,157 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import com.microsoft.kiota.http.middleware.RetryBudget;
+import com.microsoft.kiota.http.middleware.RetryHandler;
+import com.microsoft.kiota.http.middleware.options.RetryHandlerOption;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RetryHandlerTest {
+    private final List<String> attempts = new ArrayList<>();
+
+    // answers with the given status codes in turn, then with 200
+    private Middleware.Chain getChain(final String retryAfter, final int... statusCodes) {
+        return request -> {
+            final int attempt = attempts.size();
+            attempts.add(request.getHeaders().get("Retry-Attempt"));
+            final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+            if (retryAfter != null) {
+                headers.set("Retry-After", retryAfter);
+            }
+            return Future.succeededFuture(
+                    new MiddlewareResponse(
+                            request,
+                            attempt < statusCodes.length ? statusCodes[attempt] : 200,
+                            headers,
+                            null,
+                            Future::succeededFuture));
+        };
+    }
+
+    private static MiddlewareRequest getRequest() {
+        return new MiddlewareRequest(
+                HttpMethod.GET,
+                "http://localhost",
+                MultiMap.caseInsensitiveMultiMap(),
+                new RequestInformation());
+    }
+
+    private static MiddlewareResponse await(final Future<MiddlewareResponse> response)
+            throws Exception {
+        return response.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void retriesUntilTheServiceRecovers() throws Exception {
+        final RetryHandler handler = new RetryHandler();
+        final MiddlewareResponse response =
+                await(handler.handle(getRequest(), getChain("0", 503, 429, 504)));
+        assertEquals(200, response.getStatusCode());
+        assertEquals(
+                List.of("null", "1", "2", "3"),
+                attempts.stream().map(String::valueOf).collect(Collectors.toList()));
+    }
+
+    @Test
+    void stopsAfterTheMaximumNumberOfRetries() throws Exception {
+        final RetryHandler handler = new RetryHandler(new RetryHandlerOption(null, 1, 0));
+        final MiddlewareResponse response =
+                await(handler.handle(getRequest(), getChain(null, 503, 503, 503)));
+        assertEquals(503, response.getStatusCode());
+        assertEquals(2, attempts.size());
+    }
+
+    @Test
+    void doesNotRetryOtherStatusCodes() throws Exception {
+        final RetryHandler handler = new RetryHandler();
+        final MiddlewareResponse response =
+                await(handler.handle(getRequest(), getChain("0", 500)));
+        assertEquals(500, response.getStatusCode());
+        assertEquals(1, attempts.size());
+    }
+
+    @Test
+    void doesNotRetryContentWhichCannotBeReplayed() throws Exception {
+        final RetryHandler handler = new RetryHandler();
+        final MiddlewareRequest request = getRequest();
+        request.getRequestInformation()
+                .setStreamContent(
+                        new InputStream() {
+                            @Override
+                            public int read() {
+                                return -1;
+                            }
+                        });
+        final MiddlewareResponse response = await(handler.handle(request, getChain("0", 503)));
+        assertEquals(503, response.getStatusCode());
+        assertEquals(1, attempts.size());
+    }
+
+    @Test
+    void stopsRetryingOnceTheBudgetIsSpent() throws Exception {
+        final RetryHandler handler =
+                new RetryHandler(new RetryHandlerOption(null, 3, 0), new RetryBudget(0, 2));
+        final MiddlewareResponse response =
+                await(handler.handle(getRequest(), getChain("0", 503, 503, 503)));
+        assertEquals(503, response.getStatusCode());
+        assertEquals(3, attempts.size());
+        attempts.clear();
+        await(handler.handle(getRequest(), getChain("0", 503)));
+        assertEquals(1, attempts.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-5", "Wed, 21 Oct 2015 07:28:00 GMT"})
+    void retriesRightAwayWhenTheRetryAfterIsPast(final String retryAfter) throws Exception {
+        final AtomicLong delay = new AtomicLong(-1L);
+        final RetryHandler handler =
+                new RetryHandler(
+                        new RetryHandlerOption(
+                                (d, executionCount, request, response) -> {
+                                    delay.set(d);
+                                    return true;
+                                },
+                                1,
+                                2));
+        final MiddlewareResponse response =
+                await(handler.handle(getRequest(), getChain(retryAfter, 503)));
+        assertEquals(200, response.getStatusCode());
+        assertEquals(0L, delay.get());
+        assertEquals(2, attempts.size());
+    }
+
+    @Test
+    void backsOffExponentiallyWithJitter() throws Exception {
+        final AtomicLong delay = new AtomicLong();
+        final RetryHandler handler =
+                new RetryHandler(
+                        new RetryHandlerOption(
+                                (d, executionCount, request, response) -> {
+                                    delay.set(d);
+                                    return false;
+                                },
+                                3,
+                                2));
+        await(handler.handle(getRequest(), getChain(null, 503)));
+        assertTrue(delay.get() >= 1000 && delay.get() <= 2000, "delay was " + delay.get());
+        assertNull(attempts.get(0));
+    }
+}
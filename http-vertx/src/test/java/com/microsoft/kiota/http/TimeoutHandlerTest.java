@@ -0,0 +1,117 @@
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import com.microsoft.kiota.http.middleware.TimeoutHandler;
+import com.microsoft.kiota.http.middleware.options.TimeoutRequestOption;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.http.HttpMethod;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class TimeoutHandlerTest {
+
+    private static MiddlewareRequest getRequest() {
+        return new MiddlewareRequest(
+                HttpMethod.GET,
+                "http://localhost",
+                MultiMap.caseInsensitiveMultiMap(),
+                new RequestInformation());
+    }
+
+    private static MiddlewareResponse getResponse(
+            final MiddlewareRequest request, final AtomicBoolean discarded) {
+        return new MiddlewareResponse(
+                request,
+                200,
+                MultiMap.caseInsensitiveMultiMap(),
+                null,
+                () -> {
+                    discarded.set(true);
+                    return Future.succeededFuture();
+                });
+    }
+
+    private static MiddlewareResponse await(final Future<MiddlewareResponse> response)
+            throws Exception {
+        return response.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void doesNotBoundTheRequestsByDefault() throws Exception {
+        final MiddlewareRequest request = getRequest();
+        final MiddlewareResponse response =
+                await(
+                        new TimeoutHandler()
+                                .handle(
+                                        request,
+                                        req ->
+                                                Future.succeededFuture(
+                                                        getResponse(req, new AtomicBoolean()))));
+        assertEquals(200, response.getStatusCode());
+        assertEquals(0L, request.getReadTimeout());
+        assertEquals(Long.MAX_VALUE, request.getRemainingTime());
+    }
+
+    @Test
+    void boundsTheReadTimeoutByTheDeadline() throws Exception {
+        final MiddlewareRequest request = getRequest();
+        request.getRequestInformation()
+                .addRequestOptions(
+                        List.of(
+                                new TimeoutRequestOption(
+                                        Duration.ofSeconds(5), Duration.ofSeconds(30))));
+        final AtomicReference<Long> readTimeout = new AtomicReference<>();
+        await(
+                new TimeoutHandler()
+                        .handle(
+                                request,
+                                req -> {
+                                    readTimeout.set(req.getReadTimeout());
+                                    return Future.succeededFuture(
+                                            getResponse(req, new AtomicBoolean()));
+                                }));
+        assertTrue(
+                readTimeout.get() > 4000L && readTimeout.get() <= 5000L,
+                "was " + readTimeout.get());
+    }
+
+    @Test
+    void abortsTheRequestOnceTheDeadlinePasses() throws Exception {
+        final MiddlewareRequest request = getRequest();
+        final AtomicReference<Throwable> cancellation = new AtomicReference<>();
+        final Promise<MiddlewareResponse> pending = Promise.promise();
+        final TimeoutHandler handler =
+                new TimeoutHandler(new TimeoutRequestOption(Duration.ofMillis(50), null));
+        final Future<MiddlewareResponse> response =
+                handler.handle(
+                        request,
+                        req -> {
+                            req.onCancel(cancellation::set);
+                            return pending.future();
+                        });
+        final ExecutionException failure =
+                assertThrows(ExecutionException.class, () -> await(response));
+        assertInstanceOf(TimeoutException.class, failure.getCause().getCause());
+        assertInstanceOf(TimeoutException.class, cancellation.get());
+        assertTrue(request.isCancelled());
+        // a response received past the deadline is dropped
+        final AtomicBoolean discarded = new AtomicBoolean();
+        pending.complete(getResponse(request, discarded));
+        assertTrue(discarded.get());
+    }
+}
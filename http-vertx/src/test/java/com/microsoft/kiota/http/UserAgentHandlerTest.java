@@ -1,85 +1,88 @@
-// package com.microsoft.kiota.http;
+package com.microsoft.kiota.http;
 
-// import static org.junit.jupiter.api.Assertions.assertEquals;
-// import static org.junit.jupiter.api.Assertions.assertNotNull;
-// import static org.junit.jupiter.api.Assertions.assertNull;
-// import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
-// import com.microsoft.kiota.http.middleware.UserAgentHandler;
-// import com.microsoft.kiota.http.middleware.options.UserAgentHandlerOption;
-// import java.io.IOException;
-// import okhttp3.Headers;
-// import okhttp3.Interceptor.Chain;
-// import okhttp3.Request;
-// import okhttp3.Response;
-// import okhttp3.ResponseBody;
-// import org.junit.jupiter.api.Test;
-// import org.mockito.invocation.InvocationOnMock;
-// import org.mockito.stubbing.Answer;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareRequest;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import com.microsoft.kiota.http.middleware.UserAgentHandler;
+import com.microsoft.kiota.http.middleware.options.UserAgentHandlerOption;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import java.util.List;
+import org.junit.jupiter.api.Test;
 
-// class UserAgentHandlerTest {
-//     private final Chain mockChain;
-//     private final Response mockResponse;
+class UserAgentHandlerTest {
+    private final Middleware.Chain mockChain =
+            request ->
+                    Future.succeededFuture(
+                            new MiddlewareResponse(
+                                    request,
+                                    200,
+                                    MultiMap.caseInsensitiveMultiMap(),
+                                    null,
+                                    Future::succeededFuture));
 
-//     public UserAgentHandlerTest() throws IOException {
-//         mockResponse = mock(Response.class);
-//         when(mockResponse.code()).thenReturn(200);
-//         when(mockResponse.message()).thenReturn("OK");
-//         when(mockResponse.body()).thenReturn(mock(ResponseBody.class));
-//         when(mockResponse.headers()).thenReturn(new Headers.Builder().build());
-//         mockChain = mock(Chain.class);
-//         when(mockChain.proceed(any(Request.class)))
-//                 .thenAnswer(
-//                         new Answer() {
-//                             public Object answer(InvocationOnMock invocation) {
-//                                 Object[] args = invocation.getArguments();
-//                                 Request request = (Request) args[0];
-//                                 when(mockResponse.request()).thenReturn(request);
-//                                 return mockResponse;
-//                             }
-//                         });
-//     }
+    private static MiddlewareRequest getRequest() {
+        return new MiddlewareRequest(
+                HttpMethod.GET,
+                "http://localhost",
+                MultiMap.caseInsensitiveMultiMap(),
+                new RequestInformation());
+    }
 
-//     @Test
-//     void addsTheProduct() throws IOException {
-//         final UserAgentHandler handler = new UserAgentHandler();
-//         final Request request = new Request.Builder().url("http://localhost").build();
-//         when(mockChain.request()).thenReturn(request);
-//         final Response response = handler.intercept(mockChain);
-//         final Request result = response.request();
-//         assertNotNull(response);
-//         assertNotNull(result);
-//         assertEquals("kiota-java", result.header("User-Agent").split("/")[0]);
-//     }
+    @Test
+    void addsTheProduct() {
+        final UserAgentHandler handler = new UserAgentHandler();
+        final MiddlewareResponse response = handler.handle(getRequest(), mockChain).result();
+        final MiddlewareRequest result = response.getRequest();
+        assertNotNull(response);
+        assertNotNull(result);
+        assertEquals("kiota-java", result.getHeaders().get("User-Agent").split("/")[0]);
+    }
 
-//     @Test
-//     void addsTheProductOnce() throws IOException {
-//         final UserAgentHandler handler = new UserAgentHandler();
-//         final Request request = new Request.Builder().url("http://localhost").build();
-//         when(mockChain.request()).thenReturn(request);
-//         Response response = handler.intercept(mockChain);
-//         response = handler.intercept(mockChain);
-//         final Request result = response.request();
-//         assertNotNull(response);
-//         assertNotNull(result);
-//         assertEquals(1, result.header("User-Agent").split("kiota-java").length - 1);
-//     }
+    @Test
+    void addsTheProductOnce() {
+        final UserAgentHandler handler = new UserAgentHandler();
+        final MiddlewareRequest request = getRequest();
+        request.getHeaders().set("User-Agent", "my-app/1.0");
+        handler.handle(request, mockChain);
+        final MiddlewareResponse response = handler.handle(request, mockChain).result();
+        final MiddlewareRequest result = response.getRequest();
+        assertNotNull(response);
+        assertNotNull(result);
+        assertEquals(1, result.getHeaders().get("User-Agent").split("kiota-java").length - 1);
+        assertEquals("my-app/1.0", result.getHeaders().get("User-Agent").split(" ")[0]);
+    }
 
-//     @Test
-//     void doesNotAddTheProductWhenDisabled() throws IOException {
-//         final UserAgentHandler handler =
-//                 new UserAgentHandler(
-//                         new UserAgentHandlerOption() {
-//                             {
-//                                 setEnabled(false);
-//                             }
-//                         });
-//         final Request request = new Request.Builder().url("http://localhost").build();
-//         when(mockChain.request()).thenReturn(request);
-//         final Response response = handler.intercept(mockChain);
-//         final Request result = response.request();
-//         assertNotNull(response);
-//         assertNotNull(result);
-//         assertNull(result.header("User-Agent"));
-//     }
-// }
+    @Test
+    void doesNotAddTheProductWhenDisabled() {
+        final UserAgentHandler handler =
+                new UserAgentHandler(
+                        new UserAgentHandlerOption() {
+                            {
+                                setEnabled(false);
+                            }
+                        });
+        final MiddlewareResponse response = handler.handle(getRequest(), mockChain).result();
+        final MiddlewareRequest result = response.getRequest();
+        assertNotNull(response);
+        assertNotNull(result);
+        assertNull(result.getHeaders().get("User-Agent"));
+    }
+
+    @Test
+    void usesTheOptionOfTheRequest() {
+        final UserAgentHandler handler = new UserAgentHandler();
+        final MiddlewareRequest request = getRequest();
+        final UserAgentHandlerOption option = new UserAgentHandlerOption();
+        option.setEnabled(false);
+        request.getRequestInformation().addRequestOptions(List.of(option));
+        final MiddlewareResponse response = handler.handle(request, mockChain).result();
+        assertNull(response.getRequest().getHeaders().get("User-Agent"));
+    }
+}
@@ -1,271 +1,843 @@
-// TODO: re-enable and port those tests
-
-// package com.microsoft.kiota.http;
-
-// import static org.junit.jupiter.api.Assertions.*;
-// import static org.mockito.ArgumentMatchers.any;
-// import static org.mockito.Mockito.*;
-
-// import com.microsoft.kiota.ApiException;
-// import com.microsoft.kiota.HttpMethod;
-// import com.microsoft.kiota.RequestInformation;
-// import com.microsoft.kiota.authentication.AuthenticationProvider;
-// import com.microsoft.kiota.serialization.Parsable;
-// import com.microsoft.kiota.serialization.ParsableFactory;
-// import com.microsoft.kiota.serialization.ParseNode;
-// import com.microsoft.kiota.serialization.ParseNodeFactory;
-// import io.opentelemetry.api.GlobalOpenTelemetry;
-// import io.opentelemetry.api.trace.Span;
-// import java.io.ByteArrayInputStream;
-// import java.io.IOException;
-// import java.io.InputStream;
-// import java.net.URI;
-// import java.nio.charset.StandardCharsets;
-// import java.util.HashMap;
-// import java.util.Map;
-
-// import io.vertx.ext.web.client.HttpRequest;
-// import okhttp3.Call;
-// import okhttp3.Callback;
-// import okhttp3.Dispatcher;
-// import okhttp3.MediaType;
-// import okhttp3.OkHttpClient;
-// import okhttp3.Protocol;
-// import okhttp3.Request;
-// import okhttp3.Response;
-// import okhttp3.ResponseBody;
-// import okio.Okio;
-// import org.junit.jupiter.api.Test;
-// import org.junit.jupiter.params.ParameterizedTest;
-// import org.junit.jupiter.params.provider.EnumSource;
-// import org.junit.jupiter.params.provider.ValueSource;
-// import org.mockito.stubbing.Answer;
-
-// public class VertXRequestAdapterTest {
-//     @ParameterizedTest
-//     @EnumSource(
-//             value = HttpMethod.class,
-//             names = {"PUT", "POST", "PATCH"})
-//     public void PostRequestsShouldHaveEmptyBody(HttpMethod method)
-//             throws Exception { // Unexpected exception thrown: java.lang.IllegalArgumentException:
-//         // method POST must have a request body.
-//         final AuthenticationProvider authenticationProviderMock =
-//                 mock(AuthenticationProvider.class);
-//         final var adapter =
-//                 new VertXRequestAdapter(authenticationProviderMock) {
-//                     public HttpRequest test() throws Exception {
-//                         RequestInformation ri = new RequestInformation();
-//                         ri.httpMethod = method;
-//                         ri.urlTemplate = "http://localhost:1234";
-//                         return this.getRequestFromRequestInformation(ri);
-//                     }
-//                 };
-
-//         final var request = assertDoesNotThrow(() -> adapter.test());
-//         assertNotNull(request.body());
-//     }
-
-//     @ParameterizedTest
-//     @ValueSource(ints = {200, 201, 202, 203, 206})
-//     void SendStreamReturnsUsableStream(int statusCode) throws Exception {
-//         final var authenticationProviderMock = mock(AuthenticationProvider.class);
-//         authenticationProviderMock.authenticateRequest(
-//                 any(RequestInformation.class), any(Map.class));
-//         final var text = "my-demo-text";
-//         final var bufferedSource =
-//                 Okio.buffer(Okio.source(new ByteArrayInputStream(text.getBytes("UTF-8"))));
-//         final var client =
-//                 getMockClient(
-//                         new Response.Builder()
-//                                 .code(statusCode)
-//                                 .message("OK")
-//                                 .protocol(Protocol.HTTP_1_1)
-//                                 .request(new Request.Builder().url("http://localhost").build())
-//                                 .body(
-//                                         ResponseBody.create(
-//                                                 bufferedSource,
-//                                                 MediaType.parse("application/binary"),
-//                                                 text.getBytes("UTF-8").length))
-//                                 .build());
-//         final var requestAdapter =
-//                 new VertXRequestAdapter(authenticationProviderMock, null, null, client);
-//         final var requestInformation =
-//                 new RequestInformation() {
-//                     {
-//                         setUri(new URI("https://localhost"));
-//                         httpMethod = HttpMethod.GET;
-//                     }
-//                 };
-//         InputStream response = null;
-//         try {
-//             response = requestAdapter.sendPrimitive(requestInformation, InputStream.class, null);
-//             assertNotNull(response);
-//             assertEquals(text, new String(response.readAllBytes(), StandardCharsets.UTF_8));
-//         } finally {
-//             if (response != null) {
-//                 response.close();
-//             }
-//         }
-//     }
-
-//     @ParameterizedTest
-//     @ValueSource(ints = {200, 201, 202, 203, 204})
-//     public void SendStreamReturnsNullOnNoContent(int statusCode) throws Exception {
-//         final var authenticationProviderMock = mock(AuthenticationProvider.class);
-//         authenticationProviderMock.authenticateRequest(
-//                 any(RequestInformation.class), any(Map.class));
-//         final var client =
-//                 getMockClient(
-//                         new Response.Builder()
-//                                 .code(statusCode)
-//                                 .message("OK")
-//                                 .protocol(Protocol.HTTP_1_1)
-//                                 .request(new Request.Builder().url("http://localhost").build())
-//                                 .body(null)
-//                                 .build());
-//         final var requestAdapter =
-//                 new VertXRequestAdapter(authenticationProviderMock, null, null, client);
-//         final var requestInformation =
-//                 new RequestInformation() {
-//                     {
-//                         setUri(new URI("https://localhost"));
-//                         httpMethod = HttpMethod.GET;
-//                     }
-//                 };
-//         final var response =
-//                 requestAdapter.sendPrimitive(requestInformation, InputStream.class, null);
-//         assertNull(response);
-//     }
-
-//     @ParameterizedTest
-//     @ValueSource(ints = {200, 201, 202, 203, 204, 205})
-//     public void SendReturnsNullOnNoContent(int statusCode) throws Exception {
-//         final var authenticationProviderMock = mock(AuthenticationProvider.class);
-//         authenticationProviderMock.authenticateRequest(
-//                 any(RequestInformation.class), any(Map.class));
-//         final var client =
-//                 getMockClient(
-//                         new Response.Builder()
-//                                 .code(statusCode)
-//                                 .message("OK")
-//                                 .protocol(Protocol.HTTP_1_1)
-//                                 .request(new Request.Builder().url("http://localhost").build())
-//                                 .body(null)
-//                                 .build());
-//         final var requestAdapter =
-//                 new VertXRequestAdapter(authenticationProviderMock, null, null, client);
-//         final var requestInformation =
-//                 new RequestInformation() {
-//                     {
-//                         setUri(new URI("https://localhost"));
-//                         httpMethod = HttpMethod.GET;
-//                     }
-//                 };
-//         final var mockEntity = mock(Parsable.class);
-//         when(mockEntity.getFieldDeserializers()).thenReturn(new HashMap<>());
-//         final var response = requestAdapter.send(requestInformation, (node) -> mockEntity, null);
-//         assertNull(response);
-//     }
-
-//     @ParameterizedTest
-//     @ValueSource(ints = {200, 201, 202, 203})
-//     public void SendReturnsObjectOnContent(int statusCode) throws Exception {
-//         final var authenticationProviderMock = mock(AuthenticationProvider.class);
-//         authenticationProviderMock.authenticateRequest(
-//                 any(RequestInformation.class), any(Map.class));
-//         final var client =
-//                 getMockClient(
-//                         new Response.Builder()
-//                                 .code(statusCode)
-//                                 .message("OK")
-//                                 .protocol(Protocol.HTTP_1_1)
-//                                 .request(new Request.Builder().url("http://localhost").build())
-//                                 .body(
-//                                         ResponseBody.create(
-//                                                 "test".getBytes("UTF-8"),
-//                                                 MediaType.parse("application/json")))
-//                                 .build());
-//         final var requestInformation =
-//                 new RequestInformation() {
-//                     {
-//                         setUri(new URI("https://localhost"));
-//                         httpMethod = HttpMethod.GET;
-//                     }
-//                 };
-//         final var mockEntity = mock(Parsable.class);
-//         when(mockEntity.getFieldDeserializers()).thenReturn(new HashMap<>());
-//         final var mockParseNode = mock(ParseNode.class);
-//         when(mockParseNode.getObjectValue(any(ParsableFactory.class))).thenReturn(mockEntity);
-//         final var mockFactory = mock(ParseNodeFactory.class);
-//         when(mockFactory.getParseNode(any(String.class), any(InputStream.class)))
-//                 .thenReturn(mockParseNode);
-//         when(mockFactory.getValidContentType()).thenReturn("application/json");
-//         final var requestAdapter =
-//                 new VertXRequestAdapter(authenticationProviderMock, mockFactory, null, client);
-//         final var response = requestAdapter.send(requestInformation, (node) -> mockEntity, null);
-//         assertNotNull(response);
-//     }
-
-//     @Test
-//     public void throwsAPIException() throws Exception {
-//         final var authenticationProviderMock = mock(AuthenticationProvider.class);
-//         authenticationProviderMock.authenticateRequest(
-//                 any(RequestInformation.class), any(Map.class));
-//         final var client =
-//                 getMockClient(
-//                         new Response.Builder()
-//                                 .code(404)
-//                                 .message("Not Found")
-//                                 .protocol(Protocol.HTTP_1_1)
-//                                 .request(new Request.Builder().url("http://localhost").build())
-//                                 .body(
-//                                         ResponseBody.create(
-//                                                 "test".getBytes("UTF-8"),
-//                                                 MediaType.parse("application/json")))
-//                                 .header("request-id", "request-id-value")
-//                                 .build());
-//         final var requestInformation =
-//                 new RequestInformation() {
-//                     {
-//                         setUri(new URI("https://localhost"));
-//                         httpMethod = HttpMethod.GET;
-//                     }
-//                 };
-//         final var mockEntity = mock(Parsable.class);
-//         when(mockEntity.getFieldDeserializers()).thenReturn(new HashMap<>());
-//         final var mockParseNode = mock(ParseNode.class);
-//         when(mockParseNode.getObjectValue(any(ParsableFactory.class))).thenReturn(mockEntity);
-//         final var mockFactory = mock(ParseNodeFactory.class);
-//         when(mockFactory.getParseNode(any(String.class), any(InputStream.class)))
-//                 .thenReturn(mockParseNode);
-//         when(mockFactory.getValidContentType()).thenReturn("application/json");
-//         final var requestAdapter =
-//                 new VertXRequestAdapter(authenticationProviderMock, mockFactory, null, client);
-//         final var exception =
-//                 assertThrows(
-//                         ApiException.class,
-//                         () -> requestAdapter.send(requestInformation, (node) -> mockEntity, null));
-//         assertNotNull(exception);
-//         assertEquals(404, exception.getResponseStatusCode());
-//         assertTrue(exception.getResponseHeaders().containsKey("request-id"));
-//     }
-
-//     public static OkHttpClient getMockClient(final Response response) throws IOException {
-//         final OkHttpClient mockClient = mock(OkHttpClient.class);
-//         final Call remoteCall = mock(Call.class);
-//         final Dispatcher dispatcher = new Dispatcher();
-//         when(remoteCall.execute()).thenReturn(response);
-//         doAnswer(
-//                         (Answer<Void>)
-//                                 invocation -> {
-//                                     Callback callback = invocation.getArgument(0);
-//                                     callback.onResponse(null, response);
-//                                     return null;
-//                                 })
-//                 .when(remoteCall)
-//                 .enqueue(any(Callback.class));
-//         when(mockClient.dispatcher()).thenReturn(dispatcher);
-//         when(mockClient.newCall(any())).thenReturn(remoteCall);
-//         return mockClient;
-//     }
-// }
+package com.microsoft.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.JsonSerializationWriterFactory;
+import com.github.andreatp.kiota.serialization.JsonStreamingParseNodeFactory;
+import com.github.andreatp.kiota.serialization.PipedSerializationWriterFactory;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.PeriodAndDuration;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.SerializationWriterFactory;
+import com.microsoft.kiota.serialization.ValuedEnumParser;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewareResponse;
+import com.microsoft.kiota.http.middleware.ResponseCache;
+import com.microsoft.kiota.http.middleware.ResponseCacheHandler;
+import com.microsoft.kiota.http.middleware.UserAgentHandler;
+import com.microsoft.kiota.http.middleware.options.CompressionHandlerOption;
+import com.microsoft.kiota.http.middleware.options.ContentEncoding;
+import com.microsoft.kiota.http.middleware.options.TimeoutRequestOption;
+import com.github.luben.zstd.ZstdInputStream;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpConnection;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class VertXRequestAdapterTest {
+    private static Vertx vertx;
+    private static HttpServer server;
+    // held for the whole class, Vert.x closes the clients which are no longer referenced
+    private static HttpClient httpClient;
+    private static WebClient webClient;
+    private static volatile Handler<HttpServerRequest> handler;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        vertx = Vertx.vertx();
+        server =
+                vertx.createHttpServer()
+                        .requestHandler(req -> handler.handle(req))
+                        .listen(0)
+                        .toCompletionStage()
+                        .toCompletableFuture()
+                        .get();
+        httpClient = vertx.createHttpClient();
+        webClient = WebClient.create(vertx);
+    }
+
+    @AfterAll
+    public static void stopServer() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get();
+    }
+
+    private static RequestInformation getRequestInformation() throws Exception {
+        final var requestInformation = new RequestInformation();
+        requestInformation.setUri(new URI("http://localhost:" + server.actualPort()));
+        requestInformation.httpMethod = HttpMethod.GET;
+        return requestInformation;
+    }
+
+    private static VertXRequestAdapter getAdapter(final ParseNodeFactory parseNodeFactory) {
+        return new VertXRequestAdapter(
+                new AnonymousAuthenticationProvider(), webClient, parseNodeFactory);
+    }
+
+    private static final Parsable mockEntity =
+            new Parsable() {
+                public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+                    return new HashMap<>();
+                }
+
+                public void serialize(SerializationWriter writer) {}
+            };
+
+    private static ParseNodeFactory getMockFactory(final ParseNode parseNode) {
+        return new ParseNodeFactory() {
+            public String getValidContentType() {
+                return "application/json";
+            }
+
+            public ParseNode getParseNode(String contentType, InputStream rawResponse) {
+                return parseNode;
+            }
+        };
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {200, 201, 202, 203, 206})
+    void SendStreamReturnsUsableStream(int statusCode) throws Exception {
+        final var text = "my-demo-text";
+        handler =
+                req ->
+                        req.response()
+                                .setStatusCode(statusCode)
+                                .putHeader("Content-Type", "application/binary")
+                                .end(text);
+        final var requestAdapter = getAdapter(null);
+        try (InputStream response =
+                requestAdapter.sendPrimitive(getRequestInformation(), null, InputStream.class)) {
+            assertNotNull(response);
+            assertEquals(text, new String(response.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void SendStreamStreamsLargeResponses() throws Exception {
+        final int size = 4 * 1024 * 1024;
+        handler =
+                req ->
+                        req.response()
+                                .setStatusCode(200)
+                                .putHeader("Content-Type", "application/octet-stream")
+                                .end(Buffer.buffer(new byte[size]));
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        httpClient, new AnonymousAuthenticationProvider(), null, null);
+        long received = 0;
+        try (InputStream response =
+                requestAdapter.sendPrimitive(getRequestInformation(), null, InputStream.class)) {
+            final byte[] chunk = new byte[1000];
+            int read;
+            while ((read = response.read(chunk)) != -1) {
+                received += read;
+            }
+        }
+        assertEquals(size, received);
+    }
+
+    @Test
+    public void KeepsTheConnectionOfAStreamClosedOnceReceived() throws Exception {
+        final var connections = new CopyOnWriteArrayList<HttpConnection>();
+        handler =
+                req -> {
+                    connections.add(req.connection());
+                    req.response()
+                            .setStatusCode(200)
+                            .putHeader("Content-Type", "application/octet-stream")
+                            .end("body");
+                };
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        vertx.createHttpClient(), new AnonymousAuthenticationProvider(), null, null);
+        try (InputStream response =
+                requestAdapter.sendPrimitive(getRequestInformation(), null, InputStream.class)) {
+            assertEquals("body", new String(response.readNBytes(4), StandardCharsets.UTF_8));
+            // the end of the body is received meanwhile, but never read
+            Thread.sleep(100);
+        }
+        requestAdapter.sendPrimitive(getRequestInformation(), null, Void.class);
+        assertEquals(2, connections.size());
+        assertSame(connections.get(0), connections.get(1));
+    }
+
+    @Test
+    public void SendStreamThrowsAPIException() throws Exception {
+        handler = req -> req.response().setStatusCode(500).end("boom");
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        httpClient, new AnonymousAuthenticationProvider(), null, null);
+        final var requestInformation = getRequestInformation();
+        final var exception =
+                assertThrows(
+                        ApiException.class,
+                        () -> requestAdapter.sendPrimitive(requestInformation, null, InputStream.class));
+        assertEquals(500, exception.getResponseStatusCode());
+    }
+
+    @Test
+    public void SendStreamReturnsNullOnNoContent() throws Exception {
+        handler = req -> req.response().setStatusCode(204).end();
+        final var requestAdapter = getAdapter(null);
+        final var response =
+                requestAdapter.sendPrimitive(getRequestInformation(), null, InputStream.class);
+        assertNull(response);
+        final var streamingAdapter =
+                new VertXRequestAdapter(
+                        httpClient, new AnonymousAuthenticationProvider(), null, null);
+        assertNull(streamingAdapter.sendPrimitive(getRequestInformation(), null, InputStream.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {200, 201, 202, 203, 204, 205})
+    public void SendReturnsNullOnNoContent(int statusCode) throws Exception {
+        handler = req -> req.response().setStatusCode(statusCode).end();
+        final var requestAdapter = getAdapter(null);
+        final var response = requestAdapter.send(getRequestInformation(), null, (node) -> mockEntity);
+        assertNull(response);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {200, 201, 202, 203})
+    public void SendReturnsObjectOnContent(int statusCode) throws Exception {
+        handler =
+                req ->
+                        req.response()
+                                .setStatusCode(statusCode)
+                                .putHeader("Content-Type", "application/json")
+                                .end("test");
+        final ParseNode mockParseNode = new MockParseNode(mockEntity);
+        final var requestAdapter = getAdapter(getMockFactory(mockParseNode));
+        final var response = requestAdapter.send(getRequestInformation(), null, (node) -> mockEntity);
+        assertNotNull(response);
+    }
+
+    @Test
+    public void SendAsyncDoesNotBlockTheCaller() throws Exception {
+        handler =
+                req ->
+                        req.response()
+                                .setStatusCode(200)
+                                .putHeader("Content-Type", "application/json")
+                                .end("test");
+        final var requestAdapter = getAdapter(getMockFactory(new MockParseNode(mockEntity)));
+        final var future = requestAdapter.sendAsync(getRequestInformation(), null, (node) -> mockEntity);
+        assertSame(mockEntity, future.toCompletionStage().toCompletableFuture().get());
+    }
+
+    @Test
+    public void SendsKnownSizeContentWithContentLength() throws Exception {
+        final var receivedLength = new AtomicReference<String>();
+        final var receivedBody = new AtomicReference<String>();
+        handler =
+                req -> {
+                    receivedLength.set(req.getHeader("Content-Length"));
+                    req.body()
+                            .onSuccess(
+                                    body -> {
+                                        receivedBody.set(body.toString());
+                                        req.response().setStatusCode(204).end();
+                                    });
+                };
+        final var requestInformation = getRequestInformation();
+        requestInformation.httpMethod = HttpMethod.POST;
+        requestInformation.setStreamContent(
+                new ByteArrayInputStream("my-demo-text".getBytes(StandardCharsets.UTF_8)));
+        getAdapter(null).sendPrimitive(requestInformation, null, Void.class);
+        assertEquals("12", receivedLength.get());
+        assertEquals("my-demo-text", receivedBody.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void SendsSerializedContentAsABuffer(boolean nettyBuffer) throws Exception {
+        final var receivedLength = new AtomicReference<String>();
+        final var receivedBody = new AtomicReference<String>();
+        handler =
+                req -> {
+                    receivedLength.set(req.getHeader("Content-Length"));
+                    req.body()
+                            .onSuccess(
+                                    body -> {
+                                        receivedBody.set(body.toString());
+                                        req.response().setStatusCode(204).end();
+                                    });
+                };
+        final var requestInformation = getRequestInformation();
+        requestInformation.httpMethod = HttpMethod.POST;
+        final SerializationWriterFactory factory =
+                nettyBuffer
+                        ? new BufferSerializationWriterFactory()
+                        : new JsonSerializationWriterFactory();
+        try (SerializationWriter writer = factory.getSerializationWriter("application/json")) {
+            writer.writeStringValue(null, "my-demo-text");
+            requestInformation.setStreamContent(writer.getSerializedContent());
+        }
+        getAdapter(null).sendPrimitive(requestInformation, null, Void.class);
+        assertEquals("14", receivedLength.get());
+        assertEquals("\"my-demo-text\"", receivedBody.get());
+        // released once the exchange is over
+        assertThrows(IllegalStateException.class, () -> requestInformation.content.read());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void RefusesToSendSerializedContentTwice(boolean nettyBuffer) throws Exception {
+        final var receivedBodies = new CopyOnWriteArrayList<String>();
+        handler =
+                req ->
+                        req.body()
+                                .onSuccess(
+                                        body -> {
+                                            receivedBodies.add(body.toString());
+                                            req.response().setStatusCode(204).end();
+                                        });
+        final var requestInformation = getRequestInformation();
+        requestInformation.httpMethod = HttpMethod.POST;
+        final SerializationWriterFactory factory =
+                nettyBuffer
+                        ? new BufferSerializationWriterFactory()
+                        : new JsonSerializationWriterFactory();
+        try (SerializationWriter writer = factory.getSerializationWriter("application/json")) {
+            writer.writeStringValue(null, "my-demo-text");
+            requestInformation.setStreamContent(writer.getSerializedContent());
+        }
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        httpClient, new AnonymousAuthenticationProvider(), null, null);
+        requestAdapter.sendPrimitive(requestInformation, null, Void.class);
+        // the buffer went back to its pool, another payload may already be written in it
+        try (SerializationWriter writer = factory.getSerializationWriter("application/json")) {
+            writer.writeStringValue(null, "other-text");
+            writer.getSerializedContent().close();
+        }
+        assertThrows(
+                IllegalStateException.class,
+                () -> requestAdapter.sendPrimitive(requestInformation, null, Void.class));
+        assertEquals(List.of("\"my-demo-text\""), receivedBodies);
+    }
+
+    @Test
+    public void StreamsContentOfUnknownSize() throws Exception {
+        final int size = 1024 * 1024 + 7;
+        final var receivedSize = new AtomicInteger();
+        final var receivedEncoding = new AtomicReference<String>();
+        handler =
+                req -> {
+                    receivedEncoding.set(req.getHeader("Transfer-Encoding"));
+                    req.handler(chunk -> receivedSize.addAndGet(chunk.length()));
+                    req.endHandler(v -> req.response().setStatusCode(204).end());
+                };
+        final var requestInformation = getRequestInformation();
+        requestInformation.httpMethod = HttpMethod.POST;
+        requestInformation.setStreamContent(
+                new InputStream() {
+                    private int remaining = size;
+
+                    @Override
+                    public int read() {
+                        return remaining-- > 0 ? 'a' : -1;
+                    }
+                });
+        getAdapter(null).sendPrimitive(requestInformation, null, Void.class);
+        assertEquals("chunked", receivedEncoding.get());
+        assertEquals(size, receivedSize.get());
+    }
+
+    @Test
+    public void StreamsPipedSerializedContent() throws Exception {
+        final int count = 50_000;
+        final var receivedEncoding = new AtomicReference<String>();
+        final var receivedBody = new AtomicReference<String>();
+        handler =
+                req -> {
+                    receivedEncoding.set(req.getHeader("Transfer-Encoding"));
+                    req.body()
+                            .onSuccess(
+                                    body -> {
+                                        receivedBody.set(body.toString());
+                                        req.response().setStatusCode(204).end();
+                                    });
+                };
+        final var requestInformation = getRequestInformation();
+        requestInformation.httpMethod = HttpMethod.POST;
+        final var entities = new ArrayList<IdEntity>();
+        for (int i = 0; i < count; i++) {
+            final var entity = new IdEntity();
+            entity.id = Integer.toString(i);
+            entities.add(entity);
+        }
+        try (SerializationWriter writer =
+                new PipedSerializationWriterFactory().getSerializationWriter("application/json")) {
+            writer.writeCollectionOfObjectValues(null, entities);
+            requestInformation.setStreamContent(writer.getSerializedContent());
+        }
+        getAdapter(null).sendPrimitive(requestInformation, null, Void.class);
+        assertEquals("chunked", receivedEncoding.get());
+        final var ids =
+                new JsonStreamingParseNodeFactory()
+                        .getParseNode(
+                                "application/json",
+                                new ByteArrayInputStream(
+                                        receivedBody.get().getBytes(StandardCharsets.UTF_8)))
+                        .getCollectionOfObjectValues(n -> new IdEntity());
+        assertEquals(count, ids.size());
+        assertEquals("49999", ids.get(count - 1).id);
+    }
+
+    @Test
+    public void SendsTheRequestsThroughTheMiddlewares() throws Exception {
+        final var receivedUserAgent = new AtomicReference<String>();
+        handler =
+                req -> {
+                    receivedUserAgent.set(req.getHeader("User-Agent"));
+                    req.response()
+                            .setStatusCode(200)
+                            .putHeader("Content-Type", "application/octet-stream")
+                            .end("streamed");
+                };
+        // hands the response over later, the body must still be there once it is read
+        final Middleware delaying =
+                (request, chain) ->
+                        chain.proceed(request)
+                                .compose(
+                                        response -> {
+                                            final Promise<MiddlewareResponse> delayed =
+                                                    Promise.promise();
+                                            vertx.setTimer(50, id -> delayed.complete(response));
+                                            return delayed.future();
+                                        });
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        httpClient,
+                        new AnonymousAuthenticationProvider(),
+                        null,
+                        null,
+                        List.of(new UserAgentHandler(), delaying));
+        try (InputStream body =
+                requestAdapter.sendPrimitive(getRequestInformation(), null, InputStream.class)) {
+            assertEquals("streamed", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(receivedUserAgent.get().startsWith("kiota-java/"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void RetriesThrottledRequestsWithTheirContent(boolean streaming) throws Exception {
+        final var receivedBodies = new ArrayList<String>();
+        handler =
+                req ->
+                        req.body()
+                                .onSuccess(
+                                        body -> {
+                                            receivedBodies.add(body.toString());
+                                            if (receivedBodies.size() == 1) {
+                                                req.response()
+                                                        .setStatusCode(429)
+                                                        .putHeader("Retry-After", "0")
+                                                        .end("slow down");
+                                            } else {
+                                                req.response()
+                                                        .setStatusCode(200)
+                                                        .putHeader("Content-Type", "application/octet-stream")
+                                                        .end("done");
+                                            }
+                                        });
+        final var requestInformation = getRequestInformation();
+        requestInformation.httpMethod = HttpMethod.POST;
+        requestInformation.setStreamContent(
+                new ByteArrayInputStream("my-demo-text".getBytes(StandardCharsets.UTF_8)));
+        final var requestAdapter =
+                new VertXRequestAdapter(httpClient, new AnonymousAuthenticationProvider(), null, null);
+        if (streaming) {
+            try (InputStream body =
+                    requestAdapter.sendPrimitive(requestInformation, null, InputStream.class)) {
+                assertEquals("done", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } else {
+            requestAdapter.sendPrimitive(requestInformation, null, Void.class);
+        }
+        assertEquals(List.of("my-demo-text", "my-demo-text"), receivedBodies);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentEncoding.class)
+    public void CompressesLargeRequestBodies(ContentEncoding encoding) throws Exception {
+        final var receivedEncoding = new AtomicReference<String>();
+        final var receivedBody = new AtomicReference<String>();
+        handler =
+                req ->
+                        req.body()
+                                .onSuccess(
+                                        body -> {
+                                            receivedEncoding.set(req.getHeader("Content-Encoding"));
+                                            try (InputStream decoded =
+                                                    encoding == ContentEncoding.GZIP
+                                                            ? new GZIPInputStream(
+                                                                    new ByteArrayInputStream(body.getBytes()))
+                                                            : new ZstdInputStream(
+                                                                    new ByteArrayInputStream(body.getBytes()))) {
+                                                receivedBody.set(
+                                                        new String(
+                                                                decoded.readAllBytes(),
+                                                                StandardCharsets.UTF_8));
+                                            } catch (IOException e) {
+                                                req.response().setStatusCode(400).end();
+                                                return;
+                                            }
+                                            req.response().setStatusCode(204).end();
+                                        });
+        final var text = "my-demo-text ".repeat(10_000);
+        final var option = new CompressionHandlerOption(true);
+        option.setEncoding(encoding);
+        final var requestInformation = getRequestInformation();
+        requestInformation.httpMethod = HttpMethod.POST;
+        requestInformation.setStreamContent(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+        requestInformation.addRequestOptions(List.of(option));
+        new VertXRequestAdapter(httpClient, new AnonymousAuthenticationProvider(), null, null)
+                .sendPrimitive(requestInformation, null, Void.class);
+        assertEquals(encoding.getToken(), receivedEncoding.get());
+        assertEquals(text, receivedBody.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void DecompressesResponses(boolean streaming) throws Exception {
+        final var text = "my-demo-text ".repeat(10_000);
+        final var compressed = new ByteArrayOutputStream();
+        try (OutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        final var receivedAcceptEncoding = new AtomicReference<String>();
+        handler =
+                req -> {
+                    receivedAcceptEncoding.set(req.getHeader("Accept-Encoding"));
+                    req.response()
+                            .setStatusCode(200)
+                            .putHeader("Content-Type", "application/octet-stream")
+                            .putHeader("Content-Encoding", "gzip")
+                            .end(Buffer.buffer(compressed.toByteArray()));
+                };
+        // the default client streams the response, a WebClient without the HttpClient buffers it
+        final var requestAdapter =
+                streaming
+                        ? new VertXRequestAdapter(new AnonymousAuthenticationProvider())
+                        : new VertXRequestAdapter(
+                                new AnonymousAuthenticationProvider(),
+                                WebClient.create(vertx, new WebClientOptions().setTryUseCompression(true)));
+        try (InputStream body =
+                requestAdapter.sendPrimitive(getRequestInformation(), null, InputStream.class)) {
+            assertEquals(text, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(receivedAcceptEncoding.get().contains("gzip"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void AbortsRequestsPastTheirDeadline(boolean streaming) throws Exception {
+        final var closed = new CompletableFuture<Void>();
+        // never answers, the connection is closed by the client once the deadline passes
+        handler = req -> req.connection().closeHandler(v -> closed.complete(null));
+        final var requestInformation = getRequestInformation();
+        requestInformation.addRequestOptions(
+                List.of(new TimeoutRequestOption(Duration.ofMillis(200), null)));
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        vertx.createHttpClient(), new AnonymousAuthenticationProvider(), null, null);
+        final var failure =
+                assertThrows(
+                        RuntimeException.class,
+                        () -> {
+                            if (streaming) {
+                                requestAdapter.sendPrimitive(requestInformation, null, InputStream.class);
+                            } else {
+                                requestAdapter.sendPrimitive(requestInformation, null, Void.class);
+                            }
+                        });
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+        closed.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void AbortsBufferedRequestsStillReceivingPastTheirDeadline() throws Exception {
+        final var closed = new CompletableFuture<Void>();
+        // keeps sending the body, so only the deadline ends the exchange
+        handler =
+                req -> {
+                    final var response =
+                            req.response()
+                                    .setStatusCode(200)
+                                    .putHeader("Content-Type", "application/json")
+                                    .setChunked(true);
+                    final long timer = vertx.setPeriodic(20, id -> response.write(" "));
+                    req.connection()
+                            .closeHandler(
+                                    v -> {
+                                        vertx.cancelTimer(timer);
+                                        closed.complete(null);
+                                    });
+                };
+        final var requestInformation = getRequestInformation();
+        requestInformation.addRequestOptions(
+                List.of(new TimeoutRequestOption(Duration.ofMillis(200), null)));
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        httpClient, new AnonymousAuthenticationProvider(), null, null);
+        final var failure =
+                assertThrows(
+                        RuntimeException.class,
+                        () -> requestAdapter.sendPrimitive(requestInformation, null, String.class));
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+        closed.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void RevalidatesCachedResponses() throws Exception {
+        final var received = new AtomicInteger();
+        handler =
+                req -> {
+                    received.incrementAndGet();
+                    if ("\"v1\"".equals(req.getHeader("If-None-Match"))) {
+                        req.response().setStatusCode(304).putHeader("ETag", "\"v1\"").end();
+                    } else {
+                        req.response()
+                                .setStatusCode(200)
+                                .putHeader("Content-Type", "application/json")
+                                .putHeader("ETag", "\"v1\"")
+                                .putHeader("Cache-Control", "no-cache")
+                                .end("\"reference\"");
+                    }
+                };
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        httpClient,
+                        new AnonymousAuthenticationProvider(),
+                        new JsonStreamingParseNodeFactory(),
+                        null,
+                        List.of(new ResponseCacheHandler(new ResponseCache())));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(
+                    "reference",
+                    requestAdapter.sendPrimitive(getRequestInformation(), null, String.class));
+        }
+        assertEquals(3, received.get());
+    }
+
+    @Test
+    public void ReusesTheModelsParsedFromCachedResponses() throws Exception {
+        final var received = new AtomicInteger();
+        handler =
+                req -> {
+                    received.incrementAndGet();
+                    if ("\"v1\"".equals(req.getHeader("If-None-Match"))) {
+                        req.response().setStatusCode(304).end();
+                    } else {
+                        req.response()
+                                .setStatusCode(200)
+                                .putHeader("Content-Type", "application/json")
+                                .putHeader("ETag", "\"v1\"")
+                                .putHeader("Cache-Control", "no-cache")
+                                .end("[{\"id\":\"1\"},{\"id\":\"2\"}]");
+                    }
+                };
+        final var parsed = new AtomicInteger();
+        final ParsableFactory<IdEntity> factory =
+                n -> {
+                    parsed.incrementAndGet();
+                    return new IdEntity();
+                };
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        httpClient,
+                        new AnonymousAuthenticationProvider(),
+                        new JsonStreamingParseNodeFactory(),
+                        null,
+                        List.of(
+                                new ResponseCacheHandler(
+                                        new ResponseCache(
+                                                ResponseCache.DEFAULT_MAX_SIZE,
+                                                ResponseCache.DEFAULT_MAX_ENTRY_SIZE,
+                                                true))));
+        final var first = requestAdapter.sendCollection(getRequestInformation(), null, factory);
+        final var second = requestAdapter.sendCollection(getRequestInformation(), null, factory);
+        assertEquals(List.of("1", "2"), second.stream().map(e -> e.id).collect(Collectors.toList()));
+        // revalidated, but deserialized only once
+        assertSame(first, second);
+        assertEquals(2, received.get());
+        assertEquals(2, parsed.get());
+        assertThrows(UnsupportedOperationException.class, () -> second.add(new IdEntity()));
+    }
+
+    @Test
+    public void ReturnsModifiableCollectionsWhenTheModelsAreNotKept() throws Exception {
+        handler =
+                req ->
+                        req.response()
+                                .setStatusCode(200)
+                                .putHeader("Content-Type", "application/json")
+                                .putHeader("Cache-Control", "max-age=60")
+                                .end("[{\"id\":\"1\"},{\"id\":\"2\"}]");
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        httpClient,
+                        new AnonymousAuthenticationProvider(),
+                        new JsonStreamingParseNodeFactory(),
+                        null,
+                        List.of(new ResponseCacheHandler(new ResponseCache())));
+        final var first =
+                requestAdapter.sendCollection(getRequestInformation(), null, n -> new IdEntity());
+        final var second =
+                requestAdapter.sendCollection(getRequestInformation(), null, n -> new IdEntity());
+        // served from the cache, but deserialized for each caller
+        assertNotSame(first, second);
+        assertNotSame(first.get(0), second.get(0));
+        first.add(new IdEntity());
+        assertEquals(3, first.size());
+        assertEquals(2, second.size());
+    }
+
+    private static class IdEntity implements Parsable {
+        private String id;
+
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            final Map<String, Consumer<ParseNode>> result = new HashMap<>();
+            result.put("id", n -> id = n.getStringValue());
+            return result;
+        }
+
+        public void serialize(SerializationWriter writer) {
+            writer.writeStringValue("id", id);
+        }
+    }
+
+    @Test
+    public void SendCollectionStreamYieldsTheElements() throws Exception {
+        handler =
+                req ->
+                        req.response()
+                                .setStatusCode(200)
+                                .putHeader("Content-Type", "application/json")
+                                .end("[{\"id\":\"1\"},{\"id\":\"2\",\"other\":[1]},{\"id\":\"3\"}]");
+        final var requestAdapter =
+                new VertXRequestAdapter(
+                        httpClient,
+                        new AnonymousAuthenticationProvider(),
+                        new JsonStreamingParseNodeFactory(),
+                        null);
+        try (Stream<IdEntity> elements =
+                requestAdapter.sendCollectionStream(getRequestInformation(), null, n -> new IdEntity())) {
+            assertEquals(List.of("1", "2", "3"), elements.map(e -> e.id).collect(Collectors.toList()));
+        }
+        final var ids =
+                new MutinyVertXRequestAdapter(requestAdapter)
+                        .sendCollectionMulti(getRequestInformation(), null, n -> new IdEntity())
+                        .map(e -> e.id)
+                        .collect()
+                        .asList()
+                        .await()
+                        .indefinitely();
+        assertEquals(List.of("1", "2", "3"), ids);
+    }
+
+    @Test
+    public void SendCollectionStreamReturnsNullOnNoContent() throws Exception {
+        handler = req -> req.response().setStatusCode(204).end();
+        assertNull(
+                getAdapter(null).sendCollectionStream(getRequestInformation(), null, n -> new IdEntity()));
+    }
+
+    @Test
+    public void throwsAPIException() throws Exception {
+        handler =
+                req ->
+                        req.response()
+                                .setStatusCode(404)
+                                .putHeader("Content-Type", "application/json")
+                                .putHeader("request-id", "request-id-value")
+                                .end("test");
+        final var requestAdapter = getAdapter(getMockFactory(new MockParseNode(mockEntity)));
+        final var requestInformation = getRequestInformation();
+        final var exception =
+                assertThrows(
+                        ApiException.class,
+                        () -> requestAdapter.send(requestInformation, null, (node) -> mockEntity));
+        assertNotNull(exception);
+        assertEquals(404, exception.getResponseStatusCode());
+        assertTrue(exception.getResponseHeaders().containsKey("request-id"));
+    }
+
+    private static class MockParseNode implements ParseNode {
+        private final Parsable entity;
+
+        MockParseNode(final Parsable entity) {
+            this.entity = entity;
+        }
+
+        public ParseNode getChildNode(String identifier) { return null; }
+        public String getStringValue() { return null; }
+        public Boolean getBooleanValue() { return null; }
+        public Byte getByteValue() { return null; }
+        public Short getShortValue() { return null; }
+        public BigDecimal getBigDecimalValue() { return null; }
+        public Integer getIntegerValue() { return null; }
+        public Float getFloatValue() { return null; }
+        public Double getDoubleValue() { return null; }
+        public Long getLongValue() { return null; }
+        public UUID getUUIDValue() { return null; }
+        public OffsetDateTime getOffsetDateTimeValue() { return null; }
+        public LocalDate getLocalDateValue() { return null; }
+        public LocalTime getLocalTimeValue() { return null; }
+        public PeriodAndDuration getPeriodAndDurationValue() { return null; }
+        public <T extends Enum<T>> T getEnumValue(ValuedEnumParser<T> enumParser) { return null; }
+        public <T extends Enum<T>> EnumSet<T> getEnumSetValue(ValuedEnumParser<T> enumParser) { return null; }
+        public <T> List<T> getCollectionOfPrimitiveValues(Class<T> targetClass) { return null; }
+        public <T extends Parsable> List<T> getCollectionOfObjectValues(ParsableFactory<T> factory) { return null; }
+        public <T extends Enum<T>> List<T> getCollectionOfEnumValues(ValuedEnumParser<T> enumParser) { return null; }
+        @SuppressWarnings("unchecked")
+        public <T extends Parsable> T getObjectValue(ParsableFactory<T> factory) { return (T) entity; }
+        public Consumer<Parsable> getOnBeforeAssignFieldValues() { return null; }
+        public Consumer<Parsable> getOnAfterAssignFieldValues() { return null; }
+        public void setOnBeforeAssignFieldValues(Consumer<Parsable> value) {}
+        public void setOnAfterAssignFieldValues(Consumer<Parsable> value) {}
+        public byte[] getByteArrayValue() { return null; }
+    }
+}
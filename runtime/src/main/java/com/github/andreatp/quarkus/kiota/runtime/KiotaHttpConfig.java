@@ -0,0 +1,247 @@
+package com.github.andreatp.quarkus.kiota.runtime;
+
+import com.github.andreatp.quarkus.kiota.runtime.KiotaRuntimeConfig.HttpConfig;
+import com.microsoft.kiota.http.middleware.Bulkhead;
+import com.microsoft.kiota.http.middleware.BulkheadHandler;
+import com.microsoft.kiota.http.middleware.CircuitBreaker;
+import com.microsoft.kiota.http.middleware.CircuitBreakerHandler;
+import com.microsoft.kiota.http.middleware.CoalescingHandler;
+import com.microsoft.kiota.http.middleware.Middleware;
+import com.microsoft.kiota.http.middleware.MiddlewarePipeline;
+import com.microsoft.kiota.http.middleware.RateLimitHandler;
+import com.microsoft.kiota.http.middleware.ResponseCache;
+import com.microsoft.kiota.http.middleware.ResponseCacheHandler;
+import com.microsoft.kiota.http.middleware.TimeoutHandler;
+import com.microsoft.kiota.http.middleware.options.CoalescingOption;
+import com.microsoft.kiota.http.middleware.options.RateLimitOption;
+import com.microsoft.kiota.http.middleware.options.TimeoutRequestOption;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.client.WebClientOptions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builds the http clients and the middlewares the request adapters are built on from the {@link KiotaRuntimeConfig}.
+ * Every key can be set for a single client, {@code quarkus.kiota."<client>".http.<key>}, where the client is named as
+ * in the code generation configuration, or for all of them, {@code quarkus.kiota.http.<key>}.
+ */
+public final class KiotaHttpConfig {
+    private static final boolean DEFAULT_HTTP2 = true;
+    private static final boolean DEFAULT_H2C_UPGRADE = true;
+    private static final int DEFAULT_MAX_POOL_SIZE = 50;
+    private static final int DEFAULT_HTTP2_MAX_POOL_SIZE = 1;
+    private static final int DEFAULT_HTTP2_MULTIPLEXING_LIMIT = -1;
+    private static final boolean DEFAULT_KEEP_ALIVE = true;
+    private static final Duration DEFAULT_KEEP_ALIVE_TIMEOUT = Duration.ofSeconds(60);
+    private static final boolean DEFAULT_PIPELINING = false;
+    private static final int DEFAULT_PIPELINING_LIMIT = 10;
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ZERO;
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(60);
+    private static final int DEFAULT_MAX_WAIT_QUEUE_SIZE = -1;
+    private static final boolean DEFAULT_DECOMPRESSION = true;
+    private static final boolean DEFAULT_CIRCUIT_BREAKER = false;
+    private static final boolean DEFAULT_BULKHEAD = false;
+    private static final boolean DEFAULT_CACHE = false;
+    private static final boolean DEFAULT_CACHE_PARSED_MODELS = false;
+    private static final boolean DEFAULT_COALESCING = false;
+
+    private KiotaHttpConfig() {}
+
+    /**
+     * Builds the options of the http client of a client
+     * @param config the configuration of the application.
+     * @param client the name of the client, or null for the client shared by the default request adapters.
+     * @return the options of the http client.
+     */
+    public static WebClientOptions getWebClientOptions(
+            final KiotaRuntimeConfig config, final String client) {
+        final WebClientOptions options = new WebClientOptions();
+        if (getValue(config, client, HttpConfig::http2).orElse(DEFAULT_HTTP2)) {
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setUseAlpn(true)
+                    .setAlpnVersions(List.of(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1))
+                    .setHttp2ClearTextUpgrade(
+                            getValue(config, client, HttpConfig::h2cUpgrade)
+                                    .orElse(DEFAULT_H2C_UPGRADE));
+        }
+        final Duration keepAliveTimeout =
+                getValue(config, client, HttpConfig::keepAliveTimeout)
+                        .orElse(DEFAULT_KEEP_ALIVE_TIMEOUT);
+        return options.setMaxPoolSize(
+                        getValue(config, client, HttpConfig::maxPoolSize)
+                                .orElse(DEFAULT_MAX_POOL_SIZE))
+                .setHttp2MaxPoolSize(
+                        getValue(config, client, HttpConfig::http2MaxPoolSize)
+                                .orElse(DEFAULT_HTTP2_MAX_POOL_SIZE))
+                .setHttp2MultiplexingLimit(
+                        getValue(config, client, HttpConfig::http2MultiplexingLimit)
+                                .orElse(DEFAULT_HTTP2_MULTIPLEXING_LIMIT))
+                .setKeepAlive(
+                        getValue(config, client, HttpConfig::keepAlive)
+                                .orElse(DEFAULT_KEEP_ALIVE))
+                .setKeepAliveTimeout((int) keepAliveTimeout.getSeconds())
+                .setHttp2KeepAliveTimeout((int) keepAliveTimeout.getSeconds())
+                .setPipelining(
+                        getValue(config, client, HttpConfig::pipelining)
+                                .orElse(DEFAULT_PIPELINING))
+                .setPipeliningLimit(
+                        getValue(config, client, HttpConfig::pipeliningLimit)
+                                .orElse(DEFAULT_PIPELINING_LIMIT))
+                .setIdleTimeout(
+                        (int)
+                                getValue(config, client, HttpConfig::idleTimeout)
+                                        .orElse(DEFAULT_IDLE_TIMEOUT)
+                                        .toMillis())
+                .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
+                .setConnectTimeout(
+                        (int)
+                                getValue(config, client, HttpConfig::connectTimeout)
+                                        .orElse(DEFAULT_CONNECT_TIMEOUT)
+                                        .toMillis())
+                .setMaxWaitQueueSize(
+                        getValue(config, client, HttpConfig::maxWaitQueueSize)
+                                .orElse(DEFAULT_MAX_WAIT_QUEUE_SIZE))
+                .setTryUseCompression(
+                        getValue(config, client, HttpConfig::decompression)
+                                .orElse(DEFAULT_DECOMPRESSION));
+    }
+
+    /**
+     * Creates the middlewares of the request adapters of a client, they hold the state of its servers and are meant
+     * to be shared by all its request adapters
+     * @param config the configuration of the application.
+     * @param client the name of the client, or null for the default request adapters.
+     * @return the default middlewares, with the timeouts, cache, coalescing, rate limits, circuit breakers and bulkheads of the client.
+     */
+    public static List<Middleware> getMiddlewares(
+            final KiotaRuntimeConfig config, final String client) {
+        final TimeoutRequestOption timeouts =
+                new TimeoutRequestOption(
+                        getValue(config, client, HttpConfig::timeout).orElse(null),
+                        getValue(config, client, HttpConfig::readTimeout).orElse(null));
+        final Supplier<CircuitBreaker> circuitBreakerFactory =
+                getCircuitBreakerFactory(config, client);
+        final Supplier<Bulkhead> bulkheadFactory = getBulkheadFactory(config, client);
+        final RateLimitOption rateLimit =
+                new RateLimitOption(
+                        getValue(config, client, h -> h.rateLimit().permitsPerSecond())
+                                .orElse(0.0),
+                        getValue(config, client, h -> h.rateLimit().burst())
+                                .orElse(RateLimitOption.DEFAULT_BURST),
+                        getValue(config, client, h -> h.rateLimit().maxWait()).orElse(null));
+        final List<Middleware> middlewares = new ArrayList<>();
+        for (final Middleware middleware : MiddlewarePipeline.createDefaultMiddlewares()) {
+            if (middleware instanceof TimeoutHandler) {
+                middlewares.add(new TimeoutHandler(timeouts));
+            } else if (middleware instanceof CircuitBreakerHandler) {
+                if (getValue(config, client, h -> h.circuitBreaker().enabled())
+                        .orElse(DEFAULT_CIRCUIT_BREAKER)) {
+                    middlewares.add(new CircuitBreakerHandler(circuitBreakerFactory));
+                }
+            } else if (middleware instanceof ResponseCacheHandler) {
+                if (getValue(config, client, h -> h.cache().enabled()).orElse(DEFAULT_CACHE)) {
+                    middlewares.add(
+                            new ResponseCacheHandler(
+                                    new ResponseCache(
+                                            getValue(config, client, h -> h.cache().maxSize())
+                                                    .orElse(ResponseCache.DEFAULT_MAX_SIZE),
+                                            getValue(config, client, h -> h.cache().maxEntrySize())
+                                                    .orElse(ResponseCache.DEFAULT_MAX_ENTRY_SIZE),
+                                            getValue(config, client, h -> h.cache().parsedModels())
+                                                    .orElse(DEFAULT_CACHE_PARSED_MODELS))));
+                }
+            } else if (middleware instanceof CoalescingHandler) {
+                if (getValue(config, client, h -> h.coalescing().enabled())
+                        .orElse(DEFAULT_COALESCING)) {
+                    final CoalescingOption coalescing = new CoalescingOption(true);
+                    getValue(config, client, h -> h.coalescing().headers())
+                            .ifPresent(names -> coalescing.setHeaderNames(Set.copyOf(names)));
+                    middlewares.add(new CoalescingHandler(coalescing));
+                }
+            } else if (middleware instanceof RateLimitHandler) {
+                middlewares.add(new RateLimitHandler(rateLimit));
+            } else if (middleware instanceof BulkheadHandler) {
+                if (getValue(config, client, h -> h.bulkhead().enabled())
+                        .orElse(DEFAULT_BULKHEAD)) {
+                    middlewares.add(new BulkheadHandler(bulkheadFactory));
+                }
+            } else {
+                middlewares.add(middleware);
+            }
+        }
+        return middlewares;
+    }
+
+    private static Supplier<CircuitBreaker> getCircuitBreakerFactory(
+            final KiotaRuntimeConfig config, final String client) {
+        final double failureRateThreshold =
+                getValue(config, client, h -> h.circuitBreaker().failureRateThreshold())
+                        .orElse(CircuitBreaker.DEFAULT_FAILURE_RATE_THRESHOLD);
+        final double slowCallRateThreshold =
+                getValue(config, client, h -> h.circuitBreaker().slowCallRateThreshold())
+                        .orElse(CircuitBreaker.DEFAULT_SLOW_CALL_RATE_THRESHOLD);
+        final Duration slowCallDuration =
+                getValue(config, client, h -> h.circuitBreaker().slowCallDuration())
+                        .orElse(CircuitBreaker.DEFAULT_SLOW_CALL_DURATION);
+        final int minimumCalls =
+                getValue(config, client, h -> h.circuitBreaker().minimumCalls())
+                        .orElse(CircuitBreaker.DEFAULT_MINIMUM_CALLS);
+        final Duration window =
+                getValue(config, client, h -> h.circuitBreaker().window())
+                        .orElse(CircuitBreaker.DEFAULT_WINDOW);
+        final Duration openDuration =
+                getValue(config, client, h -> h.circuitBreaker().openDuration())
+                        .orElse(CircuitBreaker.DEFAULT_OPEN_DURATION);
+        // validates the configuration on startup rather than on the first request
+        new CircuitBreaker(
+                failureRateThreshold,
+                slowCallRateThreshold,
+                slowCallDuration,
+                minimumCalls,
+                window,
+                openDuration);
+        return () ->
+                new CircuitBreaker(
+                        failureRateThreshold,
+                        slowCallRateThreshold,
+                        slowCallDuration,
+                        minimumCalls,
+                        window,
+                        openDuration);
+    }
+
+    private static Supplier<Bulkhead> getBulkheadFactory(
+            final KiotaRuntimeConfig config, final String client) {
+        final int maxConcurrentRequests =
+                getValue(config, client, h -> h.bulkhead().maxConcurrentRequests())
+                        .orElse(Bulkhead.DEFAULT_MAX_CONCURRENT_REQUESTS);
+        final int maxQueuedRequests =
+                getValue(config, client, h -> h.bulkhead().maxQueuedRequests())
+                        .orElse(Bulkhead.DEFAULT_MAX_QUEUED_REQUESTS);
+        new Bulkhead(maxConcurrentRequests, maxQueuedRequests);
+        return () -> new Bulkhead(maxConcurrentRequests, maxQueuedRequests);
+    }
+
+    /** Reads the value of the client, falling back to the one shared by all the clients. */
+    private static <T> Optional<T> getValue(
+            final KiotaRuntimeConfig config,
+            final String client,
+            final Function<HttpConfig, Optional<T>> key) {
+        if (client != null) {
+            final KiotaRuntimeConfig.ClientConfig clientConfig = config.clients().get(client);
+            if (clientConfig != null) {
+                final Optional<T> value = key.apply(clientConfig.http());
+                if (value.isPresent()) {
+                    return value;
+                }
+            }
+        }
+        return key.apply(config.http());
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.andreatp.quarkus.kiota.runtime;
+
+import com.microsoft.kiota.http.MutinyVertXRequestAdapter;
+import com.microsoft.kiota.http.VertXRequestAdapter;
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/**
+ * Produces Kiota request adapters backed by the Vert.x instance managed by Quarkus.
+ * All the adapters share a single HttpClient, and therefore a single connection pool, configured with
+ * {@code quarkus.kiota.http.*}, while each injection point gets its own adapter as the base url is mutable.
+ * The HttpClient is held by {@link KiotaRequestAdapters}, which creates the adapters of the named clients as well,
+ * it is not a bean so the ones of the application neither replace it nor conflict with it.
+ */
+@Singleton
+public class KiotaRequestAdapterProducer {
+
+    @Produces
+    @Dependent
+    @DefaultBean
+    VertXRequestAdapter requestAdapter(final KiotaRequestAdapters requestAdapters) {
+        return requestAdapters.getRequestAdapter(null);
+    }
+
+    @Produces
+    @Dependent
+    @DefaultBean
+    MutinyVertXRequestAdapter mutinyRequestAdapter(final VertXRequestAdapter requestAdapter) {
+        return new MutinyVertXRequestAdapter(requestAdapter);
+    }
+}
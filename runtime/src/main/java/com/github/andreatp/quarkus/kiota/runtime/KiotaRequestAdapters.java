@@ -0,0 +1,98 @@
+package com.github.andreatp.quarkus.kiota.runtime;
+
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import com.microsoft.kiota.authentication.AuthenticationProvider;
+import com.microsoft.kiota.http.MutinyVertXRequestAdapter;
+import com.microsoft.kiota.http.VertXRequestAdapter;
+import com.microsoft.kiota.http.middleware.Middleware;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the request adapters of the named clients, configured with {@code quarkus.kiota."<client>".http.*},
+ * and the ones of the default request adapters, configured with {@code quarkus.kiota.http.*}.
+ * Each client gets its own HttpClient, and therefore its own connection pool, shared by all its request adapters.
+ */
+@Singleton
+public class KiotaRequestAdapters {
+    private final Vertx vertx;
+    private final KiotaRuntimeConfig config;
+    private final Instance<AuthenticationProvider> authProvider;
+    private final Map<String, HttpClient> httpClients = new ConcurrentHashMap<>();
+    private final Map<String, List<Middleware>> middlewares = new ConcurrentHashMap<>();
+
+    KiotaRequestAdapters(
+            final Vertx vertx,
+            final KiotaRuntimeConfig config,
+            final Instance<AuthenticationProvider> authProvider) {
+        this.vertx = vertx;
+        this.config = config;
+        this.authProvider = authProvider;
+    }
+
+    /**
+     * Creates a new request adapter, the base url is mutable so the adapters are not shared
+     * @param client the name of the client, as in the code generation configuration, or null for a default adapter.
+     * @return the request adapter.
+     */
+    public VertXRequestAdapter getRequestAdapter(final String client) {
+        return new VertXRequestAdapter(
+                getHttpClient(client),
+                getAuthenticationProvider(authProvider),
+                null,
+                null,
+                getMiddlewares(client));
+    }
+
+    /**
+     * Creates a new Mutiny request adapter
+     * @param client the name of the client, as in the code generation configuration, or null for a default adapter.
+     * @return the request adapter.
+     */
+    public MutinyVertXRequestAdapter getMutinyRequestAdapter(final String client) {
+        return new MutinyVertXRequestAdapter(getRequestAdapter(client));
+    }
+
+    /**
+     * Gets the HttpClient of a client, it is created on first use
+     * @param client the name of the client, as in the code generation configuration, or null for the default adapters.
+     * @return the http client.
+     */
+    public HttpClient getHttpClient(final String client) {
+        // no client is named with the empty string
+        return httpClients.computeIfAbsent(
+                client == null ? "" : client,
+                name -> vertx.createHttpClient(KiotaHttpConfig.getWebClientOptions(config, client)));
+    }
+
+    /**
+     * Gets the middlewares of a client, shared by its request adapters so they share the state of its servers
+     * @param client the name of the client, or null for the default request adapters.
+     * @return the middlewares.
+     */
+    List<Middleware> getMiddlewares(final String client) {
+        // no client is named with the empty string
+        return middlewares.computeIfAbsent(
+                client == null ? "" : client,
+                name -> KiotaHttpConfig.getMiddlewares(config, client));
+    }
+
+    @PreDestroy
+    void closeHttpClients() {
+        httpClients.values().forEach(HttpClient::close);
+        httpClients.clear();
+    }
+
+    static AuthenticationProvider getAuthenticationProvider(
+            final Instance<AuthenticationProvider> authProvider) {
+        return authProvider.isResolvable()
+                ? authProvider.get()
+                : new AnonymousAuthenticationProvider();
+    }
+}
@@ -0,0 +1,205 @@
+package com.github.andreatp.quarkus.kiota.runtime;
+
+import io.quarkus.runtime.annotations.ConfigDocDefault;
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigDocSection;
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithParentName;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Runtime configuration of the http clients the request adapters are built on.
+ * The values of a client which are not set are the ones shared by all the clients, see {@link KiotaHttpConfig}.
+ */
+@ConfigMapping(prefix = "quarkus.kiota")
+@ConfigRoot(phase = ConfigPhase.RUN_TIME)
+public interface KiotaRuntimeConfig {
+    /** The http clients of all the request adapters, unless their client overrides it. */
+    @ConfigDocSection
+    HttpConfig http();
+
+    /** The clients, named as in the code generation configuration. */
+    @ConfigDocMapKey("client")
+    @WithParentName
+    Map<String, ClientConfig> clients();
+
+    @ConfigGroup
+    interface ClientConfig {
+        /** The http client of the request adapters of the client. */
+        HttpConfig http();
+    }
+
+    @ConfigGroup
+    interface HttpConfig {
+        /** Use HTTP/2, negotiated with ALPN over TLS or with an h2c upgrade, falling back to HTTP/1.1. */
+        @ConfigDocDefault("true")
+        Optional<Boolean> http2();
+
+        /** Upgrade the cleartext connections to HTTP/2, false to only use HTTP/2 over TLS. */
+        @ConfigDocDefault("true")
+        Optional<Boolean> h2cUpgrade();
+
+        /** The maximum number of HTTP/1.1 connections per server. */
+        @ConfigDocDefault("50")
+        Optional<Integer> maxPoolSize();
+
+        /** The maximum number of HTTP/2 connections per server, each one multiplexes the requests. */
+        @ConfigDocDefault("1")
+        Optional<Integer> http2MaxPoolSize();
+
+        /** The maximum number of concurrent requests on an HTTP/2 connection, -1 to use the limit of the server. */
+        @ConfigDocDefault("-1")
+        Optional<Integer> http2MultiplexingLimit();
+
+        /** Keep the connections open between requests. */
+        @ConfigDocDefault("true")
+        Optional<Boolean> keepAlive();
+
+        /** How long an unused connection is kept open, HTTP/1.1 and HTTP/2 alike. */
+        @ConfigDocDefault("60s")
+        Optional<Duration> keepAliveTimeout();
+
+        /** Pipeline the HTTP/1.1 requests. */
+        @ConfigDocDefault("false")
+        Optional<Boolean> pipelining();
+
+        /** The maximum number of requests pipelined on a connection. */
+        @ConfigDocDefault("10")
+        Optional<Integer> pipeliningLimit();
+
+        /** How long a connection can stay without reading nor writing before it is closed, 0 to never close it. */
+        @ConfigDocDefault("0")
+        Optional<Duration> idleTimeout();
+
+        /** How long opening a connection can take. */
+        @ConfigDocDefault("60s")
+        Optional<Duration> connectTimeout();
+
+        /** The maximum number of requests waiting for a connection, -1 for no limit. */
+        @ConfigDocDefault("-1")
+        Optional<Integer> maxWaitQueueSize();
+
+        /** Ask for compressed responses and decompress them while they are received. */
+        @ConfigDocDefault("true")
+        Optional<Boolean> decompression();
+
+        /** The time the requests have to complete, retries included, unbounded when not set. */
+        Optional<Duration> timeout();
+
+        /** The time the requests wait for data before they are closed, unbounded when not set. */
+        Optional<Duration> readTimeout();
+
+        /** Stop sending requests to a server once too many of them fail or are slow. */
+        CircuitBreakerConfig circuitBreaker();
+
+        /** Bound the requests in flight to a server. */
+        BulkheadConfig bulkhead();
+
+        /** Pace the requests sent to a server, shared by all the clients calling it with the same rate. */
+        RateLimitConfig rateLimit();
+
+        /** Keep the responses of the GET requests in memory, serving them while fresh and revalidating them once stale. */
+        CacheConfig cache();
+
+        /** Send a single request for the identical GET requests in flight at the same time, sharing its response. */
+        CoalescingConfig coalescing();
+    }
+
+    @ConfigGroup
+    interface CircuitBreakerConfig {
+        /** Whether the circuit breakers are enabled, false to always send the requests. */
+        @ConfigDocDefault("false")
+        Optional<Boolean> enabled();
+
+        /** The rate of failed requests past which the circuit opens. */
+        @ConfigDocDefault("0.5")
+        Optional<Double> failureRateThreshold();
+
+        /** The rate of slow requests past which the circuit opens. */
+        @ConfigDocDefault("1.0")
+        Optional<Double> slowCallRateThreshold();
+
+        /** The duration past which a request is slow. */
+        @ConfigDocDefault("60s")
+        Optional<Duration> slowCallDuration();
+
+        /** The number of requests of a window below which the circuit stays closed. */
+        @ConfigDocDefault("20")
+        Optional<Integer> minimumCalls();
+
+        /** The window over which the rates are computed. */
+        @ConfigDocDefault("10s")
+        Optional<Duration> window();
+
+        /** How long the circuit stays open before a request is let through to probe the server. */
+        @ConfigDocDefault("30s")
+        Optional<Duration> openDuration();
+    }
+
+    @ConfigGroup
+    interface BulkheadConfig {
+        /** Whether the bulkheads are enabled, false for no limit besides the connection pool. */
+        @ConfigDocDefault("false")
+        Optional<Boolean> enabled();
+
+        /** The maximum number of requests in flight to a server. */
+        @ConfigDocDefault("100")
+        Optional<Integer> maxConcurrentRequests();
+
+        /** The maximum number of requests waiting for one in flight to complete. */
+        @ConfigDocDefault("100")
+        Optional<Integer> maxQueuedRequests();
+    }
+
+    @ConfigGroup
+    interface RateLimitConfig {
+        /** The rate of the requests sent to a server, not paced when not set. */
+        Optional<Double> permitsPerSecond();
+
+        /** The number of requests which can be sent at once, above the rate. */
+        @ConfigDocDefault("1")
+        Optional<Integer> burst();
+
+        /** The longest a request waits for its permit, as long as its timeout allows when not set. */
+        Optional<Duration> maxWait();
+    }
+
+    @ConfigGroup
+    interface CacheConfig {
+        /** Whether the responses are cached. */
+        @ConfigDocDefault("false")
+        Optional<Boolean> enabled();
+
+        /** The size of the cache, in bytes. */
+        @ConfigDocDefault("10485760")
+        Optional<Long> maxSize();
+
+        /** The size past which a response is not cached, in bytes. */
+        @ConfigDocDefault("1048576")
+        Optional<Long> maxEntrySize();
+
+        /**
+         * Keep the models deserialized from the cached responses, shared by the callers which must not modify them.
+         * The collections of models are then read-only.
+         */
+        @ConfigDocDefault("false")
+        Optional<Boolean> parsedModels();
+    }
+
+    @ConfigGroup
+    interface CoalescingConfig {
+        /** Whether the identical concurrent GET requests are coalesced. */
+        @ConfigDocDefault("false")
+        Optional<Boolean> enabled();
+
+        /** The request headers which must have the same values for the requests to be coalesced. */
+        @ConfigDocDefault("Authorization,Accept")
+        Optional<List<String>> headers();
+    }
+}
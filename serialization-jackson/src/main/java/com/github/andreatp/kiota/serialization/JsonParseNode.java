@@ -26,7 +26,9 @@ import java.util.function.Consumer;
 
 /** ParseNode implementation for JSON */
 public class JsonParseNode implements ParseNode {
-    private final JsonNode currentNode;
+    private JsonNode currentNode;
+    // the node handed to the field deserializers and used for the collection elements, repointed for each value
+    private JsonParseNode reusableChild;
 
     /**
      * Creates a new instance of the JsonParseNode class.
@@ -40,17 +42,28 @@ public class JsonParseNode implements ParseNode {
     @Nullable public ParseNode getChildNode(@Nonnull final String identifier) {
         Objects.requireNonNull(identifier, "identifier parameter is required");
         if (currentNode.isObject()) {
-            final Consumer<Parsable> onBefore = this.onBeforeAssignFieldValues;
-            final Consumer<Parsable> onAfter = this.onAfterAssignFieldValues;
-            return new JsonParseNode(currentNode.get(identifier)) {
-                {
-                    this.setOnBeforeAssignFieldValues(onBefore);
-                    this.setOnAfterAssignFieldValues(onAfter);
-                }
-            };
+            final JsonParseNode result = new JsonParseNode(currentNode.get(identifier));
+            result.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
+            result.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
+            return result;
         } else return null;
     }
 
+    /**
+     * Points the reusable child node at the given value, the node is only valid until the next call.
+     * The values of a node are read one after the other, so a single child node is allocated per nesting level.
+     */
+    @Nonnull private JsonParseNode getReusableChild(@Nonnull final JsonNode node) {
+        if (reusableChild == null) {
+            reusableChild = new JsonParseNode(node);
+        } else {
+            reusableChild.currentNode = node;
+        }
+        reusableChild.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
+        reusableChild.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
+        return reusableChild;
+    }
+
     @Nullable public String getStringValue() {
         return currentNode.isTextual() ? currentNode.textValue() : null;
     }
@@ -176,10 +189,7 @@ public class JsonParseNode implements ParseNode {
             Iterator<JsonNode> iter = currentNode.elements();
             List<T> result = new ArrayList<>();
             while (iter.hasNext()) {
-                JsonNode item = iter.next();
-                final JsonParseNode itemNode = new JsonParseNode(item);
-                itemNode.setOnBeforeAssignFieldValues(this.getOnBeforeAssignFieldValues());
-                itemNode.setOnAfterAssignFieldValues(this.getOnAfterAssignFieldValues());
+                final JsonParseNode itemNode = getReusableChild(iter.next());
                 result.add(getPrimitiveElement(targetClass, itemNode));
             }
             return result;
@@ -195,10 +205,7 @@ public class JsonParseNode implements ParseNode {
             Iterator<JsonNode> iter = currentNode.elements();
             List<T> result = new ArrayList<>();
             while (iter.hasNext()) {
-                JsonNode item = iter.next();
-                final JsonParseNode itemNode = new JsonParseNode(item);
-                itemNode.setOnBeforeAssignFieldValues(this.getOnBeforeAssignFieldValues());
-                itemNode.setOnAfterAssignFieldValues(this.getOnAfterAssignFieldValues());
+                final JsonParseNode itemNode = getReusableChild(iter.next());
                 result.add(itemNode.getObjectValue(factory));
             }
             return result;
@@ -214,10 +221,7 @@ public class JsonParseNode implements ParseNode {
             Iterator<JsonNode> iter = currentNode.elements();
             List<T> result = new ArrayList<>();
             while (iter.hasNext()) {
-                JsonNode item = iter.next();
-                final JsonParseNode itemNode = new JsonParseNode(item);
-                itemNode.setOnBeforeAssignFieldValues(this.getOnBeforeAssignFieldValues());
-                itemNode.setOnAfterAssignFieldValues(this.getOnAfterAssignFieldValues());
+                final JsonParseNode itemNode = getReusableChild(iter.next());
                 result.add(itemNode.getEnumValue(enumParser));
             }
             return result;
@@ -273,10 +277,7 @@ public class JsonParseNode implements ParseNode {
                 final JsonNode fieldValue = fieldEntry.getValue();
                 if (fieldValue.isNull()) continue;
                 if (fieldDeserializer != null) {
-                    JsonParseNode itemNode = new JsonParseNode(fieldValue);
-                    itemNode.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
-                    itemNode.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
-                    fieldDeserializer.accept(itemNode);
+                    fieldDeserializer.accept(getReusableChild(fieldValue));
                 } else if (itemAdditionalData != null)
                     itemAdditionalData.put(fieldKey, this.tryGetAnything(fieldValue));
             }
@@ -5,8 +5,6 @@ import com.microsoft.kiota.serialization.ParseNodeFactory;
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /** Creates new Json parse nodes from the payload. */
@@ -32,11 +30,11 @@ public class JsonParseNodeFactory implements ParseNodeFactory {
         } else if (!contentType.equals(validContentType)) {
             throw new IllegalArgumentException("expected a " + validContentType + " content type");
         }
-        try (final InputStreamReader reader =
-                new InputStreamReader(rawResponse, StandardCharsets.UTF_8)) {
-            return new JsonParseNode(JsonMapper.mapper.readTree(reader));
+        // Jackson decodes UTF-8 straight from the bytes, going through a Reader would add a decoding pass
+        try (final InputStream input = rawResponse) {
+            return new JsonParseNode(JsonMapper.mapper.readTree(input));
         } catch (IOException ex) {
-            throw new RuntimeException("could not close the reader", ex);
+            throw new RuntimeException("could not parse the response", ex);
         }
     }
 }
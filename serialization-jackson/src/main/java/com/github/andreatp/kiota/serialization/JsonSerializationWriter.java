@@ -2,6 +2,9 @@ package com.github.andreatp.kiota.serialization;
 
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.microsoft.kiota.PeriodAndDuration;
 import com.microsoft.kiota.serialization.ComposedTypeWrapper;
 import com.microsoft.kiota.serialization.Parsable;
@@ -9,10 +12,10 @@ import com.microsoft.kiota.serialization.SerializationWriter;
 import com.microsoft.kiota.serialization.ValuedEnum;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -26,6 +29,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -33,13 +38,46 @@ import java.util.stream.Stream;
 
 /** Serialization writer implementation for JSON */
 public class JsonSerializationWriter implements SerializationWriter {
-    private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    @Nullable private final OutputBuffer stream;
     private final JsonGenerator generator;
+    // the field names of the model being serialized, null outside of models
+    @Nullable private FieldNames fieldNames;
+
+    private static final ClassValue<FieldNames> fieldNamesByModel =
+            new ClassValue<>() {
+                @Override
+                protected FieldNames computeValue(final Class<?> type) {
+                    return new FieldNames();
+                }
+            };
 
     /** Creates a new instance of a json serialization writer */
     public JsonSerializationWriter() {
+        this((OutputBufferPool) null);
+    }
+
+    /**
+     * Creates a new instance of a json serialization writer
+     * @param pool the pool to take the output buffer from, if any.
+     */
+    JsonSerializationWriter(@Nullable final OutputBufferPool pool) {
+        this.stream = new OutputBuffer(pool);
+        this.generator = createGenerator(this.stream);
+    }
+
+    /**
+     * Creates a new instance of a json serialization writer writing to the given output, subclasses hand the written bytes over by overriding {@link #getSerializedContent()}.
+     * @param output the output to write the payload to.
+     */
+    protected JsonSerializationWriter(@Nonnull final OutputStream output) {
+        Objects.requireNonNull(output, "parameter output cannot be null");
+        this.stream = null;
+        this.generator = createGenerator(output);
+    }
+
+    private static JsonGenerator createGenerator(@Nonnull final OutputStream output) {
         try {
-            this.generator = JsonMapper.mapper.writer().createGenerator(this.stream, JsonEncoding.UTF8);
+            return JsonMapper.mapper.writer().createGenerator(output, JsonEncoding.UTF8);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -48,11 +86,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeStringValue(@Nullable final String key, @Nullable final String value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, value);
-                } else {
-                    generator.writeString(value);
-                }
+                writeFieldName(key);
+                generator.writeString(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -61,11 +96,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeBooleanValue(@Nullable final String key, @Nullable final Boolean value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeBooleanField(key, value);
-                } else {
-                    generator.writeBoolean(value);
-                }
+                writeFieldName(key);
+                generator.writeBoolean(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -74,11 +106,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeShortValue(@Nullable final String key, @Nullable final Short value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
-                }
+                writeFieldName(key);
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -87,11 +116,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeByteValue(@Nullable final String key, @Nullable final Byte value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
-                }
+                writeFieldName(key);
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -100,11 +126,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeBigDecimalValue(@Nullable final String key, @Nullable final BigDecimal value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
-                }
+                writeFieldName(key);
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -113,11 +136,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeIntegerValue(@Nullable final String key, @Nullable final Integer value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
-                }
+                writeFieldName(key);
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -126,11 +146,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeFloatValue(@Nullable final String key, @Nullable final Float value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
-                }
+                writeFieldName(key);
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -139,11 +156,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeDoubleValue(@Nullable final String key, @Nullable final Double value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
-                }
+                writeFieldName(key);
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -152,11 +166,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeLongValue(@Nullable final String key, @Nullable final Long value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
-                }
+                writeFieldName(key);
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -165,11 +176,8 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeUUIDValue(@Nullable final String key, @Nullable final UUID value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, value.toString());
-                } else {
-                    generator.writeString(value.toString());
-                }
+                writeFieldName(key);
+                generator.writeString(value.toString());
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -180,11 +188,8 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 String date = value.format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, date);
-                } else {
-                    generator.writeString(date);
-                }
+                writeFieldName(key);
+                generator.writeString(date);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -194,11 +199,8 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 String date = value.format(DateTimeFormatter.ISO_LOCAL_DATE);
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, date);
-                } else {
-                    generator.writeString(date);
-                }
+                writeFieldName(key);
+                generator.writeString(date);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -208,11 +210,8 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 String date = value.format(DateTimeFormatter.ISO_LOCAL_TIME);
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, date);
-                } else {
-                    generator.writeString(date);
-                }
+                writeFieldName(key);
+                generator.writeString(date);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -222,11 +221,8 @@ public class JsonSerializationWriter implements SerializationWriter {
             @Nullable final String key, @Nullable final PeriodAndDuration value) {
         if (value != null)
             try {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, value.toString());
-                } else {
-                    generator.writeString(value.toString());
-                }
+                writeFieldName(key);
+                generator.writeString(value.toString());
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -236,11 +232,8 @@ public class JsonSerializationWriter implements SerializationWriter {
             @Nullable final String key, @Nullable final Iterable<T> values) {
         try {
             if (values != null) { // empty array is meaningful
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStartArray(key);
-                } else {
-                    generator.writeStartArray();
-                }
+                writeFieldName(key);
+                generator.writeStartArray();
                 for (final T t : values) {
                     this.writeAnyValue(null, t);
                 }
@@ -255,11 +248,8 @@ public class JsonSerializationWriter implements SerializationWriter {
             @Nullable final String key, @Nullable final Iterable<T> values) {
         try {
             if (values != null) { // empty array is meaningful
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStartArray(key);
-                } else {
-                    generator.writeStartArray();
-                }
+                writeFieldName(key);
+                generator.writeStartArray();
                 for (final T t : values) {
                     this.writeObjectValue(null, t);
                 }
@@ -274,11 +264,8 @@ public class JsonSerializationWriter implements SerializationWriter {
             @Nullable final String key, @Nullable final Iterable<T> values) {
         try {
             if (values != null) { // empty array is meaningful
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStartArray(key);
-                } else {
-                    generator.writeStartArray();
-                }
+                writeFieldName(key);
+                generator.writeStartArray();
                 for (final T t : values) {
                     this.writeEnumValue(null, t);
                 }
@@ -300,9 +287,7 @@ public class JsonSerializationWriter implements SerializationWriter {
                             .filter(Objects::nonNull)
                             .collect(Collectors.toList());
             if (value != null || !nonNullAdditionalValuesToMerge.isEmpty()) {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStartObject(key);
-                }
+                writeFieldName(key);
                 if (onBeforeObjectSerialization != null && value != null) {
                     onBeforeObjectSerialization.accept(value);
                 }
@@ -310,10 +295,12 @@ public class JsonSerializationWriter implements SerializationWriter {
                 if (!serializingComposedType) {
                     generator.writeStartObject();
                 }
+                final FieldNames parentFieldNames = this.fieldNames;
                 if (value != null) {
                     if (onStartObjectSerialization != null) {
                         onStartObjectSerialization.accept(value, this);
                     }
+                    this.fieldNames = fieldNamesByModel.get(value.getClass());
                     value.serialize(this);
                 }
                 for (final Parsable additionalValueToMerge : nonNullAdditionalValuesToMerge) {
@@ -323,11 +310,13 @@ public class JsonSerializationWriter implements SerializationWriter {
                     if (onStartObjectSerialization != null) {
                         onStartObjectSerialization.accept(additionalValueToMerge, this);
                     }
+                    this.fieldNames = fieldNamesByModel.get(additionalValueToMerge.getClass());
                     additionalValueToMerge.serialize(this);
                     if (onAfterObjectSerialization != null) {
                         onAfterObjectSerialization.accept(additionalValueToMerge);
                     }
                 }
+                this.fieldNames = parentFieldNames;
                 if (!serializingComposedType) {
                     generator.writeEndObject();
                 }
@@ -365,11 +354,8 @@ public class JsonSerializationWriter implements SerializationWriter {
 
     public void writeNullValue(@Nullable final String key) {
         try {
-            if (key != null && !key.isEmpty()) {
-                generator.writeNullField(key);
-            } else {
-                generator.writeNull();
-            }
+            writeFieldName(key);
+            generator.writeNull();
         } catch (IOException ex) {
             throw new RuntimeException("could not serialize value", ex);
         }
@@ -383,11 +369,18 @@ public class JsonSerializationWriter implements SerializationWriter {
     }
 
     @Nonnull public InputStream getSerializedContent() {
+        this.flush();
+        if (this.stream == null) {
+            throw new IllegalStateException("the output of this writer is not held in memory");
+        }
+        this.stream.contentTaken = true;
+        return new SerializedContent(this.stream);
+    }
+
+    /** Writes the buffered content of the generator to the output. */
+    protected void flush() {
         try {
             this.generator.flush();
-            return new ByteArrayInputStream(this.stream.toByteArray());
-            // This copies the whole array in memory could result in memory pressure for large
-            // objects, we might want to replace by some kind of piping in the future
         } catch (IOException ex) {
             throw new RuntimeException(ex);
         }
@@ -397,65 +390,169 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (this.generator != null && !this.generator.isClosed()) {
             this.generator.close();
         }
-        this.stream.close();
+        // once handed over, the buffer is released by the serialized content
+        if (this.stream != null && !this.stream.contentTaken) {
+            this.stream.release();
+        }
+    }
+
+    /** The output of the writer, its array is shared with the serialized content instead of being copied. */
+    static final class OutputBuffer extends ByteArrayOutputStream {
+        @Nullable private final OutputBufferPool pool;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private boolean contentTaken;
+
+        OutputBuffer(@Nullable final OutputBufferPool pool) {
+            super(0);
+            this.pool = pool;
+            this.buf = pool == null ? new byte[32] : pool.acquire();
+        }
+
+        @Nonnull byte[] buffer() {
+            return this.buf;
+        }
+
+        void release() {
+            if (this.pool != null && this.released.compareAndSet(false, true)) {
+                this.pool.release(this.buf);
+            }
+        }
     }
 
     public void writeAdditionalData(@Nonnull final Map<String, Object> value) {
         if (value == null) return;
+        // the keys of the additional data vary from one payload to the other, they are not cached
+        final FieldNames modelFieldNames = this.fieldNames;
+        this.fieldNames = null;
         for (final Map.Entry<String, Object> dataValue : value.entrySet()) {
             this.writeAnyValue(dataValue.getKey(), dataValue.getValue());
         }
+        this.fieldNames = modelFieldNames;
     }
 
-    private void writeNonParsableObject(@Nullable final String key, @Nullable final Object value) {
-        try {
-            if (value == null) writeNullValue(key);
-            else {
-                if (key != null && !key.isEmpty()) {
-                    generator.writeStartObject(key);
-                } else {
-                    generator.writeStartObject();
-                }
-                final Class<?> valueClass = value.getClass();
-                for (final Field oProp : valueClass.getFields())
-                    writeAnyValue(oProp.getName(), oProp.get(value));
-                generator.writeEndObject();
+    private void writeFieldName(@Nullable final String key) throws IOException {
+        if (key != null && !key.isEmpty()) {
+            if (this.fieldNames != null) {
+                generator.writeFieldName(this.fieldNames.get(key));
+            } else {
+                generator.writeFieldName(key);
+            }
+        }
+    }
+
+    /** The field names written by a model class, escaped and encoded once for all the writers. */
+    private static final class FieldNames {
+        // a model writes a fixed set of keys, the bound only guards against models writing arbitrary ones
+        private static final int maxSize = 1024;
+        private final ConcurrentHashMap<String, SerializableString> names = new ConcurrentHashMap<>();
+
+        @Nonnull SerializableString get(@Nonnull final String key) {
+            final SerializableString name = names.get(key);
+            if (name != null) {
+                return name;
             }
+            final SerializedString encoded = new SerializedString(key);
+            encoded.asQuotedUTF8();
+            if (names.size() < maxSize) {
+                names.putIfAbsent(key, encoded);
+            }
+            return encoded;
+        }
+    }
+
+    private void writeNonParsableObject(
+            @Nullable final String key, @Nonnull final Object value, @Nonnull final Field[] fields) {
+        try {
+            writeFieldName(key);
+            generator.writeStartObject();
+            for (final Field oProp : fields) writeAnyValue(oProp.getName(), oProp.get(value));
+            generator.writeEndObject();
         } catch (IOException | IllegalAccessException ex) {
             throw new RuntimeException("could not serialize value", ex);
         }
     }
 
+    private void writeTreeValue(@Nullable final String key, @Nonnull final JsonNode value) {
+        try {
+            writeFieldName(key);
+            generator.writeTree(value);
+        } catch (IOException ex) {
+            throw new RuntimeException("could not serialize value", ex);
+        }
+    }
+
     private void writeAnyValue(@Nullable final String key, @Nullable final Object value) {
         if (value == null) {
             this.writeNullValue(key);
         } else {
-            final Class<?> valueClass = value.getClass();
-            if (valueClass.equals(String.class)) this.writeStringValue(key, (String) value);
-            else if (valueClass.equals(Boolean.class)) this.writeBooleanValue(key, (Boolean) value);
-            else if (valueClass.equals(Byte.class)) this.writeByteValue(key, (Byte) value);
-            else if (valueClass.equals(Short.class)) this.writeShortValue(key, (Short) value);
-            else if (valueClass.equals(BigDecimal.class))
-                this.writeBigDecimalValue(key, (BigDecimal) value);
-            else if (valueClass.equals(Float.class)) this.writeFloatValue(key, (Float) value);
-            else if (valueClass.equals(Long.class)) this.writeLongValue(key, (Long) value);
-            else if (valueClass.equals(Integer.class)) this.writeIntegerValue(key, (Integer) value);
-            else if (valueClass.equals(UUID.class)) this.writeUUIDValue(key, (UUID) value);
-            else if (valueClass.equals(OffsetDateTime.class))
-                this.writeOffsetDateTimeValue(key, (OffsetDateTime) value);
-            else if (valueClass.equals(LocalDate.class))
-                this.writeLocalDateValue(key, (LocalDate) value);
-            else if (valueClass.equals(LocalTime.class))
-                this.writeLocalTimeValue(key, (LocalTime) value);
-            else if (valueClass.equals(PeriodAndDuration.class))
-                this.writePeriodAndDurationValue(key, (PeriodAndDuration) value);
-            else if (value instanceof Iterable<?>)
-                this.writeCollectionOfPrimitiveValues(key, (Iterable<?>) value);
-            else if (!valueClass.isPrimitive()) this.writeNonParsableObject(key, value);
-            else throw new RuntimeException("unknown type to serialize " + valueClass.getName());
+            valueWriters.get(value.getClass()).write(this, key, value);
         }
     }
 
+    /** Writes the untyped values of a given class, such as the ones of the additional data. */
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(
+                @Nonnull JsonSerializationWriter writer,
+                @Nullable String key,
+                @Nonnull Object value);
+    }
+
+    // resolved once per value class instead of going through the type checks for every value
+    private static final ClassValue<ValueWriter> valueWriters =
+            new ClassValue<>() {
+                @Override
+                protected ValueWriter computeValue(final Class<?> valueClass) {
+                    return getValueWriter(valueClass);
+                }
+            };
+
+    @Nonnull private static ValueWriter getValueWriter(@Nonnull final Class<?> valueClass) {
+        if (valueClass.equals(String.class))
+            return (writer, key, value) -> writer.writeStringValue(key, (String) value);
+        else if (valueClass.equals(Boolean.class))
+            return (writer, key, value) -> writer.writeBooleanValue(key, (Boolean) value);
+        else if (valueClass.equals(Byte.class))
+            return (writer, key, value) -> writer.writeByteValue(key, (Byte) value);
+        else if (valueClass.equals(Short.class))
+            return (writer, key, value) -> writer.writeShortValue(key, (Short) value);
+        else if (valueClass.equals(BigDecimal.class))
+            return (writer, key, value) -> writer.writeBigDecimalValue(key, (BigDecimal) value);
+        else if (valueClass.equals(Float.class))
+            return (writer, key, value) -> writer.writeFloatValue(key, (Float) value);
+        else if (valueClass.equals(Double.class))
+            return (writer, key, value) -> writer.writeDoubleValue(key, (Double) value);
+        else if (valueClass.equals(Long.class))
+            return (writer, key, value) -> writer.writeLongValue(key, (Long) value);
+        else if (valueClass.equals(Integer.class))
+            return (writer, key, value) -> writer.writeIntegerValue(key, (Integer) value);
+        else if (valueClass.equals(UUID.class))
+            return (writer, key, value) -> writer.writeUUIDValue(key, (UUID) value);
+        else if (valueClass.equals(OffsetDateTime.class))
+            return (writer, key, value) ->
+                    writer.writeOffsetDateTimeValue(key, (OffsetDateTime) value);
+        else if (valueClass.equals(LocalDate.class))
+            return (writer, key, value) -> writer.writeLocalDateValue(key, (LocalDate) value);
+        else if (valueClass.equals(LocalTime.class))
+            return (writer, key, value) -> writer.writeLocalTimeValue(key, (LocalTime) value);
+        else if (valueClass.equals(PeriodAndDuration.class))
+            return (writer, key, value) ->
+                    writer.writePeriodAndDurationValue(key, (PeriodAndDuration) value);
+        // checked before Iterable, json nodes are iterable over their children
+        else if (JsonNode.class.isAssignableFrom(valueClass))
+            return (writer, key, value) -> writer.writeTreeValue(key, (JsonNode) value);
+        else if (Iterable.class.isAssignableFrom(valueClass))
+            return (writer, key, value) ->
+                    writer.writeCollectionOfPrimitiveValues(key, (Iterable<?>) value);
+        else if (!valueClass.isPrimitive()) {
+            final Field[] fields = valueClass.getFields();
+            return (writer, key, value) -> writer.writeNonParsableObject(key, value, fields);
+        } else
+            return (writer, key, value) -> {
+                throw new RuntimeException("unknown type to serialize " + valueClass.getName());
+            };
+    }
+
     @Nullable public Consumer<Parsable> getOnBeforeObjectSerialization() {
         return this.onBeforeObjectSerialization;
     }
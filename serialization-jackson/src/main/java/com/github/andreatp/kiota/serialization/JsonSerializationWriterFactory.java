@@ -7,7 +7,12 @@ import java.util.Objects;
 
 /** Creates new Json serialization writers. */
 public class JsonSerializationWriterFactory implements SerializationWriterFactory {
-    /** Creates a new factory */
+    private final OutputBufferPool pool = new OutputBufferPool();
+
+    /**
+     * Creates a new factory, its writers reuse the output buffers of the payloads which were closed.
+     * The request adapters close the payload once the exchange is over, a request with such a body can only be sent once.
+     */
     public JsonSerializationWriterFactory() {}
 
     /** {@inheritDoc} */
@@ -26,6 +31,6 @@ public class JsonSerializationWriterFactory implements SerializationWriterFactor
         } else if (!contentType.equals(validContentType)) {
             throw new IllegalArgumentException("expected a " + validContentType + " content type");
         }
-        return new JsonSerializationWriter();
+        return new JsonSerializationWriter(pool);
     }
 }
@@ -0,0 +1,677 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.microsoft.kiota.PeriodAndDuration;
+import com.microsoft.kiota.serialization.AdditionalDataHolder;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ValuedEnumParser;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * ParseNode implementation for JSON reading the tokens as they come from a JsonParser, without building a tree.
+ * The value of a node can be read only once, unless it has been buffered: the fields read ahead while looking for
+ * a discriminator are kept in a TokenBuffer, and so is the whole value when it is read while the model is created.
+ */
+public class JsonStreamingParseNode implements ParseNode {
+    private JsonParser parser;
+    private JsonToken startToken;
+    private final boolean root;
+    // the fields of the object read ahead by getChildNode
+    private TokenBuffer prefix;
+    // the whole value, once it has to be read more than once
+    private TokenBuffer buffer;
+    private boolean consumed;
+    private boolean creating;
+    // the node handed to the field deserializers and used for the collection elements, repointed for each value
+    private JsonStreamingParseNode reusableChild;
+
+    /**
+     * Creates a new instance of the JsonStreamingParseNode class.
+     * @param parser the parser to read from, positioned on the first token of the value. It is closed once the value has been read.
+     */
+    public JsonStreamingParseNode(@Nonnull final JsonParser parser) {
+        this(parser, true);
+    }
+
+    private JsonStreamingParseNode(@Nonnull final JsonParser parser, final boolean root) {
+        this.parser = Objects.requireNonNull(parser, "parameter parser cannot be null");
+        this.startToken = parser.currentToken();
+        this.root = root;
+    }
+
+    @Nonnull private JsonStreamingParseNode createChildNode(@Nonnull final JsonParser parser) {
+        final JsonStreamingParseNode result = new JsonStreamingParseNode(parser, false);
+        result.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
+        result.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
+        return result;
+    }
+
+    /**
+     * Points the reusable child node at the current value of the parser, the node is only valid until the next call.
+     * The values of a node are read one after the other, so a single child node is allocated per nesting level.
+     */
+    @Nonnull private JsonStreamingParseNode getReusableChild(@Nonnull final JsonParser parser) {
+        if (reusableChild == null) {
+            reusableChild = createChildNode(parser);
+            return reusableChild;
+        }
+        reusableChild.parser = parser;
+        reusableChild.startToken = parser.currentToken();
+        reusableChild.prefix = null;
+        reusableChild.buffer = null;
+        reusableChild.consumed = false;
+        reusableChild.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
+        reusableChild.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
+        return reusableChild;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable public ParseNode getChildNode(@Nonnull final String identifier) {
+        Objects.requireNonNull(identifier, "identifier parameter is required");
+        if (startToken != JsonToken.START_OBJECT) {
+            return null;
+        }
+        if (buffer != null) {
+            return findField(buffer, identifier);
+        }
+        if (consumed) {
+            throw new IllegalStateException("the value of this node has already been read");
+        }
+        try {
+            if (prefix == null) {
+                prefix = new TokenBuffer(parser, null);
+                prefix.writeStartObject();
+            } else {
+                final ParseNode result = findField(prefix, identifier);
+                if (result != null) {
+                    return result;
+                }
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.currentName();
+                prefix.copyCurrentStructure(parser);
+                if (fieldName.equals(identifier)) {
+                    return findField(prefix, identifier);
+                }
+            }
+            // the whole object has been read ahead
+            prefix.writeEndObject();
+            buffer = prefix;
+            prefix = null;
+            closeIfRoot();
+            return null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable private ParseNode findField(@Nonnull final TokenBuffer source, @Nonnull final String identifier) {
+        try {
+            final JsonParser sourceParser = source.asParser(parser.getCodec());
+            sourceParser.nextToken();
+            while (sourceParser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = sourceParser.currentName();
+                sourceParser.nextToken();
+                if (fieldName.equals(identifier)) {
+                    return createChildNode(sourceParser);
+                }
+                sourceParser.skipChildren();
+            }
+            return null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    /**
+     * Returns the parser to read a structured value from, buffering the value first when it may be read again.
+     */
+    @Nonnull private JsonParser open() throws IOException {
+        if (buffer == null && creating) {
+            // the factory is looking at the value, it is read again to assign the fields afterwards
+            if (prefix == null) {
+                buffer = new TokenBuffer(parser, null);
+                buffer.copyCurrentStructure(parser);
+            } else {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    prefix.copyCurrentStructure(parser);
+                }
+                prefix.writeEndObject();
+                buffer = prefix;
+                prefix = null;
+            }
+            closeIfRoot();
+        }
+        if (buffer != null) {
+            final JsonParser result = buffer.asParser(parser.getCodec());
+            result.nextToken();
+            return result;
+        }
+        if (consumed) {
+            throw new IllegalStateException("the value of this node has already been read");
+        }
+        consumed = true;
+        if (prefix == null) {
+            return parser;
+        }
+        final JsonParser prefixParser = prefix.asParser(parser.getCodec());
+        prefixParser.nextToken();
+        prefix = null;
+        return JsonParserSequence.createFlattened(false, prefixParser, parser);
+    }
+
+    /**
+     * Moves the parser to the last token of the value, if it has not been read by a field deserializer.
+     */
+    private void skip() throws IOException {
+        if (buffer != null || consumed) {
+            return;
+        }
+        if (prefix == null) {
+            parser.skipChildren();
+        } else {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+                parser.skipChildren();
+            }
+            prefix = null;
+        }
+    }
+
+    private void closeIfRoot() throws IOException {
+        if (root) {
+            parser.close();
+        }
+    }
+
+    @Nullable private JsonToken getScalarToken() {
+        if (startToken == null || startToken.isStructStart()) {
+            return null;
+        }
+        return startToken;
+    }
+
+    @Nullable public String getStringValue() {
+        try {
+            return getScalarToken() == JsonToken.VALUE_STRING ? parser.getText() : null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public Boolean getBooleanValue() {
+        final JsonToken token = getScalarToken();
+        return token != null && token.isBoolean() ? token == JsonToken.VALUE_TRUE : null;
+    }
+
+    @Nullable private JsonParser.NumberType getIntegralNumberType() {
+        try {
+            return getScalarToken() == JsonToken.VALUE_NUMBER_INT ? parser.getNumberType() : null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public Byte getByteValue() {
+        try {
+            if (getIntegralNumberType() == JsonParser.NumberType.INT) {
+                final int intValue = parser.getIntValue();
+                if (intValue >= Byte.MIN_VALUE && intValue <= Byte.MAX_VALUE) {
+                    return (byte) intValue;
+                }
+            }
+            return null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public Short getShortValue() {
+        try {
+            if (getIntegralNumberType() == JsonParser.NumberType.INT) {
+                final int intValue = parser.getIntValue();
+                if (intValue >= Short.MIN_VALUE && intValue <= Short.MAX_VALUE) {
+                    return (short) intValue;
+                }
+            }
+            return null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public BigDecimal getBigDecimalValue() {
+        try {
+            final JsonToken token = getScalarToken();
+            return token != null && token.isNumeric() ? parser.getDecimalValue() : null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public Integer getIntegerValue() {
+        try {
+            return getIntegralNumberType() == JsonParser.NumberType.INT ? parser.getIntValue() : null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public Float getFloatValue() {
+        try {
+            if (getScalarToken() == JsonToken.VALUE_NUMBER_FLOAT) {
+                final double doubleValue = parser.getDoubleValue();
+                if (Math.abs(doubleValue) <= Float.MAX_VALUE) {
+                    return (float) doubleValue;
+                }
+            }
+            return null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public Double getDoubleValue() {
+        try {
+            return getScalarToken() == JsonToken.VALUE_NUMBER_FLOAT ? parser.getDoubleValue() : null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public Long getLongValue() {
+        try {
+            final JsonParser.NumberType numberType = getIntegralNumberType();
+            return numberType == JsonParser.NumberType.INT || numberType == JsonParser.NumberType.LONG
+                    ? parser.getLongValue()
+                    : null;
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public UUID getUUIDValue() {
+        final String value = getStringValue();
+        return value == null ? null : UUID.fromString(value);
+    }
+
+    @Nullable public OffsetDateTime getOffsetDateTimeValue() {
+        final String value = getStringValue();
+        return value == null ? null : OffsetDateTime.parse(value);
+    }
+
+    @Nullable public LocalDate getLocalDateValue() {
+        final String value = getStringValue();
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    @Nullable public LocalTime getLocalTimeValue() {
+        final String value = getStringValue();
+        return value == null ? null : LocalTime.parse(value);
+    }
+
+    @Nullable public PeriodAndDuration getPeriodAndDurationValue() {
+        final String value = getStringValue();
+        return value == null ? null : PeriodAndDuration.parse(value);
+    }
+
+    @Nullable private <T> T getPrimitiveElement(@Nonnull final Class<T> targetClass, @Nonnull final JsonStreamingParseNode itemNode) {
+        if (targetClass == Boolean.class) {
+            return (T) itemNode.getBooleanValue();
+        } else if (targetClass == Short.class) {
+            return (T) itemNode.getShortValue();
+        } else if (targetClass == Byte.class) {
+            return (T) itemNode.getByteValue();
+        } else if (targetClass == BigDecimal.class) {
+            return (T) itemNode.getBigDecimalValue();
+        } else if (targetClass == String.class) {
+            return (T) itemNode.getStringValue();
+        } else if (targetClass == Integer.class) {
+            return (T) itemNode.getIntegerValue();
+        } else if (targetClass == Float.class) {
+            return (T) itemNode.getFloatValue();
+        } else if (targetClass == Long.class) {
+            return (T) itemNode.getLongValue();
+        } else if (targetClass == UUID.class) {
+            return (T) itemNode.getUUIDValue();
+        } else if (targetClass == OffsetDateTime.class) {
+            return (T) itemNode.getOffsetDateTimeValue();
+        } else if (targetClass == LocalDate.class) {
+            return (T) itemNode.getLocalDateValue();
+        } else if (targetClass == LocalTime.class) {
+            return (T) itemNode.getLocalTimeValue();
+        } else if (targetClass == PeriodAndDuration.class) {
+            return (T) itemNode.getPeriodAndDurationValue();
+        } else {
+            throw new RuntimeException(
+                    "unknown type to deserialize "
+                            + targetClass.getName());
+        }
+    }
+
+    @Nullable public <T> List<T> getCollectionOfPrimitiveValues(@Nonnull final Class<T> targetClass) {
+        Objects.requireNonNull(targetClass, "parameter targetClass cannot be null");
+        if (startToken == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (startToken == JsonToken.START_ARRAY) {
+            try {
+                final JsonParser arrayParser = open();
+                final List<T> result = new ArrayList<>();
+                while (arrayParser.nextToken() != JsonToken.END_ARRAY) {
+                    final JsonStreamingParseNode itemNode = getReusableChild(arrayParser);
+                    result.add(getPrimitiveElement(targetClass, itemNode));
+                    itemNode.skip();
+                }
+                closeIfRoot();
+                return result;
+            } catch (IOException ex) {
+                throw new RuntimeException("could not read the json value", ex);
+            }
+        } else throw new RuntimeException("invalid state expected to have an array node");
+    }
+
+    @Nullable public <T extends Parsable> List<T> getCollectionOfObjectValues(
+            @Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        if (startToken == JsonToken.START_ARRAY) {
+            final List<T> result = new ArrayList<>();
+            iterateCollectionOfObjectValues(factory).forEachRemaining(result::add);
+            return result;
+        } else return null;
+    }
+
+    /**
+     * Reads the elements of the array one at a time, an element is parsed only when the iterator reaches it.
+     * Unlike getCollectionOfObjectValues, the elements already returned are not retained.
+     * @param factory the factory of the elements.
+     * @return an iterator over the elements, empty when the value is not an array.
+     */
+    @Nonnull public <T extends Parsable> Iterator<T> iterateCollectionOfObjectValues(
+            @Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        if (startToken != JsonToken.START_ARRAY) {
+            return Collections.emptyIterator();
+        }
+        try {
+            final JsonParser arrayParser = open();
+            return new Iterator<T>() {
+                private JsonToken next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next == null) {
+                        try {
+                            next = arrayParser.nextToken();
+                            if (next == JsonToken.END_ARRAY) {
+                                closeIfRoot();
+                            }
+                        } catch (IOException ex) {
+                            throw new RuntimeException("could not read the json value", ex);
+                        }
+                    }
+                    return next != JsonToken.END_ARRAY;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    next = null;
+                    final JsonStreamingParseNode itemNode = getReusableChild(arrayParser);
+                    final T result = itemNode.getObjectValue(factory);
+                    try {
+                        itemNode.skip();
+                    } catch (IOException ex) {
+                        throw new RuntimeException("could not read the json value", ex);
+                    }
+                    return result;
+                }
+            };
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    @Nullable public <T extends Enum<T>> List<T> getCollectionOfEnumValues(
+            @Nonnull final ValuedEnumParser<T> enumParser) {
+        Objects.requireNonNull(enumParser, "parameter enumParser cannot be null");
+        if (startToken == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (startToken == JsonToken.START_ARRAY) {
+            try {
+                final JsonParser arrayParser = open();
+                final List<T> result = new ArrayList<>();
+                while (arrayParser.nextToken() != JsonToken.END_ARRAY) {
+                    final JsonStreamingParseNode itemNode = getReusableChild(arrayParser);
+                    result.add(itemNode.getEnumValue(enumParser));
+                    itemNode.skip();
+                }
+                closeIfRoot();
+                return result;
+            } catch (IOException ex) {
+                throw new RuntimeException("could not read the json value", ex);
+            }
+        } else throw new RuntimeException("invalid state expected to have an array node");
+    }
+
+    @Nonnull public <T extends Parsable> T getObjectValue(@Nonnull final ParsableFactory<T> factory) {
+        Objects.requireNonNull(factory, "parameter factory cannot be null");
+        final T item;
+        creating = true;
+        try {
+            item = factory.create(this);
+        } finally {
+            creating = false;
+        }
+        assignFieldValues(item, item.getFieldDeserializers());
+        return item;
+    }
+
+    @Nullable public <T extends Enum<T>> T getEnumValue(@Nonnull final ValuedEnumParser<T> enumParser) {
+        final String rawValue = this.getStringValue();
+        if (rawValue == null || rawValue.isEmpty()) {
+            return null;
+        }
+        return enumParser.forValue(rawValue);
+    }
+
+    @Nullable public <T extends Enum<T>> EnumSet<T> getEnumSetValue(@Nonnull final ValuedEnumParser<T> enumParser) {
+        final String rawValue = this.getStringValue();
+        if (rawValue == null || rawValue.isEmpty()) {
+            return null;
+        }
+        final List<T> result = new ArrayList<>();
+        final String[] rawValues = rawValue.split(",");
+        for (final String rawValueItem : rawValues) {
+            final T value = enumParser.forValue(rawValueItem);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return EnumSet.copyOf(result);
+    }
+
+    private <T extends Parsable> void assignFieldValues(
+            final T item, final Map<String, Consumer<ParseNode>> fieldDeserializers) {
+        if (startToken != JsonToken.START_OBJECT) {
+            return;
+        }
+        try {
+            final JsonParser objectParser = open();
+            if (this.onBeforeAssignFieldValues != null) {
+                this.onBeforeAssignFieldValues.accept(item);
+            }
+            Map<String, Object> itemAdditionalData = null;
+            if (item instanceof AdditionalDataHolder) {
+                itemAdditionalData = ((AdditionalDataHolder) item).getAdditionalData();
+            }
+            final FieldOrder fieldOrder = fieldOrders.get(item.getClass());
+            final SerializedString[] expectedFields = fieldOrder.fieldNames;
+            // the order of the fields of the object, only kept when it may be learned
+            List<String> seenFields = expectedFields == null ? new ArrayList<>() : null;
+            boolean inOrder = expectedFields != null;
+            int fieldIndex = 0;
+            while (true) {
+                final String fieldKey;
+                if (inOrder
+                        && fieldIndex < expectedFields.length
+                        && objectParser.nextFieldName(expectedFields[fieldIndex])) {
+                    // matched against the expected name, without looking the name up in the symbol table
+                    fieldKey = expectedFields[fieldIndex++].getValue();
+                } else {
+                    final JsonToken token =
+                            inOrder && fieldIndex < expectedFields.length
+                                    ? objectParser.currentToken()
+                                    : objectParser.nextToken();
+                    inOrder = false;
+                    if (token != JsonToken.FIELD_NAME) {
+                        break;
+                    }
+                    fieldKey = objectParser.currentName();
+                    if (seenFields == null) {
+                        // the object does not follow the expected order, the one of its fields is kept
+                        seenFields = new ArrayList<>(expectedFields.length + 1);
+                        for (int i = 0; i < fieldIndex; i++) {
+                            seenFields.add(expectedFields[i].getValue());
+                        }
+                    }
+                }
+                if (seenFields != null) {
+                    seenFields.add(fieldKey);
+                }
+                if (objectParser.nextToken() == JsonToken.VALUE_NULL) continue;
+                final Consumer<ParseNode> fieldDeserializer = fieldDeserializers.get(fieldKey);
+                if (fieldDeserializer != null) {
+                    final JsonStreamingParseNode itemNode = getReusableChild(objectParser);
+                    fieldDeserializer.accept(itemNode);
+                    itemNode.skip();
+                } else if (itemAdditionalData != null) {
+                    itemAdditionalData.put(fieldKey, this.tryGetAnything(objectParser));
+                } else {
+                    objectParser.skipChildren();
+                }
+            }
+            fieldOrder.read(seenFields);
+            closeIfRoot();
+            if (this.onAfterAssignFieldValues != null) {
+                this.onAfterAssignFieldValues.accept(item);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the json value", ex);
+        }
+    }
+
+    // the order of the fields in the objects read for each model type, the objects usually share it
+    private static final ClassValue<FieldOrder> fieldOrders =
+            new ClassValue<>() {
+                @Override
+                protected FieldOrder computeValue(final Class<?> type) {
+                    return new FieldOrder();
+                }
+            };
+
+    private static final class FieldOrder {
+        // the objects over which the misses are counted, most of them missing the order has it learned again
+        private static final int WINDOW = 16;
+
+        private volatile SerializedString[] fieldNames;
+        // updated without synchronization, an approximate rate of misses is enough
+        private int reads;
+        private int misses;
+
+        /**
+         * Counts an object read
+         * @param seenFields the order of the fields of the object when it missed the expected one, null otherwise.
+         */
+        private void read(@Nullable final List<String> seenFields) {
+            if (seenFields != null && (fieldNames == null || ++misses > WINDOW / 2)) {
+                // the first object, or a sparse one or one in another order, did not predict the others
+                learn(seenFields);
+            } else if (++reads < WINDOW) {
+                return;
+            }
+            reads = 0;
+            misses = 0;
+        }
+
+        private void learn(@Nonnull final List<String> seenFields) {
+            final SerializedString[] result = new SerializedString[seenFields.size()];
+            for (int i = 0; i < result.length; i++) {
+                // the names are interned by the parser, as are the keys of the generated deserializer maps
+                result[i] = new SerializedString(seenFields.get(i));
+            }
+            fieldNames = result;
+        }
+    }
+
+    private Object tryGetAnything(final JsonParser element) throws IOException {
+        switch (element.currentToken()) {
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return element.getBooleanValue();
+            case VALUE_STRING:
+                return element.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return element.getNumberValue();
+            case START_OBJECT:
+            case START_ARRAY:
+                return element.readValueAsTree();
+            default:
+                throw new RuntimeException(
+                        "Could not get the value during deserialization, unknown primitive type");
+        }
+    }
+
+    @Nullable public Consumer<Parsable> getOnBeforeAssignFieldValues() {
+        return this.onBeforeAssignFieldValues;
+    }
+
+    @Nullable public Consumer<Parsable> getOnAfterAssignFieldValues() {
+        return this.onAfterAssignFieldValues;
+    }
+
+    private Consumer<Parsable> onBeforeAssignFieldValues;
+
+    public void setOnBeforeAssignFieldValues(@Nullable final Consumer<Parsable> value) {
+        this.onBeforeAssignFieldValues = value;
+    }
+
+    private Consumer<Parsable> onAfterAssignFieldValues;
+
+    public void setOnAfterAssignFieldValues(@Nullable final Consumer<Parsable> value) {
+        this.onAfterAssignFieldValues = value;
+    }
+
+    @Nullable public byte[] getByteArrayValue() {
+        final String base64 = this.getStringValue();
+        if (base64 == null || base64.isEmpty()) {
+            return null;
+        }
+        return Base64.getDecoder().decode(base64);
+    }
+}
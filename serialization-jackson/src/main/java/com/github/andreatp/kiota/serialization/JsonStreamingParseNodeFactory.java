@@ -0,0 +1,45 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Creates new Json parse nodes reading the payload as a stream of tokens, without building a JsonNode tree.
+ * Their objects are matched against the field order learned for each model type, the JsonParseNodeFactory ones look each field up.
+ */
+public class JsonStreamingParseNodeFactory implements ParseNodeFactory {
+    /** Creates a new factory */
+    public JsonStreamingParseNodeFactory() {}
+
+    /** {@inheritDoc} */
+    @Nonnull public String getValidContentType() {
+        return validContentType;
+    }
+
+    private static final String validContentType = "application/json";
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public ParseNode getParseNode(
+            @Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        if (contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(validContentType)) {
+            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        }
+        try {
+            final JsonParser parser = JsonMapper.mapper.createParser(rawResponse);
+            parser.nextToken();
+            return new JsonStreamingParseNode(parser);
+        } catch (IOException ex) {
+            throw new RuntimeException("could not parse the response", ex);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.andreatp.kiota.serialization;
+
+import jakarta.annotation.Nonnull;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/** Keeps the byte arrays of the serialized payloads around so the next writers do not grow them from scratch. */
+final class OutputBufferPool {
+    private static final int initialSize = 1024;
+    // larger arrays are left to the garbage collector to avoid pinning the memory of a few big payloads
+    private static final int maxRetainedSize = 1024 * 1024;
+    private static final int maxRetained = 64;
+
+    private final ArrayBlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(maxRetained);
+
+    @Nonnull byte[] acquire() {
+        final byte[] buffer = buffers.poll();
+        return buffer == null ? new byte[initialSize] : buffer;
+    }
+
+    void release(@Nonnull final byte[] buffer) {
+        if (buffer.length <= maxRetainedSize) {
+            buffers.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.andreatp.kiota.serialization;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * The payload of a {@link PipedSerializationWriter}, serialized on another thread while it is read.
+ * Only a few chunks are buffered, the serialization waits for the reader to catch up so the memory used does not depend on the payload size.
+ * Closing the content before the end stops the serialization.
+ */
+public final class PipedContent extends InputStream {
+    private static final int maxPendingChunks = 4;
+
+    private final ArrayDeque<byte[]> chunks = new ArrayDeque<>();
+    private final Executor executor;
+    private final OutputStream sink = new Sink();
+    private Runnable producer;
+    private byte[] current;
+    private int position;
+    private boolean completed;
+    private Throwable failure;
+    private boolean closed;
+
+    PipedContent(@Nonnull final Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "parameter executor cannot be null");
+    }
+
+    /** @return the output the producer writes the payload to. */
+    @Nonnull OutputStream sink() {
+        return sink;
+    }
+
+    /**
+     * Sets the serialization to run, it starts on the first read.
+     * @param producer writes the payload to the sink.
+     */
+    synchronized void setProducer(@Nonnull final Runnable producer) {
+        this.producer = Objects.requireNonNull(producer, "parameter producer cannot be null");
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        final Runnable toStart;
+        synchronized (this) {
+            toStart = producer;
+            producer = null;
+        }
+        if (toStart != null) {
+            executor.execute(() -> produce(toStart));
+        }
+        synchronized (this) {
+            try {
+                while (current == null || position == current.length) {
+                    if (closed) {
+                        throw new IOException("the content is closed");
+                    }
+                    current = chunks.poll();
+                    position = 0;
+                    if (current != null) {
+                        notifyAll();
+                    } else if (completed) {
+                        if (failure != null) {
+                            throw new IOException("could not serialize the content", failure);
+                        }
+                        return -1;
+                    } else {
+                        wait();
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            final int read = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, read);
+            position += read;
+            return read;
+        }
+    }
+
+    @Override
+    public synchronized int available() {
+        return current == null ? 0 : current.length - position;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        producer = null;
+        chunks.clear();
+        current = null;
+        notifyAll();
+    }
+
+    private void produce(@Nonnull final Runnable toRun) {
+        Throwable result = null;
+        try {
+            toRun.run();
+        } catch (RuntimeException | Error ex) {
+            result = ex;
+        }
+        synchronized (this) {
+            completed = true;
+            failure = result;
+            notifyAll();
+        }
+    }
+
+    private synchronized void offer(@Nonnull final byte[] chunk) throws IOException {
+        try {
+            while (chunks.size() >= maxPendingChunks && !closed) {
+                wait();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (closed) {
+            throw new IOException("the content was closed by its reader");
+        }
+        chunks.add(chunk);
+        notifyAll();
+    }
+
+    private final class Sink extends OutputStream {
+        @Override
+        public void write(final int b) throws IOException {
+            offer(new byte[] {(byte) b});
+        }
+
+        @Override
+        public void write(@Nullable final byte[] b, final int off, final int len) throws IOException {
+            Objects.requireNonNull(b, "parameter b cannot be null");
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len > 0) {
+                // the generator reuses its buffer, the chunk is copied once on its way to the reader
+                offer(Arrays.copyOfRange(b, off, off + len));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.microsoft.kiota.serialization.Parsable;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Json serialization writer streaming the payload to its reader instead of holding it in memory.
+ * The root objects and collections are only serialized once the content returned by {@link #getSerializedContent()} is read, other values are written right away.
+ * The models are not copied: they are read on another thread while the request is sent, and must not be modified until it completed.
+ */
+public class PipedSerializationWriter extends JsonSerializationWriter {
+    private final PipedContent content;
+    private final List<Runnable> deferred = new ArrayList<>();
+    private boolean serializing;
+    private boolean contentTaken;
+
+    PipedSerializationWriter(@Nonnull final PipedContent content) {
+        super(content.sink());
+        this.content = content;
+    }
+
+    @Override
+    public <T extends Parsable> void writeObjectValue(
+            @Nullable final String key,
+            @Nullable final T value,
+            @Nonnull final Parsable... additionalValuesToMerge) {
+        if (serializing) {
+            super.writeObjectValue(key, value, additionalValuesToMerge);
+        } else {
+            deferred.add(() -> super.writeObjectValue(key, value, additionalValuesToMerge));
+        }
+    }
+
+    @Override
+    public <T extends Parsable> void writeCollectionOfObjectValues(
+            @Nullable final String key, @Nullable final Iterable<T> values) {
+        if (serializing) {
+            super.writeCollectionOfObjectValues(key, values);
+        } else {
+            deferred.add(() -> super.writeCollectionOfObjectValues(key, values));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public InputStream getSerializedContent() {
+        contentTaken = true;
+        content.setProducer(
+                () -> {
+                    serializing = true;
+                    for (final Runnable write : deferred) {
+                        write.run();
+                    }
+                    try {
+                        super.close();
+                    } catch (IOException ex) {
+                        throw new RuntimeException("could not serialize value", ex);
+                    }
+                });
+        return content;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // once handed over, the generator is closed by the serialization running behind the content
+        if (!contentTaken) {
+            super.close();
+        }
+    }
+}
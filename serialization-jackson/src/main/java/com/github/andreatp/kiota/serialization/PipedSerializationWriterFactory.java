@@ -0,0 +1,80 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.SerializationWriterFactory;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates new Json serialization writers serializing the payloads while they are sent, for request bodies too large to be held in memory.
+ * The models are read on the serialization thread while the request is sent, they must not be modified until the request completed.
+ */
+public class PipedSerializationWriterFactory implements SerializationWriterFactory {
+    // each serialization blocks until its reader catches up, the pool bounds how many payloads are serialized at once
+    private static final int defaultThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final Executor defaultExecutor = createDefaultExecutor();
+
+    private static Executor createDefaultExecutor() {
+        final AtomicInteger threads = new AtomicInteger();
+        final ThreadPoolExecutor result =
+                new ThreadPoolExecutor(
+                        defaultThreads,
+                        defaultThreads,
+                        60L,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            final Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "kiota-serialization-pipe-" + threads.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        result.allowCoreThreadTimeOut(true);
+        return result;
+    }
+
+    private final Executor executor;
+
+    /**
+     * Creates a new factory, the payloads are serialized on a shared pool of daemon threads.
+     * There are as many threads as processors, the payloads sent past that wait for a thread to be serialized.
+     */
+    public PipedSerializationWriterFactory() {
+        this(defaultExecutor);
+    }
+
+    /**
+     * Creates a new factory
+     * @param executor runs the serialization of the payloads, it must not be the one reading them, such as the
+     * Vert.x worker pool the request adapter reads them from.
+     */
+    public PipedSerializationWriterFactory(@Nonnull final Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "parameter executor cannot be null");
+    }
+
+    /** {@inheritDoc} */
+    @Nonnull public String getValidContentType() {
+        return validContentType;
+    }
+
+    private static final String validContentType = "application/json";
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull public SerializationWriter getSerializationWriter(@Nonnull final String contentType) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        if (contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(validContentType)) {
+            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        }
+        return new PipedSerializationWriter(new PipedContent(executor));
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.andreatp.kiota.serialization;
+
+import jakarta.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The payload written by a {@link JsonSerializationWriter}, read straight from the writer buffer without copying it.
+ * When the writer comes from a pooling factory the buffer goes back to the pool once the content is closed.
+ * Reading the content once it was closed fails, instead of returning the bytes another writer may have put in the buffer.
+ */
+public final class SerializedContent extends ByteArrayInputStream {
+    private final JsonSerializationWriter.OutputBuffer owner;
+    private volatile boolean closed;
+
+    SerializedContent(@Nonnull final JsonSerializationWriter.OutputBuffer owner) {
+        super(owner.buffer(), 0, owner.size());
+        this.owner = owner;
+    }
+
+    /**
+     * Gets a read-only view of the bytes which were not read yet.
+     * @return the view over the remaining bytes.
+     * @throws IllegalStateException when the content was closed.
+     */
+    @Nonnull public synchronized ByteBuffer toByteBuffer() {
+        ensureOpen();
+        return ByteBuffer.wrap(buf, pos, count - pos).asReadOnlyBuffer();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException(
+                    "the serialized content was closed and its buffer released, it cannot be read again");
+        }
+    }
+
+    @Override
+    public synchronized int read() {
+        ensureOpen();
+        return super.read();
+    }
+
+    @Override
+    public synchronized int read(final byte[] b, final int off, final int len) {
+        ensureOpen();
+        return super.read(b, off, len);
+    }
+
+    @Override
+    public synchronized byte[] readAllBytes() {
+        ensureOpen();
+        return super.readAllBytes();
+    }
+
+    @Override
+    public synchronized int readNBytes(final byte[] b, final int off, final int len) {
+        ensureOpen();
+        return super.readNBytes(b, off, len);
+    }
+
+    @Override
+    public synchronized long transferTo(final OutputStream out) throws IOException {
+        ensureOpen();
+        return super.transferTo(out);
+    }
+
+    @Override
+    public synchronized long skip(final long n) {
+        ensureOpen();
+        return super.skip(n);
+    }
+
+    @Override
+    public synchronized int available() {
+        ensureOpen();
+        return super.available();
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        owner.release();
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class JsonSerializationWriterTests {
+    private static final String contentType = "application/json";
+
+    @Test
+    void KeepsTheContentReadableOnceTheWriterIsClosed() throws Exception {
+        final var factory = new JsonSerializationWriterFactory();
+        final InputStream content;
+        try (SerializationWriter writer = factory.getSerializationWriter(contentType)) {
+            writer.writeStringValue(null, "value");
+            content = writer.getSerializedContent();
+        }
+        assertTrue(content instanceof SerializedContent);
+        final ByteBuffer view = ((SerializedContent) content).toByteBuffer();
+        assertTrue(view.isReadOnly());
+        assertEquals("\"value\"", StandardCharsets.UTF_8.decode(view).toString());
+        assertEquals("\"value\"", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        content.close();
+    }
+
+    @Test
+    void WritesTheFieldsOfNestedValues() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            final var entity = new TestEntity();
+            entity.setId("id" + i);
+            entity.setOfficeLocation("Montreal");
+            entity.getAdditionalData().put("tags", List.of("a", "b"));
+            try (var writer = new JsonSerializationWriter()) {
+                writer.writeObjectValue(null, entity);
+                assertEquals(
+                        "{\"id\":\"id" + i + "\",\"officeLocation\":\"Montreal\",\"tags\":[\"a\",\"b\"]}",
+                        new String(writer.getSerializedContent().readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void RoundTripsUntypedAdditionalData() throws Exception {
+        final String json =
+                "{\"id\":\"1\",\"unknown\":{\"nested\":[1,{\"a\":null}],\"b\":\"c\"},\"weight\":1.5}";
+        final TestEntity entity =
+                new JsonParseNodeFactory()
+                        .getParseNode(
+                                contentType,
+                                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+                        .getObjectValue(TestEntity::createFromDiscriminatorValue);
+        try (var writer = new JsonSerializationWriter()) {
+            writer.writeObjectValue(null, entity);
+            assertEquals(
+                    JsonMapper.mapper.readTree(json),
+                    JsonMapper.mapper.readTree(writer.getSerializedContent()));
+        }
+    }
+
+    @Test
+    void ReleasesTheBufferOnceTheContentIsClosed() throws Exception {
+        final var pool = new OutputBufferPool();
+        final var pooled = new byte[64];
+        pool.release(pooled);
+        final SerializedContent content;
+        try (var writer = new JsonSerializationWriter(pool)) {
+            writer.writeStringValue(null, "short");
+            content = (SerializedContent) writer.getSerializedContent();
+        }
+        assertNotSame(pooled, pool.acquire());
+        assertEquals("\"short\"", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        content.close();
+        content.close();
+        assertSame(pooled, pool.acquire());
+        assertNotSame(pooled, pool.acquire());
+    }
+
+    @Test
+    void ReleasesTheBufferOfUnreadWriters() throws Exception {
+        final var pool = new OutputBufferPool();
+        final var pooled = new byte[64];
+        pool.release(pooled);
+        try (var writer = new JsonSerializationWriter(pool)) {
+            writer.writeStringValue(null, "unsent");
+        }
+        assertSame(pooled, pool.acquire());
+    }
+
+    @Test
+    void StreamsLargePayloadsThroughThePipe() throws Exception {
+        final int count = 20_000;
+        final var entities = new ArrayList<TestEntity>();
+        for (int i = 0; i < count; i++) {
+            final var entity = new TestEntity();
+            entity.setId(Integer.toString(i));
+            entity.setOfficeLocation("Montreal");
+            entities.add(entity);
+        }
+        final InputStream content;
+        try (SerializationWriter writer =
+                new PipedSerializationWriterFactory().getSerializationWriter(contentType)) {
+            writer.writeCollectionOfObjectValues(null, entities);
+            content = writer.getSerializedContent();
+        }
+        final List<TestEntity> result =
+                new JsonStreamingParseNodeFactory()
+                        .getParseNode(contentType, content)
+                        .getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+        assertEquals(count, result.size());
+        assertEquals("19999", result.get(count - 1).getId());
+    }
+
+    @Test
+    void SerializesThePipedPayloadsOnTheGivenExecutor() throws Exception {
+        final var executions = new AtomicInteger();
+        final var factory =
+                new PipedSerializationWriterFactory(
+                        runnable -> {
+                            executions.incrementAndGet();
+                            new Thread(runnable).start();
+                        });
+        final var entity = new TestEntity();
+        entity.setId("1");
+        final InputStream content;
+        try (SerializationWriter writer = factory.getSerializationWriter(contentType)) {
+            writer.writeObjectValue(null, entity);
+            content = writer.getSerializedContent();
+        }
+        // the serialization only starts once the content is read
+        assertEquals(0, executions.get());
+        assertEquals("{\"id\":\"1\"}", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void ReportsTheFailuresOfThePipedSerialization() throws Exception {
+        final InputStream content;
+        try (SerializationWriter writer =
+                new PipedSerializationWriterFactory().getSerializationWriter(contentType)) {
+            writer.writeObjectValue(
+                    null,
+                    new TestEntity() {
+                        @Override
+                        public void serialize(final SerializationWriter writer) {
+                            throw new IllegalStateException("boom");
+                        }
+                    });
+            content = writer.getSerializedContent();
+        }
+        final var ex = assertThrows(IOException.class, content::readAllBytes);
+        assertTrue(ex.getCause() instanceof IllegalStateException);
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.andreatp.kiota.serialization.mocks.IntersectionTypeMock;
+import com.github.andreatp.kiota.serialization.mocks.MyEnum;
+import com.github.andreatp.kiota.serialization.mocks.SecondTestEntity;
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import com.github.andreatp.kiota.serialization.mocks.UnionTypeMock;
+import com.microsoft.kiota.serialization.ParseNode;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonStreamingParseNodeTests {
+    private static final JsonStreamingParseNodeFactory _parseNodeFactory =
+            new JsonStreamingParseNodeFactory();
+    private static final String contentType = "application/json";
+
+    private static ParseNode getParseNode(final String json) {
+        return _parseNodeFactory.getParseNode(
+                contentType, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void ParsesObjectValue() {
+        final var parseNode =
+                getParseNode(
+                        "{\"id\":\"opaque\",\"officeLocation\":\"Montreal\",\"birthDay\":\"2017-09-04\","
+                                + "\"myEnum\":\"VALUE2\",\"unknown\":{\"nested\":[1,2,{\"a\":null}]},"
+                                + "\"ignored\":null,\"weight\":1.5,\"count\":3}");
+        final var result = parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertEquals("opaque", result.getId());
+        assertEquals("Montreal", result.getOfficeLocation());
+        assertEquals(LocalDate.of(2017, 9, 4), result.getBirthDay());
+        assertEquals(MyEnum.MY_VALUE2, result.getMyEnum());
+        assertTrue(result.getAdditionalData().get("unknown") instanceof JsonNode);
+        assertFalse(result.getAdditionalData().containsKey("ignored"));
+        assertEquals(1.5, result.getAdditionalData().get("weight"));
+        assertEquals(3, result.getAdditionalData().get("count"));
+    }
+
+    @Test
+    void ParsesCollectionOfObjectValues() {
+        final var parseNode =
+                getParseNode("[{\"id\":\"1\",\"skipped\":[[]]},{\"officeLocation\":\"Ottawa\",\"id\":\"2\"}]");
+        final List<TestEntity> result =
+                parseNode.getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+        assertEquals(2, result.size());
+        assertEquals("1", result.get(0).getId());
+        assertEquals("2", result.get(1).getId());
+        assertEquals("Ottawa", result.get(1).getOfficeLocation());
+    }
+
+    @Test
+    void ParsesObjectsWhichDoNotShareTheFieldOrder() {
+        final var parseNode =
+                getParseNode(
+                        "[{\"displayName\":\"a\",\"id\":1,\"failureRate\":10},"
+                                + "{\"displayName\":\"b\",\"id\":2,\"failureRate\":20},"
+                                + "{\"displayName\":\"c\",\"failureRate\":30},"
+                                + "{\"failureRate\":40,\"id\":4,\"displayName\":\"d\",\"extra\":true}]");
+        final List<SecondTestEntity> result =
+                parseNode.getCollectionOfObjectValues(SecondTestEntity::createFromDiscriminatorValue);
+        assertEquals(4, result.size());
+        assertEquals("b", result.get(1).getDisplayName());
+        assertEquals(2, result.get(1).getId());
+        assertNull(result.get(2).getId());
+        assertEquals(30L, result.get(2).getFailureRate());
+        assertEquals(4, result.get(3).getId());
+        assertEquals("d", result.get(3).getDisplayName());
+        assertEquals(40L, result.get(3).getFailureRate());
+        assertEquals(true, result.get(3).getAdditionalData().get("extra"));
+    }
+
+    @Test
+    void LearnsTheFieldOrderAgainWhenTheFirstObjectIsSparse() {
+        final StringBuilder json = new StringBuilder("[{\"id\":\"0\"}");
+        for (int i = 1; i < 40; i++) {
+            json.append(",{\"officeLocation\":\"o" + i + "\",\"id\":\"" + i + "\"")
+                    .append(",\"birthDay\":null}");
+        }
+        // the learned order is missed again by the last objects
+        json.append(",{\"id\":\"40\",\"officeLocation\":\"o40\",\"extra\":1}")
+                .append(",{\"birthDay\":\"2017-09-04\",\"id\":\"41\"}]");
+        final List<OrderedEntity> result =
+                getParseNode(json.toString()).getCollectionOfObjectValues(n -> new OrderedEntity());
+        assertEquals(42, result.size());
+        for (int i = 1; i < 41; i++) {
+            assertEquals(String.valueOf(i), result.get(i).getId());
+            assertEquals("o" + i, result.get(i).getOfficeLocation());
+            assertNull(result.get(i).getBirthDay());
+        }
+        assertEquals(1, result.get(40).getAdditionalData().get("extra"));
+        assertEquals("41", result.get(41).getId());
+        assertNull(result.get(41).getOfficeLocation());
+        assertEquals(LocalDate.of(2017, 9, 4), result.get(41).getBirthDay());
+    }
+
+    // a type of its own, the field order is learned once per type
+    private static class OrderedEntity extends TestEntity {}
+
+    @Test
+    void ParsesCollectionOfPrimitiveValues() {
+        final var parseNode = getParseNode("[1,2,3]");
+        assertEquals(List.of(1L, 2L, 3L), parseNode.getCollectionOfPrimitiveValues(Long.class));
+    }
+
+    @Test
+    void ReadsTheDiscriminatorWhenItIsNotTheFirstField() {
+        final var parseNode =
+                getParseNode(
+                        "{\"officeLocation\":\"Montreal\",\"id\":10,"
+                                + "\"@odata.type\":\"#microsoft.graph.secondTestEntity\",\"displayName\":\"McGill\"}");
+        final var result = parseNode.getObjectValue(UnionTypeMock::createFromDiscriminatorValue);
+        assertNull(result.getComposedType1());
+        final SecondTestEntity second = result.getComposedType2();
+        assertNotNull(second);
+        assertEquals(10, second.getId());
+        assertEquals("McGill", second.getDisplayName());
+    }
+
+    @Test
+    void ReadsTheSameChildNodeTwice() {
+        final var parseNode = getParseNode("{\"a\":1,\"b\":\"value\",\"c\":true}");
+        assertEquals("value", parseNode.getChildNode("b").getStringValue());
+        assertEquals(1, parseNode.getChildNode("a").getIntegerValue());
+        assertEquals(true, parseNode.getChildNode("c").getBooleanValue());
+        assertNull(parseNode.getChildNode("d"));
+        assertEquals("value", parseNode.getChildNode("b").getStringValue());
+    }
+
+    @Test
+    void ParsesUnionTypeCollection() {
+        final var parseNode =
+                getParseNode(
+                        "[{\"@odata.type\":\"#microsoft.graph.TestEntity\",\"officeLocation\":\"Ottawa\","
+                                + " \"id\": \"11\"}, {\"officeLocation\":\"Montreal\", \"id\": \"10\"}]");
+        final var result = parseNode.getObjectValue(UnionTypeMock::createFromDiscriminatorValue);
+        assertNotNull(result.getComposedType3());
+        assertEquals(2, result.getComposedType3().size());
+        assertEquals("11", result.getComposedType3().get(0).getId());
+    }
+
+    @Test
+    void ParsesIntersectionTypeComplexProperty() {
+        final var parseNode =
+                getParseNode("{\"displayName\":\"McGill\",\"officeLocation\":\"Montreal\",\"id\":\"opaque\"}");
+        final var result = parseNode.getObjectValue(IntersectionTypeMock::createFromDiscriminatorValue);
+        assertEquals("opaque", result.getComposedType1().getId());
+        assertEquals("Montreal", result.getComposedType1().getOfficeLocation());
+        assertEquals("McGill", result.getComposedType2().getDisplayName());
+    }
+
+    @Test
+    void ReturnsNullForMismatchedTypes() {
+        final var parseNode = getParseNode("\"text\"");
+        assertNull(parseNode.getIntegerValue());
+        assertNull(parseNode.getBooleanValue());
+        assertNull(parseNode.getChildNode("id"));
+        assertNull(parseNode.getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue));
+        assertEquals("text", parseNode.getStringValue());
+    }
+}